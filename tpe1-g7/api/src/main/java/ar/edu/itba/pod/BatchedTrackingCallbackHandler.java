@@ -0,0 +1,21 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.List;
+
+/*
+ * Interfaz utilizada para registrar los callbacks de un cliente que sigue todos los vuelos de una aerolinea
+ * o de una pista
+ */
+public interface BatchedTrackingCallbackHandler extends Remote {
+
+    /*
+     *  Callback con los eventos de los vuelos seguidos ocurridos en una misma operacion
+     *  (asignaciones, cambios de posicion y despegues), en el orden en que ocurrieron
+     */
+    void onEvents(final List<FlightTrackingEvent> events)
+            throws RemoteException;
+}
@@ -0,0 +1,21 @@
+package ar.edu.itba.pod;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+/*
+ * Canal remoto por el que el servidor envia en bloques el CSV de una consulta de despegues
+ */
+public interface DepartureExportChannel extends Remote {
+
+    /*
+     *  Devuelve el siguiente bloque de bytes del CSV (UTF-8), o null cuando no quedan mas.
+     *  Al devolver null el canal se cierra solo
+     */
+    byte[] read() throws RemoteException;
+
+    /*
+     *  Libera el canal sin terminar de leerlo
+     */
+    void close() throws RemoteException;
+}
@@ -2,9 +2,11 @@ package ar.edu.itba.pod;
 
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
 import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DeparturePage;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface DepartureQueryService extends Remote {
@@ -14,4 +16,36 @@ public interface DepartureQueryService extends Remote {
     List<DepartureData> getRunwayDepartures(final String runwayName) throws RemoteException, NoSuchRunwayException;
 
     List<DepartureData> getAirlineDepartures(final String airline) throws RemoteException;
+
+    /*
+     *  Variantes de las consultas anteriores que, en lugar de devolver la lista completa, devuelven un canal
+     *  por el cual el servidor envia el resultado ya formateado como CSV
+     */
+    DepartureExportChannel exportAllDepartures() throws RemoteException;
+
+    DepartureExportChannel exportRunwayDepartures(final String runwayName) throws RemoteException, NoSuchRunwayException;
+
+    DepartureExportChannel exportAirlineDepartures(final String airline) throws RemoteException;
+
+    /*
+     *  Despegues con fecha en [from, to), en orden de despegue
+     */
+    List<DepartureData> getDeparturesBetween(final LocalDateTime from, final LocalDateTime to) throws RemoteException;
+
+    List<DepartureData> getRunwayDeparturesBetween(final String runwayName, final LocalDateTime from, final LocalDateTime to)
+            throws RemoteException, NoSuchRunwayException;
+
+    List<DepartureData> getAirlineDeparturesBetween(final String airline, final LocalDateTime from, final LocalDateTime to)
+            throws RemoteException;
+
+    /*
+     *  Despegues posteriores al cursor devuelto por la consulta anterior (0 para obtener todos).
+     *  Permite refrescar un listado pidiendo solo los despegues nuevos
+     */
+    DeparturePage getDeparturesSince(final long cursor) throws RemoteException;
+
+    DeparturePage getRunwayDeparturesSince(final String runwayName, final long cursor)
+            throws RemoteException, NoSuchRunwayException;
+
+    DeparturePage getAirlineDeparturesSince(final String airline, final long cursor) throws RemoteException;
 }
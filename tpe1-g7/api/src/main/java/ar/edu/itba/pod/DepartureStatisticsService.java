@@ -0,0 +1,15 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.DepartureStatistics;
+
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+
+public interface DepartureStatisticsService extends Remote {
+
+    /*
+     *  Estadisticas de los despegues, que el servidor mantiene a medida que ocurren. El tamaño de la
+     *  respuesta depende de la cantidad de pistas y aerolineas, no de la cantidad de despegues
+     */
+    DepartureStatistics getStatistics() throws RemoteException;
+}
@@ -1,6 +1,7 @@
 package ar.edu.itba.pod;
 
 import ar.edu.itba.pod.exceptions.NoSuchFlightException;
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
@@ -9,4 +10,30 @@ public interface FlightTrackingService extends Remote {
 
     void subscribe(final String flightId, final String airlineName, final FlightTrackingCallbackHandler handler)
             throws RemoteException, NoSuchFlightException;
+
+    /*
+     * Envia al handler, en un unico callback, los eventos del vuelo con numero mayor a afterSequence que el
+     * servidor todavia guarde, y si el vuelo sigue en espera lo suscribe a los siguientes. Con afterSequence 0
+     * se reciben todos los eventos guardados. Si el primer evento recibido no es afterSequence + 1, los
+     * intermedios ya se descartaron y hay que consultar el historial. Un evento puede llegar repetido o fuera
+     * de orden, por lo que los clientes deben ignorar los de numero ya recibido.
+     * Tambien puede usarse sobre un vuelo que ya despego, mientras el servidor conserve su log
+     */
+    void subscribeFrom(final String flightId, final String airlineName, final long afterSequence,
+                       final BatchedTrackingCallbackHandler handler)
+            throws RemoteException, NoSuchFlightException;
+
+    /*
+     * Suscribe el handler a los eventos de todos los vuelos de la aerolinea, incluidos los que se soliciten
+     * despues de suscribirse. Los eventos de cada operacion llegan juntos en un unico callback
+     */
+    void subscribeAirline(final String airlineName, final BatchedTrackingCallbackHandler handler)
+            throws RemoteException;
+
+    /*
+     * Suscribe el handler a los eventos de todos los vuelos asignados a la pista, incluidos los que se
+     * asignen despues de suscribirse. Los eventos de cada operacion llegan juntos en un unico callback
+     */
+    void subscribeRunway(final String runwayName, final BatchedTrackingCallbackHandler handler)
+            throws RemoteException, NoSuchRunwayException;
 }
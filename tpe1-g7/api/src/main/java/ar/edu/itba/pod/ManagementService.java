@@ -1,12 +1,15 @@
 package ar.edu.itba.pod;
 
+import ar.edu.itba.pod.exceptions.NoSuchFlightException;
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
 import ar.edu.itba.pod.exceptions.RunwayAlreadyExistsException;
+import ar.edu.itba.pod.models.Histogram;
 import ar.edu.itba.pod.models.ReassignmentLog;
 import ar.edu.itba.pod.models.RunwayCategory;
 
 import java.rmi.Remote;
 import java.rmi.RemoteException;
+import java.util.Map;
 
 public interface ManagementService extends Remote {
 
@@ -21,4 +24,17 @@ public interface ManagementService extends Remote {
     void issueDeparture() throws RemoteException;
 
     ReassignmentLog rearrangeDepartures() throws RemoteException;
+
+    /*
+     *  Pasa el vuelo en espera al principio de la cola de su pista, sin cambiarlo de pista
+     */
+    void prioritizeFlight(final String flightId) throws RemoteException, NoSuchFlightException;
+
+    /*
+     *  Tiempo en milisegundos que esperaron en cola los vuelos que despegaron de la pista, desde que
+     *  solicitaron pista hasta despegar. Los histogramas de distintas pistas se pueden combinar con merge
+     */
+    Histogram getRunwayWaitTimes(final String runwayName) throws RemoteException, NoSuchRunwayException;
+
+    Map<String, Histogram> getWaitTimes() throws RemoteException;
 }
@@ -1,6 +1,9 @@
 package ar.edu.itba.pod;
 
+import ar.edu.itba.pod.exceptions.FlightAlreadyQueuedException;
+import ar.edu.itba.pod.exceptions.NoSuchFlightException;
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.exceptions.ServerOverloadedException;
 import ar.edu.itba.pod.models.RunwayCategory;
 
 import java.rmi.Remote;
@@ -8,9 +11,21 @@ import java.rmi.RemoteException;
 
 public interface RunwayRequestService extends Remote {
 
+    /*
+     *  Si el servidor tiene demasiadas solicitudes en curso, en total o de la aerolinea, la rechaza en el momento
+     *  con ServerOverloadedException y se puede reintentar luego de la espera que indica.
+     *  Repetir la solicitud de un vuelo en espera no tiene efecto, salvo que pida otro destino, aerolinea o categoria,
+     *  en cuyo caso falla con FlightAlreadyQueuedException
+     */
     void requestRunway(final String flightId,
                        final String destinationAirportId,
                        final String airlineName,
-                       final RunwayCategory minimumCategory) throws RemoteException, NoSuchRunwayException;
+                       final RunwayCategory minimumCategory)
+            throws RemoteException, NoSuchRunwayException, ServerOverloadedException, FlightAlreadyQueuedException;
 
+    /*
+     *  Quita de la cola de su pista el vuelo en espera de la aerolinea, que deja de esperar para despegar
+     */
+    void cancelRunwayRequest(final String flightId, final String airlineName)
+            throws RemoteException, NoSuchFlightException;
 }
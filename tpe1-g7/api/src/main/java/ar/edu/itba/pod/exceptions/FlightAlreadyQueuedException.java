@@ -0,0 +1,14 @@
+package ar.edu.itba.pod.exceptions;
+
+/*
+ * Ya hay un vuelo en espera con el mismo ID pero con otro destino, aerolinea o categoria minima. Las solicitudes
+ * repetidas con los mismos datos no fallan, ya que se toman como reintentos
+ */
+public class FlightAlreadyQueuedException extends IllegalStateException {
+
+    private static final long serialVersionUID = 1L;
+
+    public FlightAlreadyQueuedException() {
+        super("Flight is already queued with a different request");
+    }
+}
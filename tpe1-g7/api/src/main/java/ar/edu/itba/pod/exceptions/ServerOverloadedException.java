@@ -0,0 +1,21 @@
+package ar.edu.itba.pod.exceptions;
+
+/*
+ * El servidor rechazo la solicitud sin procesarla por estar sobrecargado. Se puede reintentar
+ * luego de esperar al menos getRetryAfterMillis milisegundos
+ */
+public class ServerOverloadedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    public ServerOverloadedException(final long retryAfterMillis) {
+        super("Server is overloaded, retry after " + retryAfterMillis + " ms");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
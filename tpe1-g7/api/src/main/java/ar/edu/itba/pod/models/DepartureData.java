@@ -1,16 +1,34 @@
 package ar.edu.itba.pod.models;
 
-import java.io.Serializable;
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.time.LocalDateTime;
+import java.util.Objects;
+
+/*
+ * Se serializa a mano: la fecha viaja como nanosegundos desde epoch y no como el grafo de LocalDateTime.
+ * Dentro de una DepartureDataList los strings ademas se deduplican
+ */
+public class DepartureData implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
 
-public class DepartureData implements Serializable {
+    private long flightsBeforeDeparture;
+    private String runwayName;
+    private String flightId;
+    private String destinationAirportId;
+    private String airline;
+    private LocalDateTime departedOn;
 
-    final private long flightsBeforeDeparture;
-    final private String runwayName;
-    final private String flightId;
-    final private String destinationAirportId;
-    final private String airline;
-    final private LocalDateTime departedOn;
+    /*
+     * Requerido por Externalizable, no usar
+     */
+    public DepartureData() {
+    }
 
     public DepartureData(long flightsBeforeDeparture, String runwayName, String flightId, String destinationAirportId, String airline, LocalDateTime departedOn) {
         this.flightsBeforeDeparture = flightsBeforeDeparture;
@@ -44,4 +62,42 @@ public class DepartureData implements Serializable {
     public LocalDateTime getDepartedOn() {
         return departedOn;
     }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        VarIntCodec.writeVarLong(out, flightsBeforeDeparture);
+        out.writeUTF(runwayName);
+        out.writeUTF(flightId);
+        out.writeUTF(destinationAirportId);
+        out.writeUTF(airline);
+        VarIntCodec.writeSignedVarLong(out, VarIntCodec.toEpochNanos(departedOn));
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        flightsBeforeDeparture = VarIntCodec.readVarLong(in);
+        runwayName = in.readUTF();
+        flightId = in.readUTF();
+        destinationAirportId = in.readUTF();
+        airline = in.readUTF();
+        departedOn = VarIntCodec.fromEpochNanos(VarIntCodec.readSignedVarLong(in));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        DepartureData that = (DepartureData) o;
+        return flightsBeforeDeparture == that.flightsBeforeDeparture &&
+                runwayName.equals(that.runwayName) &&
+                flightId.equals(that.flightId) &&
+                destinationAirportId.equals(that.destinationAirportId) &&
+                airline.equals(that.airline) &&
+                departedOn.equals(that.departedOn);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(flightId, runwayName, departedOn);
+    }
 }
@@ -0,0 +1,99 @@
+package ar.edu.itba.pod.models;
+
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Lista de despegues que se serializa como un bloque: cada string distinto se escribe una unica vez
+ * (las repeticiones son un indice a la tabla) y las fechas como diferencia respecto del registro anterior
+ */
+public class DepartureDataList extends ArrayList<DepartureData> implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    public DepartureDataList() {
+        super();
+    }
+
+    public DepartureDataList(final int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    public DepartureDataList(final Collection<? extends DepartureData> departures) {
+        super(departures);
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        final Map<String, Integer> stringTable = new HashMap<>();
+        long previousEpochNanos = 0;
+
+        VarIntCodec.writeVarLong(out, size());
+        for (DepartureData departure : this) {
+            final long epochNanos = VarIntCodec.toEpochNanos(departure.getDepartedOn());
+            VarIntCodec.writeVarLong(out, departure.getFlightsBeforeDeparture());
+            writeString(out, stringTable, departure.getRunwayName());
+            writeString(out, stringTable, departure.getFlightId());
+            writeString(out, stringTable, departure.getDestinationAirportId());
+            writeString(out, stringTable, departure.getAirline());
+            VarIntCodec.writeSignedVarLong(out, epochNanos - previousEpochNanos);
+            previousEpochNanos = epochNanos;
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        final List<String> stringTable = new ArrayList<>();
+        long previousEpochNanos = 0;
+
+        final int size = VarIntCodec.readVarInt(in);
+        clear();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            final long flightsBeforeDeparture = VarIntCodec.readVarLong(in);
+            final String runwayName = readString(in, stringTable);
+            final String flightId = readString(in, stringTable);
+            final String destinationAirportId = readString(in, stringTable);
+            final String airline = readString(in, stringTable);
+            previousEpochNanos += VarIntCodec.readSignedVarLong(in);
+            add(new DepartureData(flightsBeforeDeparture, runwayName, flightId, destinationAirportId, airline,
+                    VarIntCodec.fromEpochNanos(previousEpochNanos)));
+        }
+    }
+
+    /*
+     * 0 indica un string nuevo (seguido de su UTF), n > 0 referencia a la entrada n - 1 de la tabla
+     */
+    private static void writeString(final ObjectOutput out, final Map<String, Integer> stringTable, final String value)
+            throws IOException {
+        final Integer index = stringTable.get(value);
+        if (index != null) {
+            VarIntCodec.writeVarLong(out, index + 1);
+            return;
+        }
+        stringTable.put(value, stringTable.size());
+        VarIntCodec.writeVarLong(out, 0);
+        out.writeUTF(value);
+    }
+
+    private static String readString(final ObjectInput in, final List<String> stringTable) throws IOException {
+        final int index = VarIntCodec.readVarInt(in);
+        if (index == 0) {
+            final String value = in.readUTF();
+            stringTable.add(value);
+            return value;
+        }
+        if (index > stringTable.size())
+            throw new IOException("Invalid string reference: " + index);
+        return stringTable.get(index - 1);
+    }
+}
@@ -0,0 +1,74 @@
+package ar.edu.itba.pod.models;
+
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/*
+ * Despegues nuevos desde un cursor, junto con el cursor a usar en la proxima consulta.
+ * El cursor es la cantidad total de despegues del aeropuerto al momento de responder, por lo que
+ * pidiendo con el cursor recibido solo se obtienen los despegues posteriores.
+ * historyId y firstCursor permiten saber si un resultado armado con paginas anteriores sigue valiendo:
+ * historyId cambia si el servidor se reinicia (y los cursores vuelven a empezar), y firstCursor es el cursor
+ * del despegue mas antiguo que las consultas siguen devolviendo, que avanza cuando el servidor descarta despegues
+ */
+public class DeparturePage implements Externalizable {
+
+    private static final long serialVersionUID = 2L;
+
+    private DepartureDataList departures;
+    private long cursor;
+    private long historyId;
+    private long firstCursor;
+
+    /*
+     * Requerido por Externalizable, no usar
+     */
+    public DeparturePage() {
+        this.departures = new DepartureDataList();
+    }
+
+    public DeparturePage(final DepartureDataList departures, final long cursor, final long historyId,
+                         final long firstCursor) {
+        this.departures = departures;
+        this.cursor = cursor;
+        this.historyId = historyId;
+        this.firstCursor = firstCursor;
+    }
+
+    public DepartureDataList getDepartures() {
+        return departures;
+    }
+
+    public long getCursor() {
+        return cursor;
+    }
+
+    public long getHistoryId() {
+        return historyId;
+    }
+
+    public long getFirstCursor() {
+        return firstCursor;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        VarIntCodec.writeVarLong(out, cursor);
+        out.writeLong(historyId);
+        VarIntCodec.writeVarLong(out, firstCursor);
+        departures.writeExternal(out);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        cursor = VarIntCodec.readVarLong(in);
+        historyId = in.readLong();
+        firstCursor = VarIntCodec.readVarLong(in);
+        departures = new DepartureDataList();
+        departures.readExternal(in);
+    }
+}
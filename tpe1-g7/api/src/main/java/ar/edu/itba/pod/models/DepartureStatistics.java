@@ -0,0 +1,122 @@
+package ar.edu.itba.pod.models;
+
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Totales de despegues del aeropuerto, por pista y por aerolinea.
+ * Las cantidades por hora cubren las ultimas WINDOW_HOURS horas: la ultima posicion es la hora que
+ * comienza en currentHour y cada posicion anterior, la hora previa
+ */
+public class DepartureStatistics implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int WINDOW_HOURS = 24;
+
+    private long departures;
+    private long flightsBeforeDepartureSum;
+    private LocalDateTime currentHour;
+    private long[] hourlyDepartures;
+    private Map<String, RunwayStatistics> runways;
+    private Map<String, Long> airlineDepartures;
+
+    /*
+     * Requerido por Externalizable, no usar
+     */
+    public DepartureStatistics() {
+        this.hourlyDepartures = new long[0];
+        this.runways = new TreeMap<>();
+        this.airlineDepartures = new TreeMap<>();
+    }
+
+    public DepartureStatistics(long departures, long flightsBeforeDepartureSum, LocalDateTime currentHour,
+                               long[] hourlyDepartures, Map<String, RunwayStatistics> runways,
+                               Map<String, Long> airlineDepartures) {
+        this.departures = departures;
+        this.flightsBeforeDepartureSum = flightsBeforeDepartureSum;
+        this.currentHour = currentHour;
+        this.hourlyDepartures = hourlyDepartures;
+        this.runways = runways;
+        this.airlineDepartures = airlineDepartures;
+    }
+
+    public long getDepartures() {
+        return departures;
+    }
+
+    public long getFlightsBeforeDepartureSum() {
+        return flightsBeforeDepartureSum;
+    }
+
+    public double getAverageFlightsBeforeDeparture() {
+        return departures == 0 ? 0 : (double) flightsBeforeDepartureSum / departures;
+    }
+
+    public LocalDateTime getCurrentHour() {
+        return currentHour;
+    }
+
+    public long[] getHourlyDepartures() {
+        return hourlyDepartures;
+    }
+
+    public Map<String, RunwayStatistics> getRunways() {
+        return runways;
+    }
+
+    public Map<String, Long> getAirlineDepartures() {
+        return airlineDepartures;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        VarIntCodec.writeVarLong(out, departures);
+        VarIntCodec.writeVarLong(out, flightsBeforeDepartureSum);
+        VarIntCodec.writeSignedVarLong(out, VarIntCodec.toEpochNanos(currentHour));
+        VarIntCodec.writeVarLong(out, hourlyDepartures.length);
+        for (long count : hourlyDepartures)
+            VarIntCodec.writeVarLong(out, count);
+
+        VarIntCodec.writeVarLong(out, runways.size());
+        for (Map.Entry<String, RunwayStatistics> entry : runways.entrySet()) {
+            out.writeUTF(entry.getKey());
+            entry.getValue().writeExternal(out);
+        }
+        VarIntCodec.writeVarLong(out, airlineDepartures.size());
+        for (Map.Entry<String, Long> entry : airlineDepartures.entrySet()) {
+            out.writeUTF(entry.getKey());
+            VarIntCodec.writeVarLong(out, entry.getValue());
+        }
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        departures = VarIntCodec.readVarLong(in);
+        flightsBeforeDepartureSum = VarIntCodec.readVarLong(in);
+        currentHour = VarIntCodec.fromEpochNanos(VarIntCodec.readSignedVarLong(in));
+        hourlyDepartures = new long[VarIntCodec.readVarInt(in)];
+        for (int i = 0; i < hourlyDepartures.length; i++)
+            hourlyDepartures[i] = VarIntCodec.readVarLong(in);
+
+        runways = new TreeMap<>();
+        final int runwayCount = VarIntCodec.readVarInt(in);
+        for (int i = 0; i < runwayCount; i++) {
+            final String name = in.readUTF();
+            final RunwayStatistics statistics = new RunwayStatistics();
+            statistics.readExternal(in);
+            runways.put(name, statistics);
+        }
+        airlineDepartures = new TreeMap<>();
+        final int airlineCount = VarIntCodec.readVarInt(in);
+        for (int i = 0; i < airlineCount; i++)
+            airlineDepartures.put(in.readUTF(), VarIntCodec.readVarLong(in));
+    }
+}
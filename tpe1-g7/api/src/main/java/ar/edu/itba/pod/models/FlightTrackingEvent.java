@@ -0,0 +1,61 @@
+package ar.edu.itba.pod.models;
+
+import java.io.Serializable;
+
+/*
+ * Evento de seguimiento de un vuelo que se envia agrupado a los suscriptores de una aerolinea o pista.
+ * Los eventos de cada vuelo se numeran desde 1 en el orden en que ocurren, lo que permite retomar el seguimiento
+ * desde el ultimo evento recibido. En los despegues flightsAhead es 0
+ */
+public class FlightTrackingEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final FlightTrackingEventType type;
+    private final long sequence;
+    private final String flightId;
+    private final String airline;
+    private final String destination;
+    private final String runway;
+    private final long flightsAhead;
+
+    public FlightTrackingEvent(final FlightTrackingEventType type, final long sequence, final String flightId,
+                               final String airline, final String destination, final String runway,
+                               final long flightsAhead) {
+        this.type = type;
+        this.sequence = sequence;
+        this.flightId = flightId;
+        this.airline = airline;
+        this.destination = destination;
+        this.runway = runway;
+        this.flightsAhead = flightsAhead;
+    }
+
+    public FlightTrackingEventType getType() {
+        return type;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getFlightId() {
+        return flightId;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public String getDestination() {
+        return destination;
+    }
+
+    public String getRunway() {
+        return runway;
+    }
+
+    public long getFlightsAhead() {
+        return flightsAhead;
+    }
+}
@@ -0,0 +1,8 @@
+package ar.edu.itba.pod.models;
+
+public enum FlightTrackingEventType {
+    RUNWAY_ASSIGNMENT,
+    QUEUE_POSITION_UPDATE,
+    DEPARTURE,
+    CANCELLATION
+}
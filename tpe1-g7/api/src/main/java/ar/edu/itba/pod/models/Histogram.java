@@ -0,0 +1,180 @@
+package ar.edu.itba.pod.models;
+
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * Histograma log-lineal de memoria fija (al estilo HdrHistogram) para valores enteros no negativos.
+ * Los valores menores a SUB_BUCKETS se cuentan exactos; a partir de ahi cada potencia de 2 se divide
+ * en SUB_BUCKETS / 2 rangos, por lo que el error relativo de los percentiles es menor a 2 / SUB_BUCKETS.
+ * Registrar es thread-safe y no bloquea; dos histogramas se pueden combinar con merge.
+ * Se serializan solo los buckets con valores, como pares de distancia al bucket anterior y cantidad
+ */
+public class Histogram implements Externalizable {
+
+    private static final long serialVersionUID = 2L;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong sum;
+    private final AtomicLong min;
+    private final AtomicLong max;
+
+    public Histogram() {
+        this.counts = new AtomicLongArray(BUCKETS);
+        this.totalCount = new AtomicLong();
+        this.sum = new AtomicLong();
+        this.min = new AtomicLong(Long.MAX_VALUE);
+        this.max = new AtomicLong(0);
+    }
+
+    public void record(final long value) {
+        recordCount(value, 1);
+    }
+
+    public void recordCount(long value, final long count) {
+        if (count <= 0)
+            return;
+        if (value < 0)
+            value = 0;
+        counts.addAndGet(indexOf(value), count);
+        totalCount.addAndGet(count);
+        sum.addAndGet(value * count);
+        updateMin(value);
+        updateMax(value);
+    }
+
+    public void merge(final Histogram other) {
+        for (int i = 0; i < BUCKETS; i++) {
+            final long count = other.counts.get(i);
+            if (count != 0)
+                counts.addAndGet(i, count);
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        sum.addAndGet(other.sum.get());
+        if (other.getCount() > 0) {
+            updateMin(other.min.get());
+            updateMax(other.max.get());
+        }
+    }
+
+    public Histogram copy() {
+        final Histogram copy = new Histogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    public long getMin() {
+        return getCount() == 0 ? 0 : min.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    public double getMean() {
+        final long count = getCount();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /*
+     * Devuelve el mayor valor equivalente al bucket donde cae el percentil pedido (entre 0 y 100)
+     */
+    public long getValueAtPercentile(final double percentile) {
+        final long count = getCount();
+        if (count == 0)
+            return 0;
+        final double boundedPercentile = Math.min(Math.max(percentile, 0), 100);
+        final long target = Math.max(1, (long) Math.ceil(boundedPercentile / 100 * count));
+        long accumulated = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            accumulated += counts.get(i);
+            if (accumulated >= target)
+                return Math.min(highestEquivalentValue(i), getMax());
+        }
+        return getMax();
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        int buckets = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            if (counts.get(i) != 0)
+                buckets++;
+        }
+        VarIntCodec.writeVarLong(out, buckets);
+        /* Si se registra mientras se serializa pueden aparecer buckets nuevos: se escriben solo los contados */
+        int previous = 0;
+        for (int i = 0; i < BUCKETS && buckets > 0; i++) {
+            final long count = counts.get(i);
+            if (count == 0)
+                continue;
+            VarIntCodec.writeVarLong(out, i - previous);
+            VarIntCodec.writeVarLong(out, count);
+            previous = i;
+            buckets--;
+        }
+        VarIntCodec.writeVarLong(out, totalCount.get());
+        out.writeLong(sum.get());
+        out.writeLong(min.get());
+        VarIntCodec.writeVarLong(out, max.get());
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        final int buckets = VarIntCodec.readVarInt(in);
+        int index = 0;
+        for (int i = 0; i < buckets; i++) {
+            index += VarIntCodec.readVarInt(in);
+            if (index < 0 || index >= BUCKETS)
+                throw new IOException("Invalid histogram bucket " + index);
+            counts.set(index, VarIntCodec.readVarLong(in));
+        }
+        totalCount.set(VarIntCodec.readVarLong(in));
+        sum.set(in.readLong());
+        min.set(in.readLong());
+        max.set(VarIntCodec.readVarLong(in));
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKETS)
+            return (int) value;
+        final int magnitude = (Long.SIZE - 1 - Long.numberOfLeadingZeros(value)) - (SUB_BUCKET_BITS - 1);
+        final int subBucket = (int) (value >>> magnitude);
+        return SUB_BUCKETS + (magnitude - 1) * HALF_SUB_BUCKETS + (subBucket - HALF_SUB_BUCKETS);
+    }
+
+    static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKETS)
+            return index;
+        final int magnitude = (index - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        final long subBucket = (index - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        final long highest = ((subBucket + 1) << magnitude) - 1;
+        return highest < 0 ? Long.MAX_VALUE : highest;
+    }
+
+    private void updateMin(final long value) {
+        long current;
+        while (value < (current = min.get()) && !min.compareAndSet(current, value)) ;
+    }
+
+    private void updateMax(final long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) ;
+    }
+}
@@ -1,12 +1,27 @@
 package ar.edu.itba.pod.models;
 
-import java.io.Serializable;
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
 import java.util.ArrayList;
 import java.util.List;
 
-public class ReassignmentLog implements Serializable {
+public class ReassignmentLog implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
     private long assignedCount;
-    private final List<String> failed;
+    private List<String> failed;
+
+    /*
+     * Requerido por Externalizable, no usar
+     */
+    public ReassignmentLog() {
+        this.failed = new ArrayList<>();
+    }
 
     public ReassignmentLog(long assignedCount, List<String> failed) {
         this.assignedCount = assignedCount;
@@ -21,4 +36,21 @@ public class ReassignmentLog implements Serializable {
         return failed;
     }
 
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        VarIntCodec.writeVarLong(out, assignedCount);
+        VarIntCodec.writeVarLong(out, failed.size());
+        for (String flightId : failed)
+            out.writeUTF(flightId);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        assignedCount = VarIntCodec.readVarLong(in);
+        final int size = VarIntCodec.readVarInt(in);
+        failed = new ArrayList<>(size);
+        for (int i = 0; i < size; i++)
+            failed.add(in.readUTF());
+    }
+
 }
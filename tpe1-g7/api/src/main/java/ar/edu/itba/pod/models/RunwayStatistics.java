@@ -0,0 +1,70 @@
+package ar.edu.itba.pod.models;
+
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+/*
+ * Despegues de una pista, con la cantidad por hora en la ventana de la DepartureStatistics que la contiene
+ */
+public class RunwayStatistics implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long departures;
+    private long flightsBeforeDepartureSum;
+    private long[] hourlyDepartures;
+
+    /*
+     * Requerido por Externalizable, no usar
+     */
+    public RunwayStatistics() {
+        this.hourlyDepartures = new long[0];
+    }
+
+    public RunwayStatistics(long departures, long flightsBeforeDepartureSum, long[] hourlyDepartures) {
+        this.departures = departures;
+        this.flightsBeforeDepartureSum = flightsBeforeDepartureSum;
+        this.hourlyDepartures = hourlyDepartures;
+    }
+
+    public long getDepartures() {
+        return departures;
+    }
+
+    public long getFlightsBeforeDepartureSum() {
+        return flightsBeforeDepartureSum;
+    }
+
+    public double getAverageFlightsBeforeDeparture() {
+        return departures == 0 ? 0 : (double) flightsBeforeDepartureSum / departures;
+    }
+
+    /*
+     * Una posicion por hora, de la mas antigua a la actual
+     */
+    public long[] getHourlyDepartures() {
+        return hourlyDepartures;
+    }
+
+    @Override
+    public void writeExternal(final ObjectOutput out) throws IOException {
+        VarIntCodec.writeVarLong(out, departures);
+        VarIntCodec.writeVarLong(out, flightsBeforeDepartureSum);
+        VarIntCodec.writeVarLong(out, hourlyDepartures.length);
+        for (long count : hourlyDepartures)
+            VarIntCodec.writeVarLong(out, count);
+    }
+
+    @Override
+    public void readExternal(final ObjectInput in) throws IOException {
+        departures = VarIntCodec.readVarLong(in);
+        flightsBeforeDepartureSum = VarIntCodec.readVarLong(in);
+        hourlyDepartures = new long[VarIntCodec.readVarInt(in)];
+        for (int i = 0; i < hourlyDepartures.length; i++)
+            hourlyDepartures[i] = VarIntCodec.readVarLong(in);
+    }
+}
@@ -0,0 +1,23 @@
+package ar.edu.itba.pod.utils;
+
+import ar.edu.itba.pod.models.DepartureData;
+
+/*
+ * Formato CSV de las consultas de despegues, compartido por el cliente y la exportacion del servidor
+ */
+public final class DepartureCsv {
+
+    public static final String HEADER = "TakeOffOrders;RunwayName;FlightCode;DestinyAirport;AirlineName\n";
+    private static final char SEPARATOR = ';';
+
+    private DepartureCsv() {
+    }
+
+    public static StringBuilder appendRow(final StringBuilder out, final DepartureData departure) {
+        return out.append(departure.getFlightsBeforeDeparture()).append(SEPARATOR)
+                .append(departure.getRunwayName()).append(SEPARATOR)
+                .append(departure.getFlightId()).append(SEPARATOR)
+                .append(departure.getDestinationAirportId()).append(SEPARATOR)
+                .append(departure.getAirline()).append('\n');
+    }
+}
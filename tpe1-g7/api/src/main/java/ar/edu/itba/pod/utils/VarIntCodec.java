@@ -0,0 +1,63 @@
+package ar.edu.itba.pod.utils;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/*
+ * Codificacion compacta de enteros (varint con zigzag) y de fechas como nanosegundos desde epoch,
+ * utilizada por los modelos que se serializan a mano
+ */
+public final class VarIntCodec {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private VarIntCodec() {
+    }
+
+    public static void writeVarLong(final DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    public static long readVarLong(final DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0)
+                return value;
+        }
+        throw new IOException("Malformed varint");
+    }
+
+    public static void writeSignedVarLong(final DataOutput out, final long value) throws IOException {
+        writeVarLong(out, (value << 1) ^ (value >> 63));
+    }
+
+    public static long readSignedVarLong(final DataInput in) throws IOException {
+        final long value = readVarLong(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public static int readVarInt(final DataInput in) throws IOException {
+        final long value = readVarLong(in);
+        if (value < 0 || value > Integer.MAX_VALUE)
+            throw new IOException("Varint out of range: " + value);
+        return (int) value;
+    }
+
+    public static long toEpochNanos(final LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * NANOS_PER_SECOND + dateTime.getNano();
+    }
+
+    public static LocalDateTime fromEpochNanos(final long epochNanos) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(epochNanos, NANOS_PER_SECOND), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,3 @@
+#!/bin/bash
+
+java "$@" -cp 'lib/jars/*' "ar.edu.itba.pod.client.DepartureStatisticsClient"
\ No newline at end of file
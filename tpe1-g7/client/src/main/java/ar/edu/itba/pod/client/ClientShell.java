@@ -0,0 +1,187 @@
+package ar.edu.itba.pod.client;
+
+import ar.edu.itba.pod.client.connection.ServiceConnection;
+import ar.edu.itba.pod.client.utils.ClientOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Corre muchos comandos de los clientes en una misma JVM y con la misma conexion al servidor, evitando el arranque
+ * de la JVM y la busqueda de los servicios en el registro en cada comando. Cada linea es un comando: el nombre del
+ * cliente seguido de sus opciones, por ejemplo management action=takeOff o airline airline="POD AIRLINE".
+ * Sin -Dport lee los comandos de la entrada estandar. Con -Dport escucha en ese puerto, solo desde la misma maquina,
+ * atiende una conexion a la vez y responde a cada comando con OK o ERROR; la salida de los comandos queda en el log
+ */
+public class ClientShell {
+    private static final Logger logger = LoggerFactory.getLogger(ClientShell.class);
+    private static final String OK = "OK";
+    private static final String ERROR = "ERROR ";
+    private static final String EXIT = "exit";
+    private static final String SHUTDOWN = "shutdown";
+
+    @FunctionalInterface
+    private interface Command {
+        void run(final ClientOptions options, final ServiceConnection connection) throws Exception;
+    }
+
+    private static final Map<String, Command> COMMANDS = new LinkedHashMap<>();
+
+    static {
+        COMMANDS.put("management", ManagementClient::run);
+        COMMANDS.put("runway", RunwayRequestClient::run);
+        COMMANDS.put("airline", FlightTrackingClient::run);
+        COMMANDS.put("query", DepartureQueryClient::run);
+        COMMANDS.put("statistics", DepartureStatisticsClient::run);
+    }
+
+    public static void main(String[] args) {
+        final String serverAddress = System.getProperty("serverAddress");
+        final String portStr = System.getProperty("port");
+
+        if (serverAddress == null) {
+            logger.error("Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line");
+            return;
+        }
+
+        final ServiceConnection connection = new ServiceConnection(serverAddress);
+        if (portStr == null) {
+            try {
+                readCommands(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), null,
+                        connection);
+            } catch (IOException e) {
+                logger.error("Error while reading commands: " + e.getMessage());
+            }
+            System.exit(0);
+        }
+
+        int port = -1;
+        try {
+            port = Integer.parseInt(portStr);
+        } catch (NumberFormatException ignored) {
+        }
+        if (port < 0 || port > 0xFFFF) {
+            logger.error("Invalid port. Please specify it with -Dport=n");
+            return;
+        }
+
+        try (ServerSocket server = new ServerSocket(port, 0, InetAddress.getLoopbackAddress())) {
+            logger.info("Listening for commands on port " + server.getLocalPort() + ".");
+            boolean running = true;
+            while (running) {
+                try (Socket socket = server.accept();
+                     BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+                     PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+                    running = readCommands(in, out, connection);
+                } catch (IOException e) {
+                    logger.error("Error while reading commands: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Could not listen on port " + port + ": " + e.getMessage());
+        }
+        System.exit(0);
+    }
+
+    /*
+     * Ejecuta los comandos hasta el final de la entrada o hasta exit. Devuelve false si se pidio shutdown
+     */
+    private static boolean readCommands(final BufferedReader in, final PrintWriter out,
+                                        final ServiceConnection connection) throws IOException {
+        String line;
+        while ((line = in.readLine()) != null) {
+            final List<String> tokens;
+            try {
+                tokens = tokenize(line);
+            } catch (IllegalArgumentException e) {
+                reply(out, ERROR + e.getMessage());
+                continue;
+            }
+            if (tokens.isEmpty())
+                continue;
+
+            final String name = tokens.get(0);
+            if (name.equals(EXIT))
+                return true;
+            if (name.equals(SHUTDOWN))
+                return false;
+            reply(out, execute(name, tokens.subList(1, tokens.size()), connection));
+        }
+        return true;
+    }
+
+    private static String execute(final String name, final List<String> arguments,
+                                  final ServiceConnection connection) {
+        final Command command = COMMANDS.get(name);
+        if (command == null)
+            return ERROR + "Unknown command " + name + ". Please use one of " + COMMANDS.keySet() + ", "
+                    + EXIT + " or " + SHUTDOWN;
+
+        final Map<String, String> options = new HashMap<>();
+        for (String argument : arguments) {
+            final int separator = argument.indexOf('=');
+            if (separator <= 0)
+                return ERROR + "Invalid option " + argument + ". Please specify options as name=value";
+            options.put(argument.substring(0, separator), argument.substring(separator + 1));
+        }
+
+        try {
+            command.run(ClientOptions.of(options), connection);
+            return OK;
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
+            return ERROR + e.getMessage();
+        }
+    }
+
+    private static void reply(final PrintWriter out, final String reply) {
+        if (out != null)
+            out.println(reply);
+        else if (!reply.equals(OK))
+            logger.error(reply.substring(ERROR.length()));
+    }
+
+    /*
+     * Separa la linea por espacios, salvo dentro de comillas dobles, que se quitan
+     */
+    private static List<String> tokenize(final String line) {
+        final List<String> tokens = new ArrayList<>();
+        final StringBuilder token = new StringBuilder();
+        boolean quoted = false;
+        boolean inToken = false;
+        for (int i = 0; i < line.length(); i++) {
+            final char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+                inToken = true;
+            } else if (Character.isWhitespace(c) && !quoted) {
+                if (inToken)
+                    tokens.add(token.toString());
+                token.setLength(0);
+                inToken = false;
+            } else {
+                token.append(c);
+                inToken = true;
+            }
+        }
+        if (quoted)
+            throw new IllegalArgumentException("Unclosed quotes in " + line);
+        if (inToken)
+            tokens.add(token.toString());
+        return tokens;
+    }
+}
@@ -1,44 +1,88 @@
 package ar.edu.itba.pod.client;
 
+import ar.edu.itba.pod.DepartureExportChannel;
 import ar.edu.itba.pod.DepartureQueryService;
-import ar.edu.itba.pod.ManagementService;
+import ar.edu.itba.pod.client.connection.DepartureQueryCache;
+import ar.edu.itba.pod.client.connection.ServiceConnection;
+import ar.edu.itba.pod.client.utils.ClientOptions;
 import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DeparturePage;
+import ar.edu.itba.pod.utils.DepartureCsv;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.rmi.Naming;
-import java.rmi.NotBoundException;
+import java.nio.file.StandardOpenOption;
 import java.rmi.RemoteException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 public class DepartureQueryClient {
     private static final Logger logger = LoggerFactory.getLogger(DepartureQueryClient.class);
+    private static final String LIST_MODE = "list";
+    private static final String STREAM_MODE = "stream";
+    private static final String FOLLOW_MODE = "follow";
+    private static final long DEFAULT_REFRESH_INTERVAL = 5;
 
-    public static void main(String[] args) throws MalformedURLException, NotBoundException, RemoteException {
+    public static void main(String[] args) {
         final String serverAddress = System.getProperty("serverAddress");
-        final String airline = System.getProperty("airline");
-        final String runway = System.getProperty("runway");
-        final String outPath = System.getProperty("outPath");
-
-        String errorMessage = "";
         if (serverAddress == null) {
-            errorMessage += "Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line";
+            logger.error("Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line");
+            return;
         }
+
+        run(ClientOptions.fromSystemProperties(), new ServiceConnection(serverAddress));
+    }
+
+    public static void run(final ClientOptions options, final ServiceConnection connection) {
+        final String airline = options.get("airline");
+        final String runway = options.get("runway");
+        final String outPath = options.get("outPath");
+        final String mode = options.get("mode", LIST_MODE);
+        final String fromStr = options.get("from");
+        final String toStr = options.get("to");
+        final String refreshIntervalStr = options.get("refreshInterval", String.valueOf(DEFAULT_REFRESH_INTERVAL));
+
+        String errorMessage = "";
         if (outPath == null) {
             errorMessage += "\nMissing file path for query output. Please specify it with -DoutPath=fileName when running from the command line";
         }
         if (airline != null && runway != null) {
             errorMessage += "\nInvalid query. Please specify ONLY airline, runway name or neither";
         }
+        if (!mode.equals(LIST_MODE) && !mode.equals(STREAM_MODE) && !mode.equals(FOLLOW_MODE)) {
+            errorMessage += "\nInvalid mode. Please specify it with -Dmode=" + LIST_MODE + ", -Dmode=" + STREAM_MODE
+                    + " or -Dmode=" + FOLLOW_MODE;
+        }
+        LocalDateTime from = null;
+        LocalDateTime to = null;
+        try {
+            from = fromStr == null ? null : LocalDateTime.parse(fromStr);
+            to = toStr == null ? null : LocalDateTime.parse(toStr);
+        } catch (DateTimeParseException e) {
+            errorMessage += "\nInvalid date. Please specify dates as yyyy-MM-ddTHH:mm:ss with -Dfrom and -Dto";
+        }
+        if ((from != null || to != null) && !mode.equals(LIST_MODE)) {
+            errorMessage += "\nInvalid query. A date range can only be used with -Dmode=" + LIST_MODE;
+        }
+        long refreshInterval = 0;
+        try {
+            refreshInterval = Long.parseLong(refreshIntervalStr);
+        } catch (NumberFormatException ignored) {
+        }
+        if (refreshInterval <= 0) {
+            errorMessage += "\nInvalid refresh interval. Please specify a positive number of seconds with -DrefreshInterval=seconds";
+        }
 
         if (errorMessage.length() > 0) {
-            logger.error(errorMessage);
+            logger.error(errorMessage.trim());
             return;
         }
 
@@ -57,36 +101,156 @@ public class DepartureQueryClient {
             return;
         }
 
-        final DepartureQueryService service = (DepartureQueryService) Naming.lookup("//" + serverAddress + "/departure_query");
+        final DepartureQueryService service = connection.departureQuery();
+
+        if (mode.equals(STREAM_MODE)) {
+            streamQuery(service, airline, runway, outFile);
+        } else if (mode.equals(FOLLOW_MODE)) {
+            followQuery(service, airline, runway, outFile, refreshInterval);
+        } else if (from != null || to != null) {
+            listQuery(service, airline, runway, outFile,
+                    from == null ? LocalDateTime.MIN : from, to == null ? LocalDateTime.MAX : to);
+        } else {
+            listQuery(connection.departureQueryCache(), airline, runway, outFile);
+        }
+    }
+
+    /*
+     * Se piden solo los despegues en [from, to)
+     */
+    private static void listQuery(final DepartureQueryService service, final String airline, final String runway,
+                                  final File outFile, final LocalDateTime from, final LocalDateTime to) {
+        final List<DepartureData> queryResult;
+        try {
+            if (airline != null) {
+                queryResult = service.getAirlineDeparturesBetween(airline, from, to);
+            } else if (runway != null) {
+                queryResult = service.getRunwayDeparturesBetween(runway, from, to);
+            } else {
+                queryResult = service.getDeparturesBetween(from, to);
+            }
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
+            return;
+        }
+
+        writeList(queryResult, outFile);
+    }
 
+    /*
+     * Sin rango de fechas el resultado sale del cache de la conexion, que si la consulta ya se hizo (por ejemplo
+     * desde la consola de clientes) solo pide al servidor los despegues nuevos
+     */
+    private static void listQuery(final DepartureQueryCache cache, final String airline, final String runway,
+                                  final File outFile) {
         final List<DepartureData> queryResult;
         try {
             if (airline != null) {
-                queryResult = service.getAirlineDepartures(airline);
+                queryResult = cache.getAirlineDepartures(airline);
             } else if (runway != null) {
-                queryResult = service.getRunwayDepartures(runway);
+                queryResult = cache.getRunwayDepartures(runway);
             } else {
-                queryResult = service.getAllDepartures();
+                queryResult = cache.getAllDepartures();
             }
         } catch (Exception e) {
             logger.error("An unknown error has occurred.");
             return;
         }
 
+        writeList(queryResult, outFile);
+    }
+
+    private static void writeList(final List<DepartureData> queryResult, final File outFile) {
         final StringBuilder out = new StringBuilder();
 
-        out.append("TakeOffOrders;RunwayName;FlightCode;DestinyAirport;AirlineName\n");
-        queryResult.forEach(departure -> out.append(String.format("%d;%s;%s;%s;%s\n",
-                departure.getFlightsBeforeDeparture(),
-                departure.getRunwayName(),
-                departure.getFlightId(),
-                departure.getDestinationAirportId(),
-                departure.getAirline())));
+        out.append(DepartureCsv.HEADER);
+        queryResult.forEach(departure -> DepartureCsv.appendRow(out, departure));
 
         try {
-            Files.write(outFile.toPath(), out.toString().getBytes());
+            Files.write(outFile.toPath(), out.toString().getBytes(StandardCharsets.UTF_8));
         } catch (IOException e) {
             logger.error("Error while writing to file. Aborting..." + e.getMessage());
         }
     }
+
+    /*
+     * El servidor genera el CSV y lo envia en bloques, que se escriben directamente al archivo a medida que llegan
+     */
+    private static void streamQuery(final DepartureQueryService service, final String airline, final String runway,
+                                    final File outFile) {
+        final DepartureExportChannel channel;
+        try {
+            if (airline != null) {
+                channel = service.exportAirlineDepartures(airline);
+            } else if (runway != null) {
+                channel = service.exportRunwayDepartures(runway);
+            } else {
+                channel = service.exportAllDepartures();
+            }
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
+            return;
+        }
+
+        try (FileChannel out = FileChannel.open(outFile.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[] chunk;
+            while ((chunk = channel.read()) != null) {
+                final ByteBuffer buffer = ByteBuffer.wrap(chunk);
+                while (buffer.hasRemaining())
+                    out.write(buffer);
+            }
+        } catch (IOException e) {
+            logger.error("Error while writing to file. Aborting..." + e.getMessage());
+            try {
+                channel.close();
+            } catch (RemoteException remoteException) {
+                logger.error("An unknown error has occurred.");
+            }
+        }
+    }
+
+    /*
+     * Escribe el historial y cada refreshInterval segundos agrega al archivo solo los despegues nuevos,
+     * pidiendolos desde el cursor de la consulta anterior. Termina al interrumpir el cliente
+     */
+    private static void followQuery(final DepartureQueryService service, final String airline, final String runway,
+                                    final File outFile, final long refreshInterval) {
+        try (FileChannel out = FileChannel.open(outFile.toPath(), StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            write(out, new StringBuilder(DepartureCsv.HEADER));
+            long cursor = 0;
+            while (!Thread.currentThread().isInterrupted()) {
+                final DeparturePage page;
+                if (airline != null) {
+                    page = service.getAirlineDeparturesSince(airline, cursor);
+                } else if (runway != null) {
+                    page = service.getRunwayDeparturesSince(runway, cursor);
+                } else {
+                    page = service.getDeparturesSince(cursor);
+                }
+                cursor = page.getCursor();
+
+                final StringBuilder rows = new StringBuilder();
+                page.getDepartures().forEach(departure -> DepartureCsv.appendRow(rows, departure));
+                write(out, rows);
+                if (!page.getDepartures().isEmpty())
+                    logger.info(page.getDepartures().size() + " new departures.");
+
+                TimeUnit.SECONDS.sleep(refreshInterval);
+            }
+        } catch (IOException e) {
+            logger.error("Error while writing to file. Aborting..." + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
+        }
+    }
+
+    private static void write(final FileChannel out, final StringBuilder content) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining())
+            out.write(buffer);
+    }
 }
@@ -0,0 +1,60 @@
+package ar.edu.itba.pod.client;
+
+import ar.edu.itba.pod.DepartureStatisticsService;
+import ar.edu.itba.pod.client.connection.ServiceConnection;
+import ar.edu.itba.pod.client.utils.ClientOptions;
+import ar.edu.itba.pod.models.DepartureStatistics;
+import ar.edu.itba.pod.models.RunwayStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class DepartureStatisticsClient {
+    private static final Logger logger = LoggerFactory.getLogger(DepartureStatisticsClient.class);
+
+    public static void main(String[] args) {
+        final String serverAddress = System.getProperty("serverAddress");
+
+        if (serverAddress == null) {
+            logger.error("Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line");
+            return;
+        }
+
+        run(ClientOptions.fromSystemProperties(), new ServiceConnection(serverAddress));
+    }
+
+    public static void run(final ClientOptions options, final ServiceConnection connection) {
+        final DepartureStatisticsService service = connection.departureStatistics();
+
+        final DepartureStatistics statistics;
+        try {
+            statistics = service.getStatistics();
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
+            return;
+        }
+
+        final LocalDateTime windowStart = statistics.getCurrentHour().minusHours(DepartureStatistics.WINDOW_HOURS - 1);
+        logger.info(String.format("%d flights departed, %.2f flights before departure on average.",
+                statistics.getDepartures(), statistics.getAverageFlightsBeforeDeparture()));
+        logger.info(String.format("Departures per hour since %s: %s", windowStart,
+                formatHourly(statistics.getHourlyDepartures())));
+
+        for (Map.Entry<String, RunwayStatistics> entry : statistics.getRunways().entrySet()) {
+            final RunwayStatistics runway = entry.getValue();
+            logger.info(String.format("Runway %s: %d flights departed, %.2f flights before departure on average. Per hour: %s",
+                    entry.getKey(), runway.getDepartures(), runway.getAverageFlightsBeforeDeparture(),
+                    formatHourly(runway.getHourlyDepartures())));
+        }
+        statistics.getAirlineDepartures().forEach((airline, departures) ->
+                logger.info(String.format("Airline %s: %d flights departed.", airline, departures)));
+    }
+
+    private static String formatHourly(final long[] hourlyDepartures) {
+        return Arrays.stream(hourlyDepartures).mapToObj(String::valueOf).collect(Collectors.joining(" "));
+    }
+}
@@ -1,44 +1,72 @@
 package ar.edu.itba.pod.client;
 
+import ar.edu.itba.pod.BatchedTrackingCallbackHandler;
 import ar.edu.itba.pod.FlightTrackingCallbackHandler;
 import ar.edu.itba.pod.FlightTrackingService;
+import ar.edu.itba.pod.client.connection.ServiceConnection;
+import ar.edu.itba.pod.client.handlers.LoggerBatchedTrackingCallbackHandler;
 import ar.edu.itba.pod.client.handlers.LoggerFlightTrackingCallbackHandler;
+import ar.edu.itba.pod.client.utils.ClientOptions;
 import ar.edu.itba.pod.exceptions.NoSuchFlightException;
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.MalformedURLException;
-import java.rmi.Naming;
-import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
 import java.rmi.server.UnicastRemoteObject;
 
 public class FlightTrackingClient {
     private static final Logger logger = LoggerFactory.getLogger(FlightTrackingClient.class);
 
-    public static void main(String[] args) throws MalformedURLException, NotBoundException, RemoteException {
+    public static void main(String[] args) throws RemoteException {
         final String serverAddress = System.getProperty("serverAddress");
-        final String airline = System.getProperty("airline");
-        final String flightId = System.getProperty("flightCode");
-
-        String errorMessage = "";
         if (serverAddress == null) {
-            errorMessage += "Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line";
+            logger.error("Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line");
+            return;
         }
-        if (airline == null) {
-            errorMessage += "\nMissing airline name. Please specify it with -Dairline=airlineName when running from the command line";
+
+        run(ClientOptions.fromSystemProperties(), new ServiceConnection(serverAddress));
+    }
+
+    public static void run(final ClientOptions options, final ServiceConnection connection) throws RemoteException {
+        final String airline = options.get("airline");
+        final String flightId = options.get("flightCode");
+        final String runway = options.get("runway");
+        final String fromSequenceStr = options.get("fromSequence");
+
+        String errorMessage = "";
+        if (airline == null && runway == null) {
+            errorMessage += "\nMissing airline name. Please specify it with -Dairline=airlineName, or a runway with -Drunway=runwayName, when running from the command line";
         }
-        if (flightId == null) {
-            errorMessage += "\nMissing flight code. Please specify it with -DflightCode=flightCode when running from the command line";
+        long fromSequence = -1;
+        if (fromSequenceStr != null) {
+            try {
+                fromSequence = Long.parseLong(fromSequenceStr);
+            } catch (NumberFormatException ignored) {
+            }
+            if (fromSequence < 0 || flightId == null)
+                errorMessage += "\nInvalid sequence. Please specify a flight with -DflightCode and the last received event number with -DfromSequence=n";
         }
 
         if (errorMessage.length() > 0) {
-            logger.error(errorMessage);
+            logger.error(errorMessage.trim());
+            return;
+        }
+
+        final FlightTrackingService service = connection.flightTracking();
+
+        if (fromSequence >= 0) {
+            subscribeFrom(service, flightId, airline, fromSequence);
+            return;
+        }
+
+        // con una pista, o sin codigo de vuelo, se siguen todos los vuelos de la pista o aerolinea,
+        // con los eventos agrupados por operacion
+        if (runway != null || flightId == null) {
+            subscribeAll(service, airline, runway);
             return;
         }
 
-        final FlightTrackingService service = (FlightTrackingService) Naming.lookup("//" + serverAddress + "/flight_tracking");
         final FlightTrackingCallbackHandler handler = new LoggerFlightTrackingCallbackHandler();
 
         UnicastRemoteObject.exportObject(handler, 0);
@@ -54,4 +82,46 @@ public class FlightTrackingClient {
         }
     }
 
+    /*
+     * Recupera los eventos del vuelo posteriores a fromSequence y sigue recibiendo los nuevos hasta que despega o
+     * cancela. Los eventos recuperados llegan antes de que subscribeFrom termine, por lo que si el vuelo ya habia
+     * terminado (y el servidor no registra al suscriptor) el handler deja de exportarse ahi mismo
+     */
+    private static void subscribeFrom(final FlightTrackingService service, final String flightId, final String airline,
+                                      final long fromSequence) throws RemoteException {
+        final BatchedTrackingCallbackHandler handler = new LoggerBatchedTrackingCallbackHandler(flightId);
+
+        UnicastRemoteObject.exportObject(handler, 0);
+
+        try {
+            service.subscribeFrom(flightId, airline, fromSequence, handler);
+        } catch (NoSuchFlightException e) {
+            logger.error("Flight " + flightId + " of airline: " + airline + " does not exist.");
+            UnicastRemoteObject.unexportObject(handler, true);
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
+            UnicastRemoteObject.unexportObject(handler, true);
+        }
+    }
+
+    private static void subscribeAll(final FlightTrackingService service, final String airline, final String runway)
+            throws RemoteException {
+        final BatchedTrackingCallbackHandler handler = new LoggerBatchedTrackingCallbackHandler();
+
+        UnicastRemoteObject.exportObject(handler, 0);
+
+        try {
+            if (runway != null)
+                service.subscribeRunway(runway, handler);
+            else
+                service.subscribeAirline(airline, handler);
+        } catch (NoSuchRunwayException e) {
+            logger.error("Runway " + runway + " does not exist.");
+            UnicastRemoteObject.unexportObject(handler, true);
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
+            UnicastRemoteObject.unexportObject(handler, true);
+        }
+    }
+
 }
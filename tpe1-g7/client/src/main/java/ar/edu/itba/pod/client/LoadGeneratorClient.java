@@ -0,0 +1,304 @@
+package ar.edu.itba.pod.client;
+
+import ar.edu.itba.pod.DepartureQueryService;
+import ar.edu.itba.pod.FlightTrackingService;
+import ar.edu.itba.pod.ManagementService;
+import ar.edu.itba.pod.RunwayRequestService;
+import ar.edu.itba.pod.client.handlers.CountingFlightTrackingCallbackHandler;
+import ar.edu.itba.pod.exceptions.NoSuchFlightException;
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.exceptions.RunwayAlreadyExistsException;
+import ar.edu.itba.pod.exceptions.ServerOverloadedException;
+import ar.edu.itba.pod.models.Histogram;
+import ar.edu.itba.pod.models.RunwayCategory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.MalformedURLException;
+import java.rmi.Naming;
+import java.rmi.NotBoundException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Cliente de carga sostenida: ejecuta una mezcla de operaciones contra el servidor, cada una a una tasa objetivo
+ * (operaciones por segundo), desde un pool de threads, y reporta throughput y percentiles de latencia por operacion.
+ * La latencia se mide desde el instante en que la operacion debia comenzar segun su tasa, de forma que
+ * si el servidor se satura la espera en la cola del cliente tambien queda reflejada
+ */
+public class LoadGeneratorClient {
+    private static final Logger logger = LoggerFactory.getLogger(LoadGeneratorClient.class);
+
+    private static final String DEFAULT_RATES = "requestRunway=200,subscribe=20,takeOff=5,reorder=0.2,query=1";
+    private static final String RUNWAY_PREFIX = "LOAD RUNWAY ";
+    private static final String AIRLINE_PREFIX = "LOAD AIRLINE ";
+    private static final String FLIGHT_PREFIX = "LOAD-";
+    private static final String DESTINATION_PREFIX = "LOAD AIRPORT ";
+    private static final int DESTINATIONS = 50;
+    private static final int SUBSCRIBE_WINDOW = 1000;
+    private static final long SHUTDOWN_TIMEOUT = 60L;
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private enum Operation {
+        REQUEST_RUNWAY("requestRunway"),
+        SUBSCRIBE("subscribe"),
+        TAKE_OFF("takeOff"),
+        REORDER("reorder"),
+        QUERY("query");
+
+        private final String name;
+
+        Operation(final String name) {
+            this.name = name;
+        }
+
+        static Operation fromName(final String name) {
+            for (Operation operation : values()) {
+                if (operation.name.equals(name))
+                    return operation;
+            }
+            throw new IllegalArgumentException("Invalid operation " + name + ".");
+        }
+    }
+
+    private static class OperationStats {
+        private final Histogram latencyNanos = new Histogram();
+        private final AtomicLong rejected = new AtomicLong();
+        private final AtomicLong failed = new AtomicLong();
+    }
+
+    private final ManagementService managementService;
+    private final RunwayRequestService runwayRequestService;
+    private final FlightTrackingService flightTrackingService;
+    private final DepartureQueryService departureQueryService;
+    private final CountingFlightTrackingCallbackHandler handler;
+    private final Map<Operation, OperationStats> stats;
+    private final AtomicLong flightCounter;
+    private final int runways;
+    private final int airlines;
+
+    private LoadGeneratorClient(final String serverAddress, final int runways, final int airlines)
+            throws MalformedURLException, NotBoundException, RemoteException {
+        this.managementService = (ManagementService) Naming.lookup("//" + serverAddress + "/management");
+        this.runwayRequestService = (RunwayRequestService) Naming.lookup("//" + serverAddress + "/runway_request");
+        this.flightTrackingService = (FlightTrackingService) Naming.lookup("//" + serverAddress + "/flight_tracking");
+        this.departureQueryService = (DepartureQueryService) Naming.lookup("//" + serverAddress + "/departure_query");
+        this.handler = new CountingFlightTrackingCallbackHandler();
+        this.stats = new EnumMap<>(Operation.class);
+        for (Operation operation : Operation.values())
+            stats.put(operation, new OperationStats());
+        this.flightCounter = new AtomicLong();
+        this.runways = runways;
+        this.airlines = airlines;
+    }
+
+    public static void main(String[] args) throws MalformedURLException, NotBoundException, RemoteException {
+        final String serverAddress = System.getProperty("serverAddress");
+        final String ratesStr = System.getProperty("rates", DEFAULT_RATES);
+
+        String errorMessage = "";
+        if (serverAddress == null) {
+            errorMessage += "Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line";
+        }
+
+        final Map<Operation, Double> rates = new EnumMap<>(Operation.class);
+        int threads = 0, duration = 0, runways = 0, airlines = 0, reportInterval = 0;
+        try {
+            threads = Integer.parseInt(System.getProperty("threads", "32"));
+            duration = Integer.parseInt(System.getProperty("duration", "60"));
+            runways = Integer.parseInt(System.getProperty("runways", "4"));
+            airlines = Integer.parseInt(System.getProperty("airlines", "10"));
+            reportInterval = Integer.parseInt(System.getProperty("reportInterval", "10"));
+            for (String rate : ratesStr.split(",")) {
+                final String[] pair = rate.split("=");
+                if (pair.length != 2)
+                    throw new IllegalArgumentException("Invalid rate " + rate + ".");
+                rates.put(Operation.fromName(pair[0].trim()), Double.parseDouble(pair[1].trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            errorMessage += "\nInvalid load parameters. " + e.getMessage();
+        }
+        if (threads < 1 || duration < 1 || runways < 1 || airlines < 1 || reportInterval < 1) {
+            errorMessage += "\nthreads, duration, runways, airlines and reportInterval MUST be positive";
+        }
+
+        if (errorMessage.length() > 0) {
+            logger.error(errorMessage);
+            return;
+        }
+
+        final LoadGeneratorClient client = new LoadGeneratorClient(serverAddress, runways, airlines);
+        UnicastRemoteObject.exportObject(client.handler, 0);
+        try {
+            client.addRunways();
+            client.run(rates, threads, duration, reportInterval);
+        } finally {
+            UnicastRemoteObject.unexportObject(client.handler, true);
+        }
+    }
+
+    private void addRunways() throws RemoteException {
+        final RunwayCategory[] categories = RunwayCategory.values();
+        for (int i = 0; i < runways; i++) {
+            try {
+                managementService.addRunway(RUNWAY_PREFIX + i, categories[categories.length - 1 - i % categories.length]);
+            } catch (RunwayAlreadyExistsException e) {
+                logger.info("Runway " + RUNWAY_PREFIX + i + " already exists.");
+            }
+        }
+    }
+
+    private void run(final Map<Operation, Double> rates, final int threads, final int duration, final int reportInterval) {
+        final ExecutorService workers = Executors.newFixedThreadPool(threads);
+        final long startNanos = System.nanoTime();
+        final long endNanos = startNanos + TimeUnit.SECONDS.toNanos(duration);
+
+        final List<Thread> pacers = new ArrayList<>();
+        rates.forEach((operation, rate) -> {
+            if (rate <= 0)
+                return;
+            final Thread pacer = new Thread(() -> pace(operation, rate, startNanos, endNanos, workers),
+                    "pacer-" + operation.name);
+            pacers.add(pacer);
+            pacer.start();
+        });
+
+        logger.info(String.format("Running %s with %d threads for %d s.", rates, threads, duration));
+        try {
+            long nextReport = startNanos + TimeUnit.SECONDS.toNanos(reportInterval);
+            while (nextReport < endNanos) {
+                LockSupport.parkNanos(nextReport - System.nanoTime());
+                report(startNanos);
+                nextReport += TimeUnit.SECONDS.toNanos(reportInterval);
+            }
+            for (Thread pacer : pacers)
+                pacer.join();
+            workers.shutdown();
+            if (!workers.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS))
+                logger.error("Some operations did not finish in time.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            workers.shutdownNow();
+        }
+
+        logger.info("Final results:");
+        report(startNanos);
+        logger.info(handler.getEvents() + " tracking events received.");
+    }
+
+    private void pace(final Operation operation, final double rate, final long startNanos, final long endNanos,
+                      final ExecutorService workers) {
+        final double intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        for (long i = 0; ; i++) {
+            final long intendedStart = startNanos + (long) (i * intervalNanos);
+            if (intendedStart >= endNanos || Thread.currentThread().isInterrupted())
+                return;
+            final long wait = intendedStart - System.nanoTime();
+            if (wait > 0)
+                LockSupport.parkNanos(wait);
+            workers.execute(() -> execute(operation, intendedStart));
+        }
+    }
+
+    private void execute(final Operation operation, final long intendedStart) {
+        final OperationStats operationStats = stats.get(operation);
+        try {
+            switch (operation) {
+                case REQUEST_RUNWAY:
+                    requestRunway();
+                    break;
+                case SUBSCRIBE:
+                    subscribe();
+                    break;
+                case TAKE_OFF:
+                    managementService.issueDeparture();
+                    break;
+                case REORDER:
+                    managementService.rearrangeDepartures();
+                    break;
+                case QUERY:
+                    query();
+                    break;
+            }
+        } catch (NoSuchRunwayException | NoSuchFlightException | ServerOverloadedException e) {
+            operationStats.rejected.incrementAndGet();
+        } catch (Exception e) {
+            operationStats.failed.incrementAndGet();
+        } finally {
+            operationStats.latencyNanos.record(System.nanoTime() - intendedStart);
+        }
+    }
+
+    private void requestRunway() throws RemoteException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final RunwayCategory[] categories = RunwayCategory.values();
+        final long flight = flightCounter.getAndIncrement();
+        runwayRequestService.requestRunway(
+                FLIGHT_PREFIX + flight,
+                DESTINATION_PREFIX + random.nextInt(DESTINATIONS),
+                airlineOf(flight),
+                categories[random.nextInt(categories.length)]);
+    }
+
+    /*
+     * Se suscribe a alguno de los ultimos vuelos solicitados, que con tasas de despegue bajas sigue en cola
+     */
+    private void subscribe() throws RemoteException {
+        final long requested = flightCounter.get();
+        if (requested == 0)
+            throw new NoSuchFlightException();
+        final long flight = requested - 1 - ThreadLocalRandom.current().nextLong(Math.min(requested, SUBSCRIBE_WINDOW));
+        flightTrackingService.subscribe(FLIGHT_PREFIX + flight, airlineOf(flight), handler);
+    }
+
+    private String airlineOf(final long flight) {
+        return AIRLINE_PREFIX + flight % airlines;
+    }
+
+    private void query() throws RemoteException {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (random.nextInt(3)) {
+            case 0:
+                departureQueryService.getAllDepartures();
+                break;
+            case 1:
+                departureQueryService.getRunwayDepartures(RUNWAY_PREFIX + random.nextInt(runways));
+                break;
+            default:
+                departureQueryService.getAirlineDepartures(AIRLINE_PREFIX + random.nextInt(airlines));
+        }
+    }
+
+    private void report(final long startNanos) {
+        final double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        final StringBuilder out = new StringBuilder(String.format("%n%-14s %10s %10s %8s %8s", "operation", "count", "ops/s",
+                "rejected", "failed"));
+        for (double percentile : PERCENTILES)
+            out.append(String.format(" %9s", "p" + percentile));
+        out.append(String.format(" %9s", "max"));
+
+        stats.forEach((operation, operationStats) -> {
+            final Histogram histogram = operationStats.latencyNanos;
+            if (histogram.getCount() == 0)
+                return;
+            out.append(String.format("%n%-14s %10d %10.1f %8d %8d", operation.name, histogram.getCount(),
+                    histogram.getCount() / elapsedSeconds, operationStats.rejected.get(), operationStats.failed.get()));
+            for (double percentile : PERCENTILES)
+                out.append(String.format(" %9.2f", histogram.getValueAtPercentile(percentile) / 1e6));
+            out.append(String.format(" %9.2f", histogram.getMax() / 1e6));
+        });
+        out.append(String.format("%nlatencies in ms, elapsed %.1f s", elapsedSeconds));
+        logger.info(out.toString());
+    }
+}
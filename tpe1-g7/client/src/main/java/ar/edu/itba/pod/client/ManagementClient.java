@@ -1,16 +1,18 @@
 package ar.edu.itba.pod.client;
 
 import ar.edu.itba.pod.ManagementService;
+import ar.edu.itba.pod.client.connection.ServiceConnection;
+import ar.edu.itba.pod.client.utils.ClientOptions;
+import ar.edu.itba.pod.exceptions.NoSuchFlightException;
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
 import ar.edu.itba.pod.exceptions.RunwayAlreadyExistsException;
+import ar.edu.itba.pod.models.Histogram;
 import ar.edu.itba.pod.models.ReassignmentLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.net.MalformedURLException;
-import java.rmi.Naming;
-import java.rmi.NotBoundException;
-import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.TreeMap;
 
 import static ar.edu.itba.pod.client.utils.RunwayCategoryUtils.getRunwayCategory;
 
@@ -18,26 +20,29 @@ public class ManagementClient {
     private static final Logger logger = LoggerFactory.getLogger(ManagementClient.class);
     private static final String MISSING_RUNWAY_NAME = "Missing runway name. Please specify it with -Drunway=runwayName when running from the command line";
 
-    public static void main(String[] args) throws MalformedURLException, NotBoundException, RemoteException {
+    public static void main(String[] args) {
         final String serverAddress = System.getProperty("serverAddress");
-        final String action = System.getProperty("action");
-        final String runway = System.getProperty("runway");
-        final String minCategoryStr = System.getProperty("category");
-
-        String errorMessage = "";
         if (serverAddress == null) {
-            errorMessage += "Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line";
-        }
-        if (action == null) {
-            errorMessage += "\nMissing action to do. Please specify it with -Daction=action when running from the command line";
+            logger.error("Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line");
+            return;
         }
 
-        if (errorMessage.length() > 0) {
-            logger.error(errorMessage);
+        run(ClientOptions.fromSystemProperties(), new ServiceConnection(serverAddress));
+    }
+
+    public static void run(final ClientOptions options, final ServiceConnection connection) {
+        final String action = options.get("action");
+        final String runway = options.get("runway");
+        final String minCategoryStr = options.get("category");
+        final String flightId = options.get("flightCode");
+
+        String errorMessage = "";
+        if (action == null) {
+            logger.error("Missing action to do. Please specify it with -Daction=action when running from the command line");
             return;
         }
 
-        final ManagementService service = (ManagementService) Naming.lookup("//" + serverAddress + "/management");
+        final ManagementService service = connection.management();
 
         switch (action) {
             case "reorder":
@@ -107,12 +112,51 @@ public class ManagementClient {
                     logger.error("An unknown error has occurred.");
                 }
                 break;
+            case "prioritize":
+                if (flightId == null) {
+                    logger.error("Missing flight code. Please specify it with -DflightCode=flightCode when running from the command line");
+                    return;
+                }
+
+                try {
+                    service.prioritizeFlight(flightId);
+                    logger.info("Flight " + flightId + " is first in its runway.");
+                } catch (NoSuchFlightException e) {
+                    logger.error("Flight " + flightId + " is not waiting for departure.");
+                } catch (Exception e) {
+                    logger.error("An unknown error has occurred.");
+                }
+                break;
+            case "waitTimes":
+                try {
+                    if (runway != null) {
+                        logWaitTimes("Runway " + runway, service.getRunwayWaitTimes(runway));
+                    } else {
+                        final Histogram total = new Histogram();
+                        for (Map.Entry<String, Histogram> entry : new TreeMap<>(service.getWaitTimes()).entrySet()) {
+                            logWaitTimes("Runway " + entry.getKey(), entry.getValue());
+                            total.merge(entry.getValue());
+                        }
+                        logWaitTimes("All runways", total);
+                    }
+                } catch (NoSuchRunwayException e) {
+                    logger.error("Runway " + runway + " not found.");
+                } catch (Exception e) {
+                    logger.error("An unknown error has occurred.");
+                }
+                break;
             default:
                 logger.error("Invalid action.");
         }
     }
 
-    private static void switchRunwayState(String runway, ManagementService service, Boolean openRunway) throws RemoteException {
+    private static void logWaitTimes(final String name, final Histogram waitTimes) {
+        logger.info(String.format("%s: %d flights departed. Wait time (ms): mean %.2f, p50 %d, p90 %d, p99 %d, max %d.",
+                name, waitTimes.getCount(), waitTimes.getMean(), waitTimes.getValueAtPercentile(50),
+                waitTimes.getValueAtPercentile(90), waitTimes.getValueAtPercentile(99), waitTimes.getMax()));
+    }
+
+    private static void switchRunwayState(String runway, ManagementService service, Boolean openRunway) {
         try {
             if (openRunway) {
                 service.openRunway(runway);
@@ -1,39 +1,83 @@
 package ar.edu.itba.pod.client;
 
 import ar.edu.itba.pod.RunwayRequestService;
+import ar.edu.itba.pod.client.connection.ServiceConnection;
+import ar.edu.itba.pod.client.utils.ClientOptions;
+import ar.edu.itba.pod.exceptions.FlightAlreadyQueuedException;
+import ar.edu.itba.pod.exceptions.NoSuchFlightException;
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.exceptions.ServerOverloadedException;
+import ar.edu.itba.pod.models.RunwayCategory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-import java.rmi.Naming;
-import java.rmi.NotBoundException;
 import java.rmi.RemoteException;
-import java.util.List;
+import java.rmi.ServerError;
+import java.rmi.ServerException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import static ar.edu.itba.pod.client.utils.RunwayCategoryUtils.getRunwayCategory;
 
 public class RunwayRequestClient {
     private static final Logger logger = LoggerFactory.getLogger(RunwayRequestClient.class);
+    private static final int FIELDS = 4;
+    private static final char SEPARATOR = ';';
+    private static final long REPORT_EVERY = 10_000L;
+    private static final int MAX_ATTEMPTS = 6;
+    private static final long COMMUNICATION_RETRY_AFTER_MILLIS = 100;
 
-    public static void main(String[] args) throws MalformedURLException, NotBoundException, RemoteException {
+    public static void main(String[] args) {
         final String serverAddress = System.getProperty("serverAddress");
-        final String inPath = System.getProperty("inPath");
-
-        String errorMessage = "";
         if (serverAddress == null) {
-            errorMessage += "Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line";
+            logger.error("Missing server address and port. Please specify them with -DserverAddress=xx.xx.xx.xx:yyyy when running from the command line");
+            return;
         }
-        if (inPath == null) {
+
+        run(ClientOptions.fromSystemProperties(), new ServiceConnection(serverAddress));
+    }
+
+    public static void run(final ClientOptions options, final ServiceConnection connection) {
+        final String inPath = options.get("inPath");
+        final String concurrencyStr = options.get("concurrency", "1");
+        final String cancelFlightId = options.get("cancel");
+        final String airline = options.get("airline");
+
+        String errorMessage = "";
+        if (cancelFlightId != null) {
+            if (airline == null) {
+                errorMessage += "\nMissing airline of the flight to cancel. Please specify it with -Dairline=airlineName when running from the command line";
+            }
+        } else if (inPath == null) {
             errorMessage += "\nMissing file path for query input. Please specify it with -DinPath=fileName when running from the command line";
         }
+        int concurrency = 0;
+        try {
+            concurrency = Integer.parseInt(concurrencyStr);
+        } catch (NumberFormatException ignored) {
+        }
+        if (concurrency < 1) {
+            errorMessage += "\nInvalid concurrency. Please specify a positive number of concurrent requests with -Dconcurrency=n";
+        }
 
         if (errorMessage.length() > 0) {
-            logger.error(errorMessage);
+            logger.error(errorMessage.trim());
+            return;
+        }
+
+        final RunwayRequestService service = connection.runwayRequests();
+        if (cancelFlightId != null) {
+            cancelRunwayRequest(service, cancelFlightId, airline);
             return;
         }
 
@@ -42,35 +86,133 @@ public class RunwayRequestClient {
             logger.error("Error: file is not readable. Make sure the given path for the file is readable");
             return;
         }
-        final RunwayRequestService service = (RunwayRequestService) Naming.lookup("//" + serverAddress + "/runway_request");
+        // el semaforo limita las solicitudes en curso, asi la lectura del archivo no se adelanta al envio
+        final ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        final Semaphore inFlight = new Semaphore(concurrency);
+        final AtomicLong assignedFlightsCount = new AtomicLong();
+        final AtomicLong processedCount = new AtomicLong();
+        final long startNanos = System.nanoTime();
 
-        List<String> lines;
-        try {
-            lines = Files.readAllLines(Paths.get(inPath));
+        try (BufferedReader reader = Files.newBufferedReader(Paths.get(inPath), StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String currentLine;
+            while ((currentLine = reader.readLine()) != null) {
+                final String[] flightData = parseLine(currentLine);
+                if (flightData == null) {
+                    logger.error(String.format("Invalid line: %s", currentLine));
+                    continue;
+                }
+
+                inFlight.acquire();
+                executor.submit(() -> {
+                    try {
+                        requestRunway(service, flightData[0], flightData[1], flightData[2],
+                                getRunwayCategory(flightData[3]));
+                        assignedFlightsCount.incrementAndGet();
+                    } catch (NoSuchRunwayException e) {
+                        logger.error(String.format("Cannot assign Flight %s.", flightData[0]));
+                    } catch (ServerOverloadedException e) {
+                        logger.error(String.format("Cannot assign Flight %s, server is overloaded.", flightData[0]));
+                    } catch (FlightAlreadyQueuedException e) {
+                        logger.error(String.format(
+                                "Cannot assign Flight %s, it is already waiting with a different request.",
+                                flightData[0]));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (Exception e) {
+                        logger.error("An unknown error has occurred.");
+                    } finally {
+                        inFlight.release();
+                        final long processed = processedCount.incrementAndGet();
+                        if (processed % REPORT_EVERY == 0)
+                            logThroughput(processed, startNanos);
+                    }
+                });
+            }
         } catch (IOException e) {
             e.printStackTrace();
-            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            executor.shutdown();
+            try {
+                executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        logThroughput(processedCount.get(), startNanos);
+        logger.info(assignedFlightsCount.get() + " flights assigned.");
+    }
+
+    private static void cancelRunwayRequest(final RunwayRequestService service, final String flightId,
+                                            final String airline) {
+        try {
+            service.cancelRunwayRequest(flightId, airline);
+            logger.info(String.format("Runway request of Flight %s cancelled.", flightId));
+        } catch (NoSuchFlightException e) {
+            logger.error(String.format("Flight %s of airline %s is not waiting for departure.", flightId, airline));
+        } catch (Exception e) {
+            logger.error("An unknown error has occurred.");
         }
+    }
 
-        long assignedFlightsCount = 0;
-        lines.remove(0);
-        for (String currentLine : lines) {
-            String[] flightData = currentLine.split(";");
+    /*
+     * Si el servidor rechaza la solicitud por sobrecarga se reintenta, esperando lo que indica el servidor duplicado
+     * en cada intento y con una parte aleatoria para que los clientes rechazados a la vez no reintenten juntos.
+     * Tambien se reintenta si falla la comunicacion, aunque la solicitud pueda haber llegado: el servidor ignora
+     * las solicitudes repetidas de un vuelo encolado. Los errores del servidor no se reintentan, ni tampoco
+     * FlightAlreadyQueuedException: el vuelo ya espera con otra solicitud y reintentar no lo cambia
+     */
+    private static void requestRunway(final RunwayRequestService service, final String flightId,
+                                      final String destinationAirportId, final String airline,
+                                      final RunwayCategory category)
+            throws RemoteException, InterruptedException, FlightAlreadyQueuedException {
+        for (int attempt = 1; ; attempt++) {
             try {
-                service.requestRunway(
-                        flightData[0],
-                        flightData[1],
-                        flightData[2],
-                        getRunwayCategory(flightData[3])
-                );
-                assignedFlightsCount++;
-            } catch (NoSuchRunwayException e) {
-                logger.error(String.format("Cannot assign Flight %s.", flightData[0]));
-            } catch (Exception e) {
-                logger.error("An unknown error has occurred.");
+                service.requestRunway(flightId, destinationAirportId, airline, category);
+                return;
+            } catch (ServerOverloadedException e) {
+                if (attempt == MAX_ATTEMPTS)
+                    throw e;
+                backoff(e.getRetryAfterMillis(), attempt);
+            } catch (ServerError | ServerException e) {
+                throw e;
+            } catch (RemoteException e) {
+                if (attempt == MAX_ATTEMPTS)
+                    throw e;
+                backoff(COMMUNICATION_RETRY_AFTER_MILLIS, attempt);
             }
         }
+    }
+
+    private static void backoff(final long retryAfterMillis, final int attempt) throws InterruptedException {
+        final long backoff = Math.max(1, retryAfterMillis) << (attempt - 1);
+        Thread.sleep(backoff + ThreadLocalRandom.current().nextLong(backoff));
+    }
+
+    /*
+     * Separa los campos de la linea sin expresiones regulares. Devuelve null si la linea no tiene los campos esperados
+     */
+    private static String[] parseLine(final String line) {
+        final String[] fields = new String[FIELDS];
+        int start = 0;
+        for (int i = 0; i < FIELDS - 1; i++) {
+            final int end = line.indexOf(SEPARATOR, start);
+            if (end < 0)
+                return null;
+            fields[i] = line.substring(start, end);
+            start = end + 1;
+        }
+        final int end = line.indexOf(SEPARATOR, start);
+        fields[FIELDS - 1] = line.substring(start, end < 0 ? line.length() : end);
+        return fields;
+    }
 
-        logger.info(assignedFlightsCount + " flights assigned.");
+    private static void logThroughput(final long processed, final long startNanos) {
+        final double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+        logger.info(String.format("%d requests processed in %.2f s (%.1f requests/s).",
+                processed, elapsedSeconds, elapsedSeconds > 0 ? processed / elapsedSeconds : 0));
     }
 }
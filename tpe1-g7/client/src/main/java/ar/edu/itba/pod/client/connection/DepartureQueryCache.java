@@ -0,0 +1,170 @@
+package ar.edu.itba.pod.client.connection;
+
+import ar.edu.itba.pod.DepartureQueryService;
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DepartureDataList;
+import ar.edu.itba.pod.models.DeparturePage;
+
+import java.rmi.RemoteException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Guarda el resultado de las consultas de todos los despegues, por pista y por aerolinea, junto con el cursor y la
+ * version del historial con que se armo. Al repetir una consulta pide al servidor solo los despegues posteriores al
+ * cursor: si no hay, la respuesta es casi vacia y se devuelve lo guardado, y si hay se agregan al final.
+ * Si el servidor se reinicio o descarto despegues que estan en el resultado guardado, la consulta se pide completa.
+ * Guarda a lo sumo maxEntries consultas, descartando las usadas hace mas tiempo. Se puede usar desde varios threads
+ */
+public class DepartureQueryCache {
+    static final public int DEFAULT_MAX_ENTRIES = 64;
+    static final private String ALL_KEY = "all";
+    static final private String RUNWAY_KEY = "runway:";
+    static final private String AIRLINE_KEY = "airline:";
+
+    @FunctionalInterface
+    private interface PageQuery {
+        DeparturePage since(final long cursor) throws RemoteException;
+    }
+
+    final private DepartureQueryService service;
+    final private Map<String, Entry> entries;
+    final private AtomicLong unchanged = new AtomicLong();
+    final private AtomicLong updated = new AtomicLong();
+    final private AtomicLong loaded = new AtomicLong();
+
+    public DepartureQueryCache(final DepartureQueryService service) {
+        this(service, DEFAULT_MAX_ENTRIES);
+    }
+
+    public DepartureQueryCache(final DepartureQueryService service, final int maxEntries) {
+        if (service == null)
+            throw new IllegalArgumentException("Departure query service MUST NOT be null");
+        if (maxEntries <= 0)
+            throw new IllegalArgumentException("Max entries MUST be positive");
+        this.service = service;
+        this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Entry> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public List<DepartureData> getAllDepartures() throws RemoteException {
+        return get(ALL_KEY, service::getDeparturesSince);
+    }
+
+    public List<DepartureData> getRunwayDepartures(final String runwayName)
+            throws RemoteException, NoSuchRunwayException {
+        if (runwayName == null)
+            throw new IllegalArgumentException("Runway name MUST NOT be null");
+        return get(RUNWAY_KEY + runwayName, cursor -> service.getRunwayDeparturesSince(runwayName, cursor));
+    }
+
+    public List<DepartureData> getAirlineDepartures(final String airline) throws RemoteException {
+        if (airline == null)
+            throw new IllegalArgumentException("Airline MUST NOT be null");
+        return get(AIRLINE_KEY + airline, cursor -> service.getAirlineDeparturesSince(airline, cursor));
+    }
+
+    /*
+     * Consultas repetidas cuyo resultado no cambio
+     */
+    public long getUnchanged() {
+        return unchanged.get();
+    }
+
+    /*
+     * Consultas repetidas a las que solo se les agregaron los despegues nuevos
+     */
+    public long getUpdated() {
+        return updated.get();
+    }
+
+    /*
+     * Consultas que se pidieron completas
+     */
+    public long getLoaded() {
+        return loaded.get();
+    }
+
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private List<DepartureData> get(final String key, final PageQuery query) throws RemoteException {
+        final Entry cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+
+        final Entry fresh;
+        if (cached == null) {
+            fresh = load(query);
+        } else {
+            final DeparturePage page;
+            try {
+                page = query.since(cached.cursor);
+            } catch (NoSuchRunwayException e) {
+                remove(key);
+                throw e;
+            }
+            if (page.getHistoryId() != cached.historyId || page.getFirstCursor() != cached.firstCursor) {
+                fresh = load(query);
+            } else if (page.getDepartures().isEmpty()) {
+                unchanged.incrementAndGet();
+                fresh = new Entry(cached.departures, page);
+            } else {
+                updated.incrementAndGet();
+                final DepartureDataList departures = new DepartureDataList(cached.departures.size()
+                        + page.getDepartures().size());
+                departures.addAll(cached.departures);
+                departures.addAll(page.getDepartures());
+                fresh = new Entry(departures, page);
+            }
+        }
+
+        synchronized (entries) {
+            final Entry current = entries.get(key);
+            if (current == null || current.historyId != fresh.historyId || current.cursor <= fresh.cursor)
+                entries.put(key, fresh);
+        }
+        return Collections.unmodifiableList(fresh.departures);
+    }
+
+    private Entry load(final PageQuery query) throws RemoteException {
+        loaded.incrementAndGet();
+        final DeparturePage page = query.since(0);
+        return new Entry(page.getDepartures(), page);
+    }
+
+    private void remove(final String key) {
+        synchronized (entries) {
+            entries.remove(key);
+        }
+    }
+
+    /*
+     * Resultado de una consulta, que no se modifica una vez guardado
+     */
+    private static class Entry {
+        final private List<DepartureData> departures;
+        final private long cursor;
+        final private long historyId;
+        final private long firstCursor;
+
+        Entry(final List<DepartureData> departures, final DeparturePage page) {
+            this.departures = departures;
+            this.cursor = page.getCursor();
+            this.historyId = page.getHistoryId();
+            this.firstCursor = page.getFirstCursor();
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package ar.edu.itba.pod.client.connection;
+
+import ar.edu.itba.pod.DepartureQueryService;
+import ar.edu.itba.pod.DepartureStatisticsService;
+import ar.edu.itba.pod.FlightTrackingService;
+import ar.edu.itba.pod.ManagementService;
+import ar.edu.itba.pod.RunwayRequestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.MalformedURLException;
+import java.net.UnknownHostException;
+import java.rmi.ConnectException;
+import java.rmi.ConnectIOException;
+import java.rmi.Naming;
+import java.rmi.NoSuchObjectException;
+import java.rmi.NotBoundException;
+import java.rmi.Remote;
+import java.rmi.RemoteException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Conexion a los servicios del servidor. Cada servicio se busca en el registro la primera vez que se usa y el stub
+ * queda guardado para las llamadas siguientes. Los servicios se devuelven envueltos en un proxy que, si la llamada
+ * no llego a ejecutarse en el servidor (no se pudo conectar, o el servidor se reinicio y el stub quedo viejo),
+ * descarta el stub, lo vuelve a buscar y repite la llamada. Las fallas que pudieron ocurrir con la llamada ya
+ * ejecutada no se reintentan, ya que no todas las operaciones se pueden repetir
+ */
+public class ServiceConnection {
+    private static final Logger logger = LoggerFactory.getLogger(ServiceConnection.class);
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RECONNECT_AFTER_MILLIS = 100;
+
+    final private String serverAddress;
+    final private Map<String, Remote> stubs;
+    final private Map<String, Remote> services;
+    final private DepartureQueryCache departureQueryCache;
+
+    public ServiceConnection(final String serverAddress) {
+        this.serverAddress = serverAddress;
+        this.stubs = new ConcurrentHashMap<>();
+        this.services = new ConcurrentHashMap<>();
+        this.departureQueryCache = new DepartureQueryCache(departureQuery());
+    }
+
+    public String getServerAddress() {
+        return serverAddress;
+    }
+
+    public ManagementService management() {
+        return service("management", ManagementService.class);
+    }
+
+    public RunwayRequestService runwayRequests() {
+        return service("runway_request", RunwayRequestService.class);
+    }
+
+    public FlightTrackingService flightTracking() {
+        return service("flight_tracking", FlightTrackingService.class);
+    }
+
+    public DepartureQueryService departureQuery() {
+        return service("departure_query", DepartureQueryService.class);
+    }
+
+    public DepartureStatisticsService departureStatistics() {
+        return service("departure_statistics", DepartureStatisticsService.class);
+    }
+
+    /*
+     * Resultados de las consultas de despegues hechas con esta conexion, que al repetirse solo piden los nuevos
+     */
+    public DepartureQueryCache departureQueryCache() {
+        return departureQueryCache;
+    }
+
+    /*
+     * Descarta todos los stubs guardados, que se vuelven a buscar en la proxima llamada
+     */
+    public void reset() {
+        stubs.clear();
+    }
+
+    private <T extends Remote> T service(final String name, final Class<T> type) {
+        return type.cast(services.computeIfAbsent(name, key -> (Remote) Proxy.newProxyInstance(
+                type.getClassLoader(), new Class<?>[]{type}, new ReconnectingHandler(name))));
+    }
+
+    private Remote stub(final String name) throws RemoteException {
+        final Remote cached = stubs.get(name);
+        if (cached != null)
+            return cached;
+        try {
+            final Remote stub = Naming.lookup("//" + serverAddress + "/" + name);
+            stubs.put(name, stub);
+            return stub;
+        } catch (NotBoundException | MalformedURLException e) {
+            throw new RemoteException("Could not find service " + name + " at " + serverAddress, e);
+        }
+    }
+
+    /*
+     * Excepciones de RMI que garantizan que la llamada no llego a ejecutarse en el servidor
+     */
+    private static boolean isNotExecuted(final Throwable e) {
+        return e instanceof ConnectException || e instanceof ConnectIOException
+                || e instanceof NoSuchObjectException || e instanceof java.rmi.UnknownHostException
+                || e instanceof UnknownHostException;
+    }
+
+    private class ReconnectingHandler implements InvocationHandler {
+        final private String name;
+
+        ReconnectingHandler(final String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "//" + serverAddress + "/" + name;
+                }
+            }
+
+            for (int attempt = 1; ; attempt++) {
+                Remote stub = null;
+                Throwable failure;
+                try {
+                    stub = stub(name);
+                    return method.invoke(stub, args);
+                } catch (InvocationTargetException e) {
+                    failure = e.getCause();
+                } catch (RemoteException e) {
+                    failure = e;
+                }
+
+                if (attempt == MAX_ATTEMPTS || !isNotExecuted(failure))
+                    throw failure;
+                logger.warn("Lost connection to " + name + ", reconnecting: " + failure.getMessage());
+                if (stub != null)
+                    stubs.remove(name, stub);
+                try {
+                    Thread.sleep(RECONNECT_AFTER_MILLIS << (attempt - 1));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw failure;
+                }
+            }
+        }
+    }
+}
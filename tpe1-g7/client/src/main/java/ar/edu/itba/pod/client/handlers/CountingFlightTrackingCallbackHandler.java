@@ -0,0 +1,39 @@
+package ar.edu.itba.pod.client.handlers;
+
+import ar.edu.itba.pod.FlightTrackingCallbackHandler;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Handler compartido por todas las suscripciones del generador de carga: solo cuenta los eventos recibidos
+ * y, a diferencia de LoggerFlightTrackingCallbackHandler, no se desexporta en endProcess
+ */
+public class CountingFlightTrackingCallbackHandler implements FlightTrackingCallbackHandler {
+
+    private final AtomicLong events = new AtomicLong();
+
+    @Override
+    public void onRunwayAssignment(final String flightId, final String destination, final String runway, final long flightsAhead) throws RemoteException {
+        events.incrementAndGet();
+    }
+
+    @Override
+    public void onQueuePositionUpdate(final String flightId, final String destination, final String runway, final long flightsAhead) throws RemoteException {
+        events.incrementAndGet();
+    }
+
+    @Override
+    public void onDeparture(final String flightId, final String destination, final String runway) throws RemoteException {
+        events.incrementAndGet();
+    }
+
+    @Override
+    public void endProcess() throws RemoteException {
+        events.incrementAndGet();
+    }
+
+    public long getEvents() {
+        return events.get();
+    }
+}
@@ -0,0 +1,67 @@
+package ar.edu.itba.pod.client.handlers;
+
+import ar.edu.itba.pod.BatchedTrackingCallbackHandler;
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.util.List;
+
+/*
+ * Imprime los eventos recibidos. Si sigue un unico vuelo, deja de recibir eventos (y el cliente puede terminar)
+ * cuando llega el despegue o la cancelacion de ese vuelo, ya sea entre los eventos recuperados o en uno nuevo
+ */
+public class LoggerBatchedTrackingCallbackHandler implements BatchedTrackingCallbackHandler {
+
+    final private String flightId;
+    private boolean finished;
+
+    public LoggerBatchedTrackingCallbackHandler() {
+        this(null);
+    }
+
+    public LoggerBatchedTrackingCallbackHandler(final String flightId) {
+        this.flightId = flightId;
+    }
+
+    @Override
+    public void onEvents(final List<FlightTrackingEvent> events) throws RemoteException {
+        boolean terminal = false;
+        final StringBuilder builder = new StringBuilder();
+        for (FlightTrackingEvent event : events) {
+            if (event.getFlightId().equals(flightId))
+                terminal |= event.getType() == FlightTrackingEventType.DEPARTURE
+                        || event.getType() == FlightTrackingEventType.CANCELLATION;
+            builder.append(String.format("[%d] ", event.getSequence()));
+            switch (event.getType()) {
+                case RUNWAY_ASSIGNMENT:
+                    builder.append(String.format("Flight %s with destiny %s was assigned to runway %s and there are %d flights waiting ahead.\n",
+                            event.getFlightId(), event.getDestination(), event.getRunway(), event.getFlightsAhead()));
+                    break;
+                case QUEUE_POSITION_UPDATE:
+                    builder.append(String.format("A flight departed from runway %s. Flight %s with destiny %s has %d flights waiting ahead.\n",
+                            event.getRunway(), event.getFlightId(), event.getDestination(), event.getFlightsAhead()));
+                    break;
+                case DEPARTURE:
+                    builder.append(String.format("Flight %s with destiny %s departed on runway %s.\n",
+                            event.getFlightId(), event.getDestination(), event.getRunway()));
+                    break;
+                case CANCELLATION:
+                    builder.append(String.format("Flight %s with destiny %s cancelled its request for runway %s.\n",
+                            event.getFlightId(), event.getDestination(), event.getRunway()));
+                    break;
+            }
+        }
+        System.out.print(builder);
+        if (terminal)
+            finish();
+    }
+
+    private synchronized void finish() throws RemoteException {
+        if (finished)
+            return;
+        finished = true;
+        UnicastRemoteObject.unexportObject(this, true);
+    }
+}
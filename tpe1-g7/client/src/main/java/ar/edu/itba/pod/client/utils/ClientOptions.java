@@ -0,0 +1,37 @@
+package ar.edu.itba.pod.client.utils;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * Opciones de un cliente: las propiedades del sistema (-Dclave=valor) al correrlo solo, o las de cada comando
+ * al correrlo desde ClientShell
+ */
+public class ClientOptions {
+
+    final private Function<String, String> lookup;
+
+    private ClientOptions(final Function<String, String> lookup) {
+        this.lookup = lookup;
+    }
+
+    public static ClientOptions fromSystemProperties() {
+        return new ClientOptions(System::getProperty);
+    }
+
+    public static ClientOptions of(final Map<String, String> options) {
+        final Map<String, String> copy = Collections.unmodifiableMap(new HashMap<>(options));
+        return new ClientOptions(copy::get);
+    }
+
+    public String get(final String name) {
+        return lookup.apply(name);
+    }
+
+    public String get(final String name, final String defaultValue) {
+        final String value = lookup.apply(name);
+        return value == null ? defaultValue : value;
+    }
+}
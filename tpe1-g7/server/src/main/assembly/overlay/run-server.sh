@@ -1,4 +1,3 @@
 #!/bin/bash
 
-java  -cp 'lib/jars/*' "ar.edu.itba.pod.server.Server" $*
-
+java "$@" -cp 'lib/jars/*' "ar.edu.itba.pod.server.Server"
@@ -0,0 +1,70 @@
+package ar.edu.itba.pod.server;
+
+import ar.edu.itba.pod.server.metrics.OperationMetrics;
+import ar.edu.itba.pod.server.recording.CommandReader;
+import ar.edu.itba.pod.server.recording.CommandReplayer;
+import ar.edu.itba.pod.server.recording.CommandType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+
+/*
+ * Reproduce sobre un Servant nuevo, sin RMI, una grabacion hecha con -Drecord y loguea los tiempos de cada operacion.
+ * El Servant se configura con las mismas propiedades que el servidor (-Dengine, -DmaxRunwayRequests, -DconfigPath, etc.)
+ */
+public class ReplayTool {
+    private static final Logger logger = LoggerFactory.getLogger(ReplayTool.class);
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    public static void main(String[] args) {
+        final String inPath = System.getProperty("inPath");
+        final String speedStr = System.getProperty("speed", "1");
+
+        if (inPath == null) {
+            logger.error("No recording specified. Please specify it with -DinPath=file");
+            return;
+        }
+
+        final double speed;
+        try {
+            speed = Double.parseDouble(speedStr);
+            if (speed < 0 || Double.isNaN(speed) || Double.isInfinite(speed))
+                throw new NumberFormatException();
+        } catch (NumberFormatException e) {
+            logger.error("Invalid speed. Please specify a non negative number with -Dspeed=x (0 to replay without waiting)");
+            return;
+        }
+
+        final ExecutorService executor = Server.createCallbackExecutor();
+        final Servant servant = new Servant(executor, Server.createHistory(), Server.createAdmissionController(),
+                Server.createEngine(), Server.createAssignmentStrategy());
+        Server.preload(servant);
+        try (CommandReader reader = new CommandReader(Paths.get(inPath))) {
+            logger.info("Replaying the recording started at " + reader.getStartedAt() + " with speed " + speed + ".");
+            report(new CommandReplayer(servant, speed).replay(reader));
+        } catch (IOException | InvalidPathException e) {
+            logger.error("Could not read the recording: " + e.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void report(final CommandReplayer.Report report) {
+        final StringBuilder out = new StringBuilder(String.format("Replayed %d operations in %.2fs:",
+                report.getCommands(), report.getElapsedNanos() / (NANOS_PER_MILLI * 1000)));
+        for (Map.Entry<CommandType, OperationMetrics> entry : report.getServiceTimes().entrySet()) {
+            final OperationMetrics service = entry.getValue();
+            final OperationMetrics response = report.getResponseTimes().get(entry.getKey());
+            out.append(String.format("%n  %-22s count=%d failures=%d service p50=%.2fms p99=%.2fms max=%.2fms response p50=%.2fms p99=%.2fms max=%.2fms",
+                    entry.getKey(), service.getCount(), service.getFailures(), service.getP50Millis(),
+                    service.getP99Millis(), service.getMaxMillis(), response.getP50Millis(), response.getP99Millis(),
+                    response.getMaxMillis()));
+        }
+        logger.info(out.toString());
+    }
+}
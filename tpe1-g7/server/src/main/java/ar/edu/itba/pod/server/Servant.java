@@ -1,401 +1,834 @@
 package ar.edu.itba.pod.server;
 
 import ar.edu.itba.pod.*;
+import ar.edu.itba.pod.exceptions.FlightAlreadyQueuedException;
 import ar.edu.itba.pod.exceptions.NoSuchFlightException;
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
 import ar.edu.itba.pod.exceptions.RunwayAlreadyExistsException;
+import ar.edu.itba.pod.exceptions.ServerOverloadedException;
 import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DeparturePage;
+import ar.edu.itba.pod.models.DepartureStatistics;
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+import ar.edu.itba.pod.models.Histogram;
 import ar.edu.itba.pod.models.ReassignmentLog;
 import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.admission.AdmissionController;
+import ar.edu.itba.pod.server.assignment.RunwayAssignmentStrategy;
+import ar.edu.itba.pod.server.assignment.ShortestQueueStrategy;
+import ar.edu.itba.pod.server.config.AirportConfig;
+import ar.edu.itba.pod.server.engine.LockingEngine;
+import ar.edu.itba.pod.server.engine.ServantEngine;
+import ar.edu.itba.pod.server.export.CsvDepartureExportChannel;
+import ar.edu.itba.pod.server.history.DepartureHistory;
+import ar.edu.itba.pod.server.metrics.ServantMetrics;
+import ar.edu.itba.pod.server.metrics.ServantOperation;
 import ar.edu.itba.pod.server.models.Flight;
 import ar.edu.itba.pod.server.models.Runway;
+import ar.edu.itba.pod.server.models.RunwayIndex;
+import ar.edu.itba.pod.server.statistics.DepartureStatisticsAggregator;
+import ar.edu.itba.pod.server.tracking.FlightEventLog;
+import ar.edu.itba.pod.server.tracking.FlightEventLogs;
+import ar.edu.itba.pod.server.tracking.Subscriber;
+import ar.edu.itba.pod.server.tracking.SubscriberRegistry;
+import ar.edu.itba.pod.server.tracking.TrackingEventBatch;
+import ar.edu.itba.pod.server.tracking.TrackingScope;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.rmi.Remote;
 import java.rmi.RemoteException;
-import java.rmi.ServerError;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 
-public class Servant implements ManagementService, DepartureQueryService, FlightTrackingService, RunwayRequestService {
+public class Servant implements ManagementService, DepartureQueryService, DepartureStatisticsService,
+        FlightTrackingService, RunwayRequestService {
     private static final Logger logger = LoggerFactory.getLogger(Servant.class);
 
-    final private Map<String, Runway> runwayMap;
-    final private Map<String, List<FlightTrackingCallbackHandler>> callbackHandlers;
+    final private RunwayIndex runways;
+    final private Map<String, Flight> queuedFlights;
+    final private DepartureHistory history;
+    final private DepartureStatisticsAggregator statistics;
+    final private SubscriberRegistry subscribers;
+    final private FlightEventLogs eventLogs;
     final private ExecutorService executor;
-    final private ReadWriteLock runwayLock;
-    final private ReadWriteLock handlersLock;
+    final private ServantEngine engine;
+    final private RunwayAssignmentStrategy assignment;
+    final private AdmissionController admission;
+    final private ServantMetrics metrics;
+
+    @FunctionalInterface
+    private interface Callback<H extends Remote> {
+        void call(final H handler) throws RemoteException;
+    }
 
-    static final private long LOCK_TIMEOUT = 5L;
-    static final private TimeUnit LOCK_TIME_UNIT = TimeUnit.SECONDS;
-    static final private int LOCK_RETRIES = 6;
+    /*
+     * Posicion de un vuelo al suscribirse, junto con el ultimo de sus eventos que ya refleja
+     */
+    private static class Assignment {
+        final private Flight flight;
+        final private String runwayName;
+        final private long flightsAhead;
+        final private long lastSequence;
+
+        Assignment(final Flight flight, final long flightsAhead, final long lastSequence) {
+            this.flight = flight;
+            this.runwayName = flight.getRunwayName();
+            this.flightsAhead = flightsAhead;
+            this.lastSequence = lastSequence;
+        }
+    }
 
     public Servant() {
-        runwayMap = new HashMap<>();
-        callbackHandlers = new HashMap<>();
-        executor = Executors.newCachedThreadPool();
-        runwayLock = new ReentrantReadWriteLock(true);
-        handlersLock = new ReentrantReadWriteLock(true);
+        this(Executors.newCachedThreadPool());
     }
 
-    private <V> V tryLockWithTimeout(final Callable<V> callable, final Lock lock)
-            throws RemoteException, RunwayAlreadyExistsException {
-        try {
-            for (int i = 0; i < LOCK_RETRIES; ++i) {
-                if (lock.tryLock(LOCK_TIMEOUT, LOCK_TIME_UNIT)) {
-                    return callable.call();
+    public Servant(final ExecutorService executor) {
+        this(executor, new DepartureHistory());
+    }
+
+    public Servant(final ExecutorService executor, final DepartureHistory history) {
+        this(executor, history, new AdmissionController());
+    }
+
+    public Servant(final ExecutorService executor, final DepartureHistory history, final AdmissionController admission) {
+        this(executor, history, admission, new LockingEngine());
+    }
+
+    public Servant(final ExecutorService executor, final DepartureHistory history, final AdmissionController admission,
+                   final ServantEngine engine) {
+        this(executor, history, admission, engine, new ShortestQueueStrategy());
+    }
+
+    /*
+     * El executor es donde se envian los callbacks a los clientes, history donde se guardan los despegues,
+     * admission quien limita las solicitudes de pista en curso, engine quien ejecuta las operaciones sobre las pistas
+     * y assignment quien elige la pista de cada vuelo
+     */
+    public Servant(final ExecutorService executor, final DepartureHistory history, final AdmissionController admission,
+                   final ServantEngine engine, final RunwayAssignmentStrategy assignment) {
+        runways = new RunwayIndex();
+        queuedFlights = new HashMap<>();
+        this.history = history;
+        statistics = new DepartureStatisticsAggregator();
+        subscribers = new SubscriberRegistry();
+        eventLogs = new FlightEventLogs();
+        this.executor = executor;
+        this.engine = engine;
+        this.assignment = assignment;
+        this.admission = admission;
+        metrics = new ServantMetrics(this::getRunwayQueueLengths, subscribers, admission);
+    }
+
+    public ServantMetrics getMetrics() {
+        return metrics;
+    }
+
+    /*
+     * Agrega de una vez las pistas y encola los vuelos de la configuracion, en una sola operacion del engine en vez
+     * de una llamada por pista y por vuelo. Valida todo contra el estado actual antes de modificarlo, por lo que si
+     * falla no carga nada. Como requestRunway, guarda la asignacion de cada vuelo en su log de eventos, por lo que
+     * los vuelos cargados se pueden seguir con subscribeFrom desde el principio
+     */
+    public void preload(final AirportConfig config) throws RemoteException, NoSuchRunwayException {
+        if (config == null)
+            throw new IllegalArgumentException("Airport configuration MUST NOT be null");
+
+        final TrackingEventBatch batch = new TrackingEventBatch(subscribers, eventLogs);
+        engine.write(() -> {
+            RunwayCategory maxOpenCategory = null;
+            for (Runway runway : runways.values()) {
+                if (runway.isOpen() && (maxOpenCategory == null || runway.getCategory().compareTo(maxOpenCategory) > 0))
+                    maxOpenCategory = runway.getCategory();
+            }
+            for (AirportConfig.RunwaySpec spec : config.getRunways()) {
+                if (runways.contains(spec.getName()))
+                    throw new IllegalStateException("Runway " + spec.getName() + " already exists");
+                if (spec.isOpen() && (maxOpenCategory == null || spec.getCategory().compareTo(maxOpenCategory) > 0))
+                    maxOpenCategory = spec.getCategory();
+            }
+            for (AirportConfig.FlightSpec spec : config.getFlights()) {
+                if (queuedFlights.containsKey(spec.getId()))
+                    throw new IllegalStateException("Flight " + spec.getId() + " is already queued");
+                if (spec.getRunwayName() == null) {
+                    if (maxOpenCategory == null || maxOpenCategory.compareTo(spec.getCategory()) < 0)
+                        throw new NoSuchRunwayException();
+                } else if (config.getRunway(spec.getRunwayName()) == null) {
+                    final Runway runway = Optional.ofNullable(runways.get(spec.getRunwayName()))
+                            .orElseThrow(NoSuchRunwayException::new);
+                    if (runway.getCategory().compareTo(spec.getCategory()) < 0)
+                        throw new IllegalStateException("Runway " + runway.getName() + " does not admit flight "
+                                + spec.getId() + " of category " + spec.getCategory());
                 }
             }
-        } catch (RemoteException | RunwayAlreadyExistsException | NoSuchRunwayException |
-                NoSuchFlightException | IllegalStateException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new ServerError("Unknown error", new Error(e));
-        } finally {
-            lock.unlock();
+
+            for (AirportConfig.RunwaySpec spec : config.getRunways()) {
+                final Runway runway = new Runway(spec.getName(), spec.getCategory());
+                runway.setOpen(spec.isOpen());
+                runways.add(runway);
+            }
+            /* Las pistas abiertas no cambian durante la carga, por lo que las candidatas se calculan una vez por categoria */
+            final Map<RunwayCategory, List<Runway>> candidates = new EnumMap<>(RunwayCategory.class);
+            for (AirportConfig.FlightSpec spec : config.getFlights()) {
+                final Flight flight = new Flight(spec.getId(), spec.getDestinationAirportId(), spec.getAirline(),
+                        spec.getCategory());
+                final Runway runway = spec.getRunwayName() != null ? runways.get(spec.getRunwayName())
+                        : assignment.select(flight, candidates.computeIfAbsent(flight.getCategory(), runways::candidates))
+                        .orElseThrow(NoSuchRunwayException::new);
+                runway.addToQueue(flight);
+                flight.setRunwayName(runway.getName());
+                queuedFlights.put(flight.getId(), flight);
+                batch.add(flight.getAirline(), FlightTrackingEventType.RUNWAY_ASSIGNMENT, flight.getId(),
+                        flight.getDestinationAirportId(), runway.getName(), runway.getDepartureQueueSize() - 1);
+            }
+            return null;
+        });
+        publish(batch);
+    }
+
+    /*
+     * Envia un callback a un suscriptor desde el pool, registrando en las metricas su duracion y si fallo.
+     * Los suscriptores desalojados por fallas repetidas se ignoran
+     */
+    private <H extends Remote> void dispatchCallback(final Subscriber<H> subscriber, final Callback<H> callback) {
+        if (subscriber.isEvicted())
+            return;
+        metrics.callbackSubmitted();
+        executor.submit(() -> {
+            final long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                if (!subscriber.isEvicted()) {
+                    callback.call(subscriber.getHandler());
+                    subscribers.recordSuccess(subscriber);
+                }
+                failed = false;
+            } catch (RemoteException e) {
+                logger.error("An unknown error has occurred.");
+                logger.error(Arrays.toString(e.getStackTrace()));
+                subscribers.recordFailure(subscriber);
+            } finally {
+                metrics.callbackCompleted(System.nanoTime() - start, failed);
+            }
+        });
+    }
+
+    /*
+     * Envia a cada suscriptor de un vuelo, aerolinea o pista los eventos de sus vuelos en un unico callback,
+     * y luego quita los suscriptores de los vuelos que dejaron de estar en espera
+     */
+    private void publish(final TrackingEventBatch batch) {
+        for (TrackingScope scope : TrackingScope.values()) {
+            for (Map.Entry<String, List<FlightTrackingEvent>> entry : batch.getEvents(scope).entrySet()) {
+                final List<FlightTrackingEvent> events = entry.getValue();
+                subscribers.getSubscribers(scope, entry.getKey())
+                        .forEach(subscriber -> dispatchCallback(subscriber, handler -> handler.onEvents(events)));
+            }
         }
-        throw new ServerError("Exceeded lock retries", new Error(new IllegalMonitorStateException()));
+        batch.getRetiredFlights().forEach(flightId -> subscribers.removeSubscribers(TrackingScope.FLIGHT, flightId));
+    }
+
+    private Map<String, Long> getRunwayQueueLengths() throws RemoteException {
+        return engine.read(() -> runways.values().stream()
+                        .collect(Collectors.toMap(Runway::getName, Runway::getDepartureQueueSize)));
     }
 
     @Override
     public void addRunway(final String name, final RunwayCategory category)
             throws RemoteException, RunwayAlreadyExistsException {
-        if (name == null || category == null)
-            throw new IllegalArgumentException("Runway name and Runway category MUST NOT be null");
-
-        tryLockWithTimeout(
-                () -> {
-                    if (runwayMap.containsKey(name))
-                        throw new RunwayAlreadyExistsException();
-                    runwayMap.put(name, new Runway(name, category));
-                    return null;
-                },
-                runwayLock.writeLock()
-        );
+        metrics.measure(ServantOperation.ADD_RUNWAY, () -> {
+            if (name == null || category == null)
+                throw new IllegalArgumentException("Runway name and Runway category MUST NOT be null");
+
+            return engine.write(
+                    () -> {
+                        if (!runways.add(new Runway(name, category)))
+                            throw new RunwayAlreadyExistsException();
+                        return null;
+                    }
+            );
+        });
     }
 
     @Override
     public boolean isRunwayOpen(final String runwayName)
             throws RemoteException, NoSuchRunwayException {
-        if (runwayName == null)
-            throw new IllegalArgumentException("Runway name MUST NOT be null");
-
-        return tryLockWithTimeout(
-                () -> Optional.ofNullable(runwayMap.get(runwayName))
-                        .map(Runway::isOpen).orElseThrow(NoSuchRunwayException::new),
-                runwayLock.readLock()
-        );
+        return metrics.measure(ServantOperation.IS_RUNWAY_OPEN, () -> {
+            if (runwayName == null)
+                throw new IllegalArgumentException("Runway name MUST NOT be null");
+
+            return engine.read(
+                    () -> Optional.ofNullable(runways.get(runwayName))
+                            .map(Runway::isOpen).orElseThrow(NoSuchRunwayException::new)
+            );
+        });
     }
 
     @Override
     public void openRunway(final String runwayName)
             throws RemoteException, NoSuchRunwayException {
-        if (runwayName == null)
-            throw new IllegalArgumentException("Runway name MUST NOT be null");
-
-        tryLockWithTimeout(
-                () -> {
-                    final Runway runway = Optional.ofNullable(runwayMap.get(runwayName))
-                            .orElseThrow(NoSuchRunwayException::new);
-                    if (runway.isOpen())
-                        throw new IllegalStateException("Runway is already open");
-                    runway.setOpen(true);
-                    return null;
-                },
-                runwayLock.writeLock()
-        );
+        metrics.measure(ServantOperation.OPEN_RUNWAY, () -> {
+            if (runwayName == null)
+                throw new IllegalArgumentException("Runway name MUST NOT be null");
+
+            return engine.write(
+                    () -> {
+                        final Runway runway = Optional.ofNullable(runways.get(runwayName))
+                                .orElseThrow(NoSuchRunwayException::new);
+                        if (runway.isOpen())
+                            throw new IllegalStateException("Runway is already open");
+                        runway.setOpen(true);
+                        return null;
+                    }
+            );
+        });
     }
 
     @Override
     public void closeRunway(final String runwayName)
             throws RemoteException, NoSuchRunwayException {
-        if (runwayName == null)
-            throw new IllegalArgumentException("Runway name MUST NOT be null");
-
-        tryLockWithTimeout(
-                () -> {
-                    final Runway runway = Optional.ofNullable(runwayMap.get(runwayName))
-                            .orElseThrow(NoSuchRunwayException::new);
-                    if (!runway.isOpen())
-                        throw new IllegalStateException("Runway is already closed");
-                    runway.setOpen(false);
-                    return null;
-                },
-                runwayLock.writeLock()
-        );
+        metrics.measure(ServantOperation.CLOSE_RUNWAY, () -> {
+            if (runwayName == null)
+                throw new IllegalArgumentException("Runway name MUST NOT be null");
+
+            return engine.write(
+                    () -> {
+                        final Runway runway = Optional.ofNullable(runways.get(runwayName))
+                                .orElseThrow(NoSuchRunwayException::new);
+                        if (!runway.isOpen())
+                            throw new IllegalStateException("Runway is already closed");
+                        runway.setOpen(false);
+                        return null;
+                    }
+            );
+        });
     }
 
     @Override
     public void issueDeparture() throws RemoteException {
-        tryLockWithTimeout(() -> {
-            for (Runway runway : runwayMap.values()) {
+        metrics.measure(ServantOperation.ISSUE_DEPARTURE, () -> engine.write(() -> {
+            final TrackingEventBatch batch = new TrackingEventBatch(subscribers, eventLogs);
+            for (Runway runway : runways.values()) {
                 if (runway.isOpen() && !runway.isQueueEmpty()) {
                     Flight departureFlight = runway.pollFromQueue();
-                    departureFlight.setDepartedOn(LocalDateTime.now());
-
-                    tryLockWithTimeout(() -> {
-                        Optional.ofNullable(callbackHandlers.get(departureFlight.getId()))
-                                .ifPresent(handlers -> {
-                                    handlers.forEach(handler -> executor.submit(() ->
-                                    {
-                                        try {
-                                            handler.onDeparture(
-                                                    departureFlight.getId(),
-                                                    departureFlight.getDestinationAirportId(),
-                                                    runway.getName());
-                                            handler.endProcess();
-                                        } catch (RemoteException e) {
-                                            logger.error("An unknown error has occurred.");
-                                            logger.error(Arrays.toString(e.getStackTrace()));
-                                        }
-                                    }));
-                                    callbackHandlers.remove(departureFlight.getId());
-                                });
+                    queuedFlights.remove(departureFlight.getId());
+                    departureFlight.setDepartedOn(history.nextDepartedOn());
+                    batch.add(departureFlight.getAirline(), FlightTrackingEventType.DEPARTURE, departureFlight.getId(),
+                            departureFlight.getDestinationAirportId(), runway.getName(), 0);
+                    batch.retire(departureFlight.getId());
+
+                    subscribers.removeFlight(departureFlight.getId())
+                            .forEach(subscriber -> dispatchCallback(subscriber, handler -> {
+                                handler.onDeparture(
+                                        departureFlight.getId(),
+                                        departureFlight.getDestinationAirportId(),
+                                        runway.getName());
+                                handler.endProcess();
+                            }));
+
+                    final DepartureData departure = new DepartureData(departureFlight.getFlightsBeforeDeparture(),
+                            runway.getName(),
+                            departureFlight.getId(),
+                            departureFlight.getDestinationAirportId(),
+                            departureFlight.getAirline(),
+                            departureFlight.getDepartedOn());
+                    history.add(departure);
+                    statistics.record(departure);
+
+                    runway.getDepartureQueue().forEach(Flight::incrementFlightsBeforeDeparture);
+                    notifyQueuePositions(runway, 0, runway.getDepartureQueue().size(), batch);
+                }
+            }
+            publish(batch);
+            return null;
+        }));
+    }
+
+    @Override
+    public ReassignmentLog rearrangeDepartures() throws RemoteException {
+        return metrics.measure(ServantOperation.REARRANGE_DEPARTURES, () -> {
+            final List<Flight> flights = new ArrayList<>();
+
+            /* Hasta que se vuelven a encolar, cancelar o priorizar los vuelos se resuelve en requestRunway */
+            engine.write(() -> {
+                        runways.values().forEach(runway -> {
+                            flights.addAll(new ArrayList<>(runway.getDepartureQueue()));
+                            runway.clearQueue();
+                        });
+                        flights.forEach(flight -> flight.setRearranging(true));
                         return null;
-                    }, handlersLock.writeLock());
-
-                    runway.addToHistory(departureFlight);
-
-                    for (Flight flight : runway.getDepartureQueue()) {
-                        flight.incrementFlightsBeforeDeparture();
-                        tryLockWithTimeout(() -> {
-                            Optional.ofNullable(callbackHandlers.get(flight.getId()))
-                                    .ifPresent(handlers -> handlers
-                                            .forEach(handler -> executor.submit(() -> {
-                                                try {
-                                                    handler.onQueuePositionUpdate(
-                                                            flight.getId(),
-                                                            flight.getDestinationAirportId(),
-                                                            runway.getName(),
-                                                            runway.getFlightsAhead(flight.getId()));
-                                                } catch (RemoteException e) {
-                                                    logger.error("An unknown error has occurred.");
-                                                    logger.error(Arrays.toString(e.getStackTrace()));
-                                                }
-                                            })));
-                            return null;
-                        }, handlersLock.readLock());
                     }
-
+            );
+
+            long assignedCount = 0;
+            final List<String> failed = new ArrayList<>();
+            final TrackingEventBatch batch = new TrackingEventBatch(subscribers, eventLogs);
+            for (Flight flight : flights) {
+                try {
+                    if (requestRunway(flight, batch))
+                        assignedCount++;
+                } catch (NoSuchRunwayException noSuchRunwayException) {
+                    subscribers.removeFlight(flight.getId())
+                            .forEach(subscriber -> dispatchCallback(subscriber, FlightTrackingCallbackHandler::endProcess));
+                    batch.retire(flight.getId());
+                    failed.add(flight.getId());
                 }
             }
+            publish(batch);
+            return new ReassignmentLog(assignedCount, failed);
+        });
+    }
+
+    @Override
+    public void prioritizeFlight(final String flightId) throws RemoteException, NoSuchFlightException {
+        metrics.measure(ServantOperation.PRIORITIZE_FLIGHT, () -> {
+            if (flightId == null)
+                throw new IllegalArgumentException("Flight ID MUST NOT be null");
+
+            final TrackingEventBatch batch = new TrackingEventBatch(subscribers, eventLogs);
+            engine.write(() -> {
+                final Flight flight = Optional.ofNullable(queuedFlights.get(flightId))
+                        .orElseThrow(NoSuchFlightException::new);
+                /* Si se esta reordenando, pasa al principio de la cola en la que se vuelva a encolar */
+                if (flight.isRearranging()) {
+                    flight.setPrioritized(true);
+                    return null;
+                }
+                final Runway runway = runways.get(flight.getRunwayName());
+                final long flightsAhead = runway.moveToFront(flightId);
+                notifyQueuePositions(runway, 0, (int) flightsAhead + 1, batch);
+                return null;
+            });
+            publish(batch);
             return null;
-        }, runwayLock.writeLock());
+        });
     }
 
     @Override
-    public ReassignmentLog rearrangeDepartures() throws RemoteException {
-        final List<Flight> flights = new ArrayList<>();
+    public Histogram getRunwayWaitTimes(final String runwayName) throws RemoteException, NoSuchRunwayException {
+        return metrics.measure(ServantOperation.GET_RUNWAY_WAIT_TIMES, () -> {
+            if (runwayName == null)
+                throw new IllegalArgumentException("Runway name MUST NOT be null");
+
+            return engine.read(
+                    () -> Optional.ofNullable(runways.get(runwayName))
+                            .map(runway -> runway.getWaitTimeMillis().copy()).orElseThrow(NoSuchRunwayException::new)
+            );
+        });
+    }
 
-        tryLockWithTimeout(() -> {
-                    runwayMap.values().forEach(runway -> {
-                        flights.addAll(new ArrayList<>(runway.getDepartureQueue()));
-                        runway.clearQueue();
+    @Override
+    public Map<String, Histogram> getWaitTimes() throws RemoteException {
+        return metrics.measure(ServantOperation.GET_WAIT_TIMES, () -> engine.read(
+                () -> runways.values().stream()
+                        .collect(Collectors.toMap(Runway::getName, runway -> runway.getWaitTimeMillis().copy()))
+        ));
+    }
+
+    @Override
+    public void subscribe(final String flightId, final String airlineName, final FlightTrackingCallbackHandler handler)
+            throws RemoteException, NoSuchFlightException {
+        metrics.measure(ServantOperation.SUBSCRIBE, () -> {
+            if (flightId == null || airlineName == null || handler == null)
+                throw new IllegalArgumentException("Runway name, airline name and handler MUST NOT be null");
+
+            /*
+             * La asignacion se envia fuera del engine, para que un cliente lento no demore al resto de las operaciones,
+             * y antes de registrar al suscriptor, para que ningun evento posterior le llegue antes. Al registrarlo se le
+             * envian los eventos del vuelo que ocurrieron mientras tanto
+             */
+            final Assignment assignment = engine.read(() -> {
+                        final Flight flight = Optional.ofNullable(queuedFlights.get(flightId))
+                                .filter(f -> f.getAirline().equals(airlineName))
+                                .orElseThrow(NoSuchFlightException::new);
+                        /* Si se esta reordenando, la asignacion le llega al volver a encolarlo */
+                        if (flight.isRearranging()) {
+                            subscribers.register(flightId, handler);
+                            return null;
+                        }
+                        return new Assignment(flight, runways.get(flight.getRunwayName()).getFlightsAhead(flightId),
+                                eventLogs.get(flightId).getLastSequence());
                     });
-                    return null;
-                }, runwayLock.writeLock()
-        );
+            if (assignment == null)
+                return null;
+            handler.onRunwayAssignment(assignment.flight.getId(), assignment.flight.getDestinationAirportId(),
+                    assignment.runwayName, assignment.flightsAhead);
+
+            final Callback<FlightTrackingCallbackHandler> catchUp = engine.read(() -> {
+                        final List<FlightTrackingEvent> missed = eventLogs.get(flightId)
+                                .getEventsAfter(assignment.lastSequence);
+                        if (queuedFlights.get(flightId) != assignment.flight)
+                            return h -> replay(h, missed, true);
+                        final Subscriber<FlightTrackingCallbackHandler> subscriber = subscribers.register(flightId, handler);
+                        if (!missed.isEmpty())
+                            dispatchCallback(subscriber, h -> replay(h, missed, false));
+                        return null;
+                    });
+            /* Si el vuelo ya no esta en espera no se registra, y se le envia lo que falta en este thread */
+            if (catchUp != null)
+                catchUp.call(handler);
+            return null;
+        });
+    }
 
-        long assignedCount = 0;
-        final List<String> failed = new ArrayList<>();
-        for (Flight flight : flights) {
-            try {
-                requestRunway(flight);
-                assignedCount++;
-            } catch (NoSuchRunwayException noSuchRunwayException) {
-                tryLockWithTimeout(() -> {
-                    Optional.ofNullable(callbackHandlers.get(flight.getId())).ifPresent((handlers) ->
-                            handlers.forEach(handler -> executor.submit(() -> {
-                                try {
-                                    handler.endProcess();
-                                } catch (RemoteException e) {
-                                    logger.error("An unknown error has occurred.");
-                                    logger.error(Arrays.toString(e.getStackTrace()));
-                                }
-                            })));
-                    callbackHandlers.remove(flight.getId());
-                    return null;
-                }, handlersLock.writeLock());
-                failed.add(flight.getId());
+    /*
+     * Envia a un suscriptor de un vuelo los eventos que se perdio, y si el vuelo ya no esta en espera, el fin
+     */
+    private static void replay(final FlightTrackingCallbackHandler handler, final List<FlightTrackingEvent> events,
+                               final boolean retired) throws RemoteException {
+        for (FlightTrackingEvent event : events) {
+            switch (event.getType()) {
+                case RUNWAY_ASSIGNMENT:
+                    handler.onRunwayAssignment(event.getFlightId(), event.getDestination(), event.getRunway(),
+                            event.getFlightsAhead());
+                    break;
+                case QUEUE_POSITION_UPDATE:
+                    handler.onQueuePositionUpdate(event.getFlightId(), event.getDestination(), event.getRunway(),
+                            event.getFlightsAhead());
+                    break;
+                case DEPARTURE:
+                    handler.onDeparture(event.getFlightId(), event.getDestination(), event.getRunway());
+                    break;
+                default:
+                    break;
             }
         }
-        return new ReassignmentLog(assignedCount, failed);
+        if (retired)
+            handler.endProcess();
     }
 
     @Override
-    public void subscribe(final String flightId, final String airlineName, final FlightTrackingCallbackHandler handler)
-            throws RemoteException, NoSuchFlightException {
+    public void subscribeFrom(final String flightId, final String airlineName, final long afterSequence,
+                              final BatchedTrackingCallbackHandler handler) throws RemoteException, NoSuchFlightException {
+        metrics.measure(ServantOperation.SUBSCRIBE_FROM, () -> {
+            if (flightId == null || airlineName == null || handler == null)
+                throw new IllegalArgumentException("Flight ID, airline name and handler MUST NOT be null");
+
+            final List<FlightTrackingEvent> missed = engine.read(() -> {
+                        final FlightEventLog log = Optional.ofNullable(eventLogs.get(flightId))
+                                .filter(l -> l.getAirline().equals(airlineName))
+                                .orElseThrow(NoSuchFlightException::new);
+                        if (eventLogs.isActive(flightId))
+                            subscribers.register(TrackingScope.FLIGHT, flightId, handler);
+                        return log.getEventsAfter(afterSequence);
+                    });
+            /* Igual que en subscribe, los eventos perdidos se envian fuera del engine */
+            if (!missed.isEmpty())
+                handler.onEvents(missed);
+            return null;
+        });
+    }
 
-        if (flightId == null || airlineName == null || handler == null)
-            throw new IllegalArgumentException("Runway name, airline name and handler MUST NOT be null");
-
-        tryLockWithTimeout(() -> {
-                    final RunwayAssignmentCallbackParameters callbackParams = new RunwayAssignmentCallbackParameters();
-                    runwayMap.values().stream()
-                            .filter(r -> r.getDepartureQueue().stream().anyMatch(f -> {
-                                if (f.getId().equals(flightId) && f.getAirline().equals(airlineName)) {
-                                    callbackParams.setFlightId(f.getId());
-                                    callbackParams.setDestinationAirportId(f.getDestinationAirportId());
-                                    callbackParams.setRunwayName(r.getName());
-                                    callbackParams.setFlightsAhead(r.getFlightsAhead(f.getId()));
-                                    return true;
-                                }
-                                return false;
-                            })).findFirst().orElseThrow(NoSuchFlightException::new);
-
-                    tryLockWithTimeout(() -> {
-                        final List<FlightTrackingCallbackHandler> handlers = callbackHandlers
-                                .computeIfAbsent(flightId, k -> new LinkedList<>());
-                        handlers.add(handler);
-                        handler.onRunwayAssignment(
-                                callbackParams.getFlightId(),
-                                callbackParams.getDestinationAirportId(),
-                                callbackParams.getRunwayName(),
-                                callbackParams.getFlightsAhead());
-                        return null;
-                    }, handlersLock.writeLock());
+    @Override
+    public void subscribeAirline(final String airlineName, final BatchedTrackingCallbackHandler handler)
+            throws RemoteException {
+        metrics.measure(ServantOperation.SUBSCRIBE_AIRLINE, () -> {
+            if (airlineName == null || handler == null)
+                throw new IllegalArgumentException("Airline name and handler MUST NOT be null");
 
-                    return null;
-                },
-                runwayLock.readLock());
+            subscribers.register(TrackingScope.AIRLINE, airlineName, handler);
+            return null;
+        });
+    }
+
+    @Override
+    public void subscribeRunway(final String runwayName, final BatchedTrackingCallbackHandler handler)
+            throws RemoteException, NoSuchRunwayException {
+        metrics.measure(ServantOperation.SUBSCRIBE_RUNWAY, () -> {
+            if (runwayName == null || handler == null)
+                throw new IllegalArgumentException("Runway name and handler MUST NOT be null");
+
+            return engine.read(() -> {
+                        if (!runways.contains(runwayName))
+                            throw new NoSuchRunwayException();
+                        subscribers.register(TrackingScope.RUNWAY, runwayName, handler);
+                        return null;
+                    });
+        });
     }
 
     @Override
     public void requestRunway(final String flightId, final String destinationAirportId, final String airlineName,
-                              final RunwayCategory minimumCategory) throws RemoteException, NoSuchRunwayException {
+                              final RunwayCategory minimumCategory)
+            throws RemoteException, NoSuchRunwayException, ServerOverloadedException, FlightAlreadyQueuedException {
+        metrics.measure(ServantOperation.REQUEST_RUNWAY, () -> {
+            if (flightId == null || destinationAirportId == null || airlineName == null | minimumCategory == null)
+                throw new IllegalArgumentException("flight ID, destination airport ID, airline name and minimum runway category MUST NOT be null");
 
-        if (flightId == null || destinationAirportId == null || airlineName == null | minimumCategory == null)
-            throw new IllegalArgumentException("flight ID, destination airport ID, airline name and minimum runway category MUST NOT be null");
+            admission.acquire(airlineName);
+            try {
+                final TrackingEventBatch batch = new TrackingEventBatch(subscribers, eventLogs);
+                if (requestRunway(new Flight(flightId, destinationAirportId, airlineName, minimumCategory), batch))
+                    publish(batch);
+                else
+                    metrics.duplicateRunwayRequest();
+            } finally {
+                admission.release(airlineName);
+            }
+            return null;
+        });
+    }
+
+    /*
+     * Encola el vuelo en la pista abierta que admite su categoria que elige la estrategia de asignacion. queuedFlights indexa por ID los vuelos
+     * encolados: si ya hay otro vuelo con el mismo ID, la solicitud es un reintento y se ignora (devuelve false),
+     * salvo que pida algo distinto (FlightAlreadyQueuedException). Al reordenar se vuelve a encolar el mismo objeto,
+     * que sigue en el indice, salvo que se haya cancelado mientras tanto (devuelve false)
+     */
+    private boolean requestRunway(final Flight flight, final TrackingEventBatch batch)
+            throws RemoteException, NoSuchRunwayException, FlightAlreadyQueuedException {
+        final Long flightsAhead = engine.write(() -> {
+            if (flight.isCancelled())
+                return null;
+            final Flight queued = queuedFlights.get(flight.getId());
+            if (queued != null && queued != flight) {
+                if (!queued.isSameRequest(flight.getDestinationAirportId(), flight.getAirline(), flight.getCategory()))
+                    throw new FlightAlreadyQueuedException();
+                return null;
+            }
+
+            final Optional<Runway> answer = assignment.select(flight, runways.candidates(flight.getCategory()));
+            if (!answer.isPresent()) {
+                queuedFlights.remove(flight.getId(), flight);
+                throw new NoSuchRunwayException();
+            }
+            final Runway runway = answer.get();
+            runway.addToQueue(flight);
+            flight.setRunwayName(runway.getName());
+            flight.setRearranging(false);
+            queuedFlights.put(flight.getId(), flight);
+            final long queuedAhead = runway.getDepartureQueueSize() - 1;
+            if (!flight.isPrioritized()) {
+                batch.add(flight.getAirline(), FlightTrackingEventType.RUNWAY_ASSIGNMENT, flight.getId(),
+                        flight.getDestinationAirportId(), runway.getName(), queuedAhead);
+                return queuedAhead;
+            }
 
-        requestRunway(new Flight(flightId, destinationAirportId, airlineName, minimumCategory));
+            /* Se priorizo mientras se reordenaba: pasa al principio y los que quedan detras se corren un lugar */
+            flight.setPrioritized(false);
+            runway.moveToFront(flight.getId());
+            batch.add(flight.getAirline(), FlightTrackingEventType.RUNWAY_ASSIGNMENT, flight.getId(),
+                    flight.getDestinationAirportId(), runway.getName(), 0);
+            notifyQueuePositions(runway, 1, (int) queuedAhead + 1, batch);
+            return 0L;
+        });
+        if (flightsAhead == null)
+            return false;
+
+        final String runwayName = flight.getRunwayName();
+        subscribers.getSubscribers(flight.getId())
+                .forEach(subscriber -> dispatchCallback(subscriber, handler ->
+                        handler.onRunwayAssignment(flight.getId(), flight.getDestinationAirportId(),
+                                runwayName, flightsAhead)));
+        return true;
     }
 
-    private void requestRunway(final Flight flight)
-            throws RemoteException, NoSuchRunwayException {
-        final Runway runway = tryLockWithTimeout(() -> {
-            Runway answer = runwayMap.values().stream()
-                    .filter(r -> r.getCategory().compareTo(flight.getCategory()) >= 0 && r.isOpen())
-                    .min(Comparator.comparing(Runway::getDepartureQueueSize).thenComparing(Runway::getCategory)
-                            .thenComparing(Runway::getName)).orElseThrow(NoSuchRunwayException::new);
-            answer.addToQueue(flight);
-            return answer;
-        }, runwayLock.writeLock());
-
-        tryLockWithTimeout(() -> {
-            Optional.ofNullable(callbackHandlers.get(flight.getId()))
-                    .ifPresent(handlers -> handlers
-                            .forEach(handler -> executor.submit(() -> {
-                                try {
-                                    handler.onRunwayAssignment(flight.getId(), flight.getDestinationAirportId(),
-                                            runway.getName(), runway.getFlightsAhead(flight.getId()));
-                                } catch (RemoteException e) {
-                                    logger.error("An unknown error has occurred.");
-                                    logger.error(Arrays.toString(e.getStackTrace()));
-                                }
-                            })));
+    @Override
+    public void cancelRunwayRequest(final String flightId, final String airlineName)
+            throws RemoteException, NoSuchFlightException {
+        metrics.measure(ServantOperation.CANCEL_RUNWAY_REQUEST, () -> {
+            if (flightId == null || airlineName == null)
+                throw new IllegalArgumentException("Flight ID and airline name MUST NOT be null");
+
+            final TrackingEventBatch batch = new TrackingEventBatch(subscribers, eventLogs);
+            engine.write(() -> {
+                final Flight flight = Optional.ofNullable(queuedFlights.get(flightId))
+                        .filter(f -> f.getAirline().equals(airlineName))
+                        .orElseThrow(NoSuchFlightException::new);
+                /* Si se esta reordenando no esta en ninguna cola: se marca para que no se vuelva a encolar */
+                final Runway runway = flight.isRearranging() ? null : runways.get(flight.getRunwayName());
+                final long flightsAhead = runway == null ? 0 : runway.removeFromQueue(flightId);
+                if (runway == null)
+                    flight.cancel();
+                queuedFlights.remove(flightId);
+
+                batch.add(flight.getAirline(), FlightTrackingEventType.CANCELLATION, flight.getId(),
+                        flight.getDestinationAirportId(), flight.getRunwayName(), flightsAhead);
+                batch.retire(flight.getId());
+                subscribers.removeFlight(flight.getId())
+                        .forEach(subscriber -> dispatchCallback(subscriber, FlightTrackingCallbackHandler::endProcess));
+                if (runway != null)
+                    notifyQueuePositions(runway, (int) flightsAhead, runway.getDepartureQueue().size(), batch);
+                return null;
+            });
+            publish(batch);
             return null;
-        }, handlersLock.readLock());
+        });
+    }
+
+    /*
+     * Avisa a los suscriptores de los vuelos en las posiciones [fromIndex, toIndex) de la cola de la pista cuantos
+     * vuelos tienen adelante. Se llama dentro del engine, por lo que las posiciones se calculan en el momento
+     */
+    private void notifyQueuePositions(final Runway runway, final int fromIndex, final int toIndex,
+                                      final TrackingEventBatch batch) {
+        final Iterator<Flight> flights = runway.getDepartureQueue().iterator(fromIndex);
+        for (long flightsAhead = fromIndex; flightsAhead < toIndex && flights.hasNext(); flightsAhead++) {
+            final Flight flight = flights.next();
+            final long position = flightsAhead;
+            subscribers.getSubscribers(flight.getId())
+                    .forEach(subscriber -> dispatchCallback(subscriber, handler ->
+                            handler.onQueuePositionUpdate(
+                                    flight.getId(),
+                                    flight.getDestinationAirportId(),
+                                    runway.getName(),
+                                    position)));
+            batch.add(flight.getAirline(), FlightTrackingEventType.QUEUE_POSITION_UPDATE, flight.getId(),
+                    flight.getDestinationAirportId(), runway.getName(), position);
+        }
     }
 
     @Override
     public List<DepartureData> getAllDepartures() throws RemoteException {
-        return tryLockWithTimeout(() -> runwayMap.values().stream()
-                        .flatMap(runway -> runway.getDepartureHistory().stream()
-                                .map(flight -> new DepartureData(flight.getFlightsBeforeDeparture(),
-                                        runway.getName(),
-                                        flight.getId(),
-                                        flight.getDestinationAirportId(),
-                                        flight.getAirline(),
-                                        flight.getDepartedOn())))
-                        .sorted(Comparator.comparing(DepartureData::getDepartedOn))
-                        .collect(Collectors.toList()),
-                runwayLock.readLock());
+        return metrics.measure(ServantOperation.GET_ALL_DEPARTURES, this::allDepartures);
     }
 
     @Override
     public List<DepartureData> getRunwayDepartures(final String runwayName) throws RemoteException, NoSuchRunwayException {
-        if (runwayName == null)
-            throw new IllegalArgumentException("Runway name MUST NOT be null");
-
-        return tryLockWithTimeout(() -> Optional.ofNullable(runwayMap.get(runwayName)).orElseThrow(NoSuchRunwayException::new)
-                        .getDepartureHistory().stream()
-                        .map(flight -> new DepartureData(flight.getFlightsBeforeDeparture(),
-                                runwayName,
-                                flight.getId(),
-                                flight.getDestinationAirportId(),
-                                flight.getAirline(),
-                                flight.getDepartedOn()))
-                        .sorted(Comparator.comparing(DepartureData::getDepartedOn))
-                        .collect(Collectors.toList()),
-                runwayLock.readLock());
+        return metrics.measure(ServantOperation.GET_RUNWAY_DEPARTURES, () -> runwayDepartures(runwayName));
     }
 
     @Override
     public List<DepartureData> getAirlineDepartures(final String airline) throws RemoteException {
-        if (airline == null)
-            throw new IllegalArgumentException("Airline MUST NOT be null");
+        return metrics.measure(ServantOperation.GET_AIRLINE_DEPARTURES, () -> airlineDepartures(airline));
+    }
 
-        return tryLockWithTimeout(() -> runwayMap.values().stream()
-                        .flatMap(runway -> runway.getDepartureHistory().stream()
-                                .filter(flight -> flight.getAirline().equals(airline))
-                                .map(flight -> new DepartureData(flight.getFlightsBeforeDeparture(),
-                                        runway.getName(),
-                                        flight.getId(),
-                                        flight.getDestinationAirportId(),
-                                        airline,
-                                        flight.getDepartedOn())))
-                        .sorted(Comparator.comparing(DepartureData::getDepartedOn))
-                        .collect(Collectors.toList()),
-                runwayLock.readLock());
-    }
-
-    private class RunwayAssignmentCallbackParameters {
-        private long flightsAhead;
-        private String flightId;
-        private String destinationAirportId;
-        private String runwayName;
-
-        public RunwayAssignmentCallbackParameters() {
-        }
+    @Override
+    public DepartureExportChannel exportAllDepartures() throws RemoteException {
+        return metrics.measure(ServantOperation.EXPORT_ALL_DEPARTURES,
+                () -> CsvDepartureExportChannel.export(allDepartures()));
+    }
 
-        public void setFlightsAhead(long flightsAhead) {
-            this.flightsAhead = flightsAhead;
-        }
+    @Override
+    public DepartureExportChannel exportRunwayDepartures(final String runwayName)
+            throws RemoteException, NoSuchRunwayException {
+        return metrics.measure(ServantOperation.EXPORT_RUNWAY_DEPARTURES,
+                () -> CsvDepartureExportChannel.export(runwayDepartures(runwayName)));
+    }
 
-        public void setFlightId(String flightId) {
-            this.flightId = flightId;
-        }
+    @Override
+    public DepartureExportChannel exportAirlineDepartures(final String airline) throws RemoteException {
+        return metrics.measure(ServantOperation.EXPORT_AIRLINE_DEPARTURES,
+                () -> CsvDepartureExportChannel.export(airlineDepartures(airline)));
+    }
 
-        public void setDestinationAirportId(String destinationAirportId) {
-            this.destinationAirportId = destinationAirportId;
-        }
+    @Override
+    public List<DepartureData> getDeparturesBetween(final LocalDateTime from, final LocalDateTime to)
+            throws RemoteException {
+        return metrics.measure(ServantOperation.GET_DEPARTURES_BETWEEN, () -> {
+            validateRange(from, to);
+            return history.getBetween(from, to);
+        });
+    }
 
-        public void setRunwayName(String runwayName) {
-            this.runwayName = runwayName;
-        }
+    @Override
+    public List<DepartureData> getRunwayDeparturesBetween(final String runwayName, final LocalDateTime from,
+                                                          final LocalDateTime to)
+            throws RemoteException, NoSuchRunwayException {
+        return metrics.measure(ServantOperation.GET_RUNWAY_DEPARTURES_BETWEEN, () -> {
+            if (runwayName == null)
+                throw new IllegalArgumentException("Runway name MUST NOT be null");
+            validateRange(from, to);
+
+            requireRunway(runwayName);
+            return history.getByRunwayBetween(runwayName, from, to);
+        });
+    }
 
-        public long getFlightsAhead() {
-            return flightsAhead;
-        }
+    @Override
+    public List<DepartureData> getAirlineDeparturesBetween(final String airline, final LocalDateTime from,
+                                                           final LocalDateTime to) throws RemoteException {
+        return metrics.measure(ServantOperation.GET_AIRLINE_DEPARTURES_BETWEEN, () -> {
+            if (airline == null)
+                throw new IllegalArgumentException("Airline MUST NOT be null");
+            validateRange(from, to);
+
+            return history.getByAirlineBetween(airline, from, to);
+        });
+    }
 
-        public String getFlightId() {
-            return flightId;
-        }
+    @Override
+    public DeparturePage getDeparturesSince(final long cursor) throws RemoteException {
+        return metrics.measure(ServantOperation.GET_DEPARTURES_SINCE, () -> {
+            validateCursor(cursor);
+            return history.getSince(cursor);
+        });
+    }
 
-        public String getDestinationAirportId() {
-            return destinationAirportId;
-        }
+    @Override
+    public DeparturePage getRunwayDeparturesSince(final String runwayName, final long cursor)
+            throws RemoteException, NoSuchRunwayException {
+        return metrics.measure(ServantOperation.GET_RUNWAY_DEPARTURES_SINCE, () -> {
+            if (runwayName == null)
+                throw new IllegalArgumentException("Runway name MUST NOT be null");
+            validateCursor(cursor);
+
+            requireRunway(runwayName);
+            return history.getByRunwaySince(runwayName, cursor);
+        });
+    }
 
-        public String getRunwayName() {
-            return runwayName;
-        }
+    @Override
+    public DeparturePage getAirlineDeparturesSince(final String airline, final long cursor) throws RemoteException {
+        return metrics.measure(ServantOperation.GET_AIRLINE_DEPARTURES_SINCE, () -> {
+            if (airline == null)
+                throw new IllegalArgumentException("Airline MUST NOT be null");
+            validateCursor(cursor);
+
+            return history.getByAirlineSince(airline, cursor);
+        });
+    }
+
+    @Override
+    public DepartureStatistics getStatistics() throws RemoteException {
+        return metrics.measure(ServantOperation.GET_STATISTICS,
+                () -> engine.read(() -> statistics.snapshot(LocalDateTime.now())));
+    }
+
+    private static void validateRange(final LocalDateTime from, final LocalDateTime to) {
+        if (from == null || to == null)
+            throw new IllegalArgumentException("Range bounds MUST NOT be null");
+        if (to.isBefore(from))
+            throw new IllegalArgumentException("Range end MUST NOT be before its start");
+    }
+
+    private static void validateCursor(final long cursor) {
+        if (cursor < 0)
+            throw new IllegalArgumentException("Cursor MUST NOT be negative");
+    }
+
+    /*
+     * Solo la verificacion de que existe la pista pasa por el engine: las consultas al historial se hacen sobre
+     * su ultima version publicada, sin locks, para no demorar los despegues
+     */
+    private void requireRunway(final String runwayName) throws RemoteException, NoSuchRunwayException {
+        engine.read(() -> {
+            if (!runways.contains(runwayName))
+                throw new NoSuchRunwayException();
+            return null;
+        });
+    }
+
+    private List<DepartureData> allDepartures() {
+        return history.getAll();
+    }
+
+    private List<DepartureData> runwayDepartures(final String runwayName) throws RemoteException, NoSuchRunwayException {
+        if (runwayName == null)
+            throw new IllegalArgumentException("Runway name MUST NOT be null");
+
+        requireRunway(runwayName);
+        return history.getByRunway(runwayName);
+    }
+
+    private List<DepartureData> airlineDepartures(final String airline) {
+        if (airline == null)
+            throw new IllegalArgumentException("Airline MUST NOT be null");
+
+        return history.getByAirline(airline);
     }
 }
@@ -1,27 +1,255 @@
 package ar.edu.itba.pod.server;
 
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.server.admission.AdmissionController;
+import ar.edu.itba.pod.server.assignment.RunwayAssignmentMode;
+import ar.edu.itba.pod.server.assignment.RunwayAssignmentStrategy;
+import ar.edu.itba.pod.server.config.AirportConfig;
+import ar.edu.itba.pod.server.config.AirportConfigReader;
+import ar.edu.itba.pod.server.engine.ServantEngine;
+import ar.edu.itba.pod.server.engine.ServantEngineMode;
+import ar.edu.itba.pod.server.executor.CallbackExecutorMode;
+import ar.edu.itba.pod.server.history.DepartureArchiver;
+import ar.edu.itba.pod.server.history.DepartureHistory;
+import ar.edu.itba.pod.server.history.GzipFileDepartureArchiver;
+import ar.edu.itba.pod.server.history.RetentionPolicy;
+import ar.edu.itba.pod.server.metrics.MetricsLogReporter;
+import ar.edu.itba.pod.server.recording.CommandRecorder;
+import ar.edu.itba.pod.server.recording.RecordingServant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.management.JMException;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
 import java.rmi.RemoteException;
 import java.rmi.registry.LocateRegistry;
 import java.rmi.registry.Registry;
 import java.rmi.server.UnicastRemoteObject;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class Server {
     private static final Logger logger = LoggerFactory.getLogger(Server.class);
+    private static final int DEFAULT_CALLBACK_THREADS = 64;
 
     public static void main(String[] args) throws RemoteException {
         logger.info("tpe1-g7 Server starting ...");
 
-        final Servant servant = new Servant();
+        final Servant servant = new Servant(createCallbackExecutor(), createHistory(), createAdmissionController(),
+                createEngine(), createAssignmentStrategy());
+        preload(servant);
         final Registry registry = LocateRegistry.getRegistry("localhost", 0);
         UnicastRemoteObject.exportObject(servant,0);
         registry.rebind("departure_query", servant);
+        registry.rebind("departure_statistics", servant);
         registry.rebind("flight_tracking", servant);
-        registry.rebind("management", servant);
-        registry.rebind("runway_request", servant);
+
+        final RecordingServant recording = createRecording(servant);
+        if (recording != null) {
+            UnicastRemoteObject.exportObject(recording, 0);
+            registry.rebind("management", recording);
+            registry.rebind("runway_request", recording);
+        } else {
+            registry.rebind("management", servant);
+            registry.rebind("runway_request", servant);
+        }
+
+        startMetrics(servant);
 
         logger.info("tpe1-g7 Server started.");
     }
+
+    /*
+     * Crea el pool de callbacks segun -DcallbackExecutor=cached|fixed|virtual (por defecto cached).
+     * Con fixed, -DcallbackThreads indica la cantidad de threads
+     */
+    static ExecutorService createCallbackExecutor() {
+        CallbackExecutorMode mode = CallbackExecutorMode.CACHED;
+        try {
+            mode = CallbackExecutorMode.fromName(System.getProperty("callbackExecutor", mode.name()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid callback executor. Please specify one of cached, fixed or virtual with -DcallbackExecutor=mode. Using cached.");
+        }
+
+        int threads = DEFAULT_CALLBACK_THREADS;
+        try {
+            threads = Integer.parseInt(System.getProperty("callbackThreads", String.valueOf(threads)));
+            if (threads <= 0)
+                throw new NumberFormatException();
+        } catch (NumberFormatException e) {
+            logger.error("Invalid callback threads. Please specify a positive number with -DcallbackThreads=n. Using "
+                    + DEFAULT_CALLBACK_THREADS + ".");
+            threads = DEFAULT_CALLBACK_THREADS;
+        }
+
+        logger.info("Delivering callbacks with a " + mode.name().toLowerCase() + " executor.");
+        return mode.create(threads);
+    }
+
+    /*
+     * Crea el engine segun -Dengine=locking|event-loop (por defecto locking)
+     */
+    static ServantEngine createEngine() {
+        ServantEngineMode mode = ServantEngineMode.LOCKING;
+        try {
+            mode = ServantEngineMode.fromName(System.getProperty("engine", mode.name()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid engine. Please specify one of locking or event-loop with -Dengine=mode. Using locking.");
+        }
+
+        logger.info("Running operations with the " + mode.name().toLowerCase().replace('_', '-') + " engine.");
+        return mode.create();
+    }
+
+    /*
+     * Crea la estrategia de asignacion de pistas segun
+     * -Dassignment=shortest-queue|expected-wait|category-preserving (por defecto shortest-queue)
+     */
+    static RunwayAssignmentStrategy createAssignmentStrategy() {
+        RunwayAssignmentMode mode = RunwayAssignmentMode.SHORTEST_QUEUE;
+        try {
+            mode = RunwayAssignmentMode.fromName(System.getProperty("assignment", mode.name()));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid assignment strategy. Please specify one of shortest-queue, expected-wait or " +
+                    "category-preserving with -Dassignment=strategy. Using shortest-queue.");
+        }
+
+        logger.info("Assigning runways with the " + mode.name().toLowerCase().replace('_', '-') + " strategy.");
+        return mode.create();
+    }
+
+    /*
+     * Crea el historial de despegues. -DhistoryMaxDepartures=n y -DhistoryMaxAge=segundos limitan los despegues
+     * que se mantienen en memoria; con -DhistoryArchivePath=directorio los desalojados se guardan comprimidos en
+     * un subdirectorio nuevo de ese directorio y se siguen incluyendo en las consultas, sino se descartan
+     */
+    static DepartureHistory createHistory() {
+        final String maxDeparturesStr = System.getProperty("historyMaxDepartures");
+        final String maxAgeStr = System.getProperty("historyMaxAge");
+        final String archivePath = System.getProperty("historyArchivePath");
+        if (maxDeparturesStr == null && maxAgeStr == null)
+            return new DepartureHistory();
+
+        long maxDepartures = Long.MAX_VALUE;
+        Duration maxAge = null;
+        try {
+            if (maxDeparturesStr != null)
+                maxDepartures = Long.parseLong(maxDeparturesStr);
+            if (maxAgeStr != null)
+                maxAge = Duration.ofSeconds(Long.parseLong(maxAgeStr));
+            if (maxDepartures < 0 || (maxAge != null && maxAge.isNegative()))
+                throw new NumberFormatException();
+        } catch (NumberFormatException e) {
+            logger.error("Invalid history retention. Please specify non negative numbers with -DhistoryMaxDepartures=n and -DhistoryMaxAge=seconds. Keeping the whole history in memory.");
+            return new DepartureHistory();
+        }
+
+        DepartureArchiver archiver = null;
+        if (archivePath != null) {
+            try {
+                final GzipFileDepartureArchiver fileArchiver = new GzipFileDepartureArchiver(
+                        Files.createTempDirectory(Files.createDirectories(Paths.get(archivePath)), "departures-"));
+                logger.info("Archiving departures to " + fileArchiver.getDirectory() + ".");
+                archiver = fileArchiver;
+            } catch (IOException | InvalidPathException e) {
+                logger.error("Could not create the history archive directory, evicted departures will be discarded: "
+                        + e.getMessage());
+            }
+        } else {
+            logger.info("No history archive path given, evicted departures will be discarded.");
+        }
+        return new DepartureHistory(new RetentionPolicy(maxDepartures, maxAge, RetentionPolicy.DEFAULT_SEGMENT_SIZE), archiver);
+    }
+
+    /*
+     * -DmaxRunwayRequests=n limita las solicitudes de pista en curso y -DoverloadRetryAfter=milisegundos es la espera
+     * que se indica a los clientes cuyas solicitudes se rechazan
+     */
+    static AdmissionController createAdmissionController() {
+        try {
+            final int maxInFlight = Integer.parseInt(System.getProperty("maxRunwayRequests",
+                    String.valueOf(AdmissionController.DEFAULT_MAX_IN_FLIGHT)));
+            final long retryAfterMillis = Long.parseLong(System.getProperty("overloadRetryAfter",
+                    String.valueOf(AdmissionController.DEFAULT_RETRY_AFTER_MILLIS)));
+            return new AdmissionController(maxInFlight, retryAfterMillis);
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid admission control. Please specify a positive number with -DmaxRunwayRequests=n and a non negative number of milliseconds with -DoverloadRetryAfter=millis. Using "
+                    + AdmissionController.DEFAULT_MAX_IN_FLIGHT + " and " + AdmissionController.DEFAULT_RETRY_AFTER_MILLIS + ".");
+            return new AdmissionController();
+        }
+    }
+
+    /*
+     * Con -DconfigPath=archivo carga las pistas y los vuelos en espera de ese archivo (ver AirportConfigReader) antes
+     * de publicar el servidor. Si el archivo no se puede leer o no es valido, el servidor arranca sin pistas
+     */
+    static void preload(final Servant servant) {
+        final String configPath = System.getProperty("configPath");
+        if (configPath == null)
+            return;
+        try {
+            final long startNanos = System.nanoTime();
+            final AirportConfig config = AirportConfigReader.read(Paths.get(configPath));
+            final long readNanos = System.nanoTime();
+            servant.preload(config);
+            logger.info(String.format("Preloaded %d runways and %d queued flights from %s (read %.1fms, load %.1fms).",
+                    config.getRunways().size(), config.getFlights().size(), configPath,
+                    (readNanos - startNanos) / 1e6, (System.nanoTime() - readNanos) / 1e6));
+        } catch (IOException | IllegalArgumentException | IllegalStateException | NoSuchRunwayException e) {
+            logger.error("Could not preload the airport configuration, starting without runways: " + e.getMessage());
+        }
+    }
+
+    /*
+     * Con -Drecord=archivo se graban en ese archivo todas las operaciones de administracion y de solicitud de pista
+     * que llegan, para reproducirlas luego con ReplayTool. La grabacion se cierra al terminar el servidor
+     */
+    private static RecordingServant createRecording(final Servant servant) {
+        final String recordPath = System.getProperty("record");
+        if (recordPath == null)
+            return null;
+        try {
+            final CommandRecorder recorder = new CommandRecorder(Paths.get(recordPath));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    recorder.close();
+                } catch (IOException e) {
+                    logger.error("Could not close the recording: " + e.getMessage());
+                }
+            }, "recording-close"));
+            logger.info("Recording management and runway request operations to " + recorder.getFile() + ".");
+            return new RecordingServant(servant, recorder);
+        } catch (IOException | InvalidPathException e) {
+            logger.error("Could not create the recording file, operations will not be recorded: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /*
+     * Publica las metricas por JMX y, si se indica -DmetricsReportInterval=segundos, las loguea periodicamente
+     */
+    private static void startMetrics(final Servant servant) {
+        try {
+            servant.getMetrics().registerMBeans(ManagementFactory.getPlatformMBeanServer());
+        } catch (JMException e) {
+            logger.error("Could not register metrics MBeans: " + e.getMessage());
+        }
+
+        final String reportInterval = System.getProperty("metricsReportInterval");
+        if (reportInterval == null)
+            return;
+        try {
+            final long seconds = Long.parseLong(reportInterval);
+            if (seconds <= 0)
+                throw new NumberFormatException();
+            new MetricsLogReporter(servant.getMetrics()).start(seconds, TimeUnit.SECONDS);
+        } catch (NumberFormatException e) {
+            logger.error("Invalid metrics report interval. Please specify a positive number of seconds with -DmetricsReportInterval=seconds");
+        }
+    }
 }
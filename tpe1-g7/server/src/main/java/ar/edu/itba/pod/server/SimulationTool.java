@@ -0,0 +1,111 @@
+package ar.edu.itba.pod.server;
+
+import ar.edu.itba.pod.models.Histogram;
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.assignment.RunwayAssignmentMode;
+import ar.edu.itba.pod.server.simulation.Distribution;
+import ar.edu.itba.pod.server.simulation.Simulation;
+import ar.edu.itba.pod.server.simulation.SimulationReport;
+import ar.edu.itba.pod.server.simulation.SimulationSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+
+/*
+ * Simula el aeropuerto en tiempo virtual con cada estrategia de asignacion indicada (por defecto todas), con los
+ * mismos vuelos para todas, y loguea para cada una el throughput, el largo de las colas y la espera de los vuelos
+ */
+public class SimulationTool {
+    private static final Logger logger = LoggerFactory.getLogger(SimulationTool.class);
+    private static final String DEFAULT_RUNWAYS = "SMALL:A,MEDIUM:C,LARGE:F";
+    private static final String DEFAULT_CATEGORIES = "A:4,B:2,C:2,D:1,E:1,F:1";
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    public static void main(String[] args) {
+        final SimulationSettings settings;
+        final List<RunwayAssignmentMode> modes;
+        try {
+            settings = new SimulationSettings(
+                    parsePairs(System.getProperty("runways", DEFAULT_RUNWAYS), Function.identity(),
+                            SimulationTool::parseCategory),
+                    Long.parseLong(System.getProperty("flights", "1000000")),
+                    Distribution.fromName(System.getProperty("arrivals", "exponential")),
+                    Double.parseDouble(System.getProperty("arrivalInterval", "30")),
+                    parsePairs(System.getProperty("categories", DEFAULT_CATEGORIES), SimulationTool::parseCategory,
+                            Double::parseDouble),
+                    Distribution.fromName(System.getProperty("departures", "constant")),
+                    Double.parseDouble(System.getProperty("departureInterval", "60")),
+                    Long.parseLong(System.getProperty("seed", "1")));
+            modes = parseModes(System.getProperty("assignment"));
+        } catch (IllegalArgumentException e) {
+            logger.error("Invalid simulation settings: " + e.getMessage() + ". Please check -Drunways=name:category,..., " +
+                    "-Dflights=n, -Darrivals=distribution, -DarrivalInterval=seconds, -Dcategories=category:weight,..., " +
+                    "-Ddepartures=distribution, -DdepartureInterval=seconds, -Dseed=n and -Dassignment=strategy,...");
+            return;
+        }
+
+        for (RunwayAssignmentMode mode : modes)
+            report(mode, new Simulation(settings, mode.create()).run());
+    }
+
+    private static List<RunwayAssignmentMode> parseModes(final String modesStr) {
+        if (modesStr == null)
+            return Arrays.asList(RunwayAssignmentMode.values());
+        final List<RunwayAssignmentMode> modes = new ArrayList<>();
+        for (String mode : modesStr.split(","))
+            modes.add(RunwayAssignmentMode.fromName(mode.trim()));
+        return modes;
+    }
+
+    private static RunwayCategory parseCategory(final String category) {
+        return RunwayCategory.valueOf(category.toUpperCase(Locale.ROOT));
+    }
+
+    /*
+     * Lee una lista de la forma clave:valor,clave:valor conservando el orden
+     */
+    private static <K, V> Map<K, V> parsePairs(final String pairsStr, final Function<String, K> keyParser,
+                                               final Function<String, V> valueParser) {
+        final Map<K, V> pairs = new LinkedHashMap<>();
+        for (String pair : pairsStr.split(",")) {
+            final int separator = pair.indexOf(':');
+            if (separator < 0)
+                throw new IllegalArgumentException("expected key:value but was " + pair);
+            pairs.put(keyParser.apply(pair.substring(0, separator).trim()),
+                    valueParser.apply(pair.substring(separator + 1).trim()));
+        }
+        return pairs;
+    }
+
+    private static void report(final RunwayAssignmentMode mode, final SimulationReport report) {
+        final Histogram queueLengths = report.getQueueLengths();
+        final StringBuilder out = new StringBuilder(String.format(
+                "Simulated %d flights with the %s strategy in %.2fs (%.1f simulated hours): %d departed " +
+                        "(%.1f departures/h), %d rejected, %d pending.%n" +
+                        "  Queue length: mean %.2f, p50 %d, p90 %d, p99 %d, max %d (time average %.2f)",
+                report.getArrived(), mode.name().toLowerCase(Locale.ROOT).replace('_', '-'),
+                report.getElapsedNanos() / NANOS_PER_SECOND, report.getSimulatedSeconds() / 3600,
+                report.getDeparted(), report.getDeparturesPerHour(), report.getRejected(), report.getPending(),
+                queueLengths.getMean(), queueLengths.getValueAtPercentile(50),
+                queueLengths.getValueAtPercentile(90), queueLengths.getValueAtPercentile(99),
+                report.getMaxQueueLength(), report.getAverageQueueLength()));
+        for (Map.Entry<String, Histogram> entry : report.getWaitTimes().entrySet())
+            appendWaitTimes(out, "Runway " + entry.getKey(), entry.getValue());
+        appendWaitTimes(out, "All runways", report.getTotalWaitTime());
+        logger.info(out.toString());
+    }
+
+    private static void appendWaitTimes(final StringBuilder out, final String name, final Histogram waitTimes) {
+        out.append(String.format("%n  %s: %d flights departed. Wait time (s): mean %.1f, p50 %.1f, p90 %.1f, p99 %.1f, max %.1f",
+                name, waitTimes.getCount(), waitTimes.getMean() / 1000, waitTimes.getValueAtPercentile(50) / 1000.0,
+                waitTimes.getValueAtPercentile(90) / 1000.0, waitTimes.getValueAtPercentile(99) / 1000.0,
+                waitTimes.getMax() / 1000.0));
+    }
+}
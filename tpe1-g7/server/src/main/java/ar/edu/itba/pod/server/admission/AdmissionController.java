@@ -0,0 +1,67 @@
+package ar.edu.itba.pod.server.admission;
+
+import ar.edu.itba.pod.exceptions.ServerOverloadedException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Limita las solicitudes en curso, en total y por aerolinea, rechazando en el momento las que exceden el limite
+ * en lugar de dejarlas esperando el lock de las pistas.
+ * Cada aerolinea con solicitudes en curso puede tener a lo sumo su parte del total (maxInFlight dividido la
+ * cantidad de aerolineas activas); una aerolinea sola puede usar todo el limite, y al llegar otras se le rechazan
+ * solicitudes hasta que baja a su parte
+ */
+public class AdmissionController {
+
+    static final public int DEFAULT_MAX_IN_FLIGHT = 256;
+    static final public long DEFAULT_RETRY_AFTER_MILLIS = 100;
+
+    final private int maxInFlight;
+    final private long retryAfterMillis;
+    final private Map<String, Integer> airlineInFlight;
+    private int inFlight;
+    private long rejected;
+
+    public AdmissionController() {
+        this(DEFAULT_MAX_IN_FLIGHT, DEFAULT_RETRY_AFTER_MILLIS);
+    }
+
+    public AdmissionController(final int maxInFlight, final long retryAfterMillis) {
+        if (maxInFlight <= 0)
+            throw new IllegalArgumentException("Max in flight requests MUST be positive");
+        if (retryAfterMillis < 0)
+            throw new IllegalArgumentException("Retry after MUST NOT be negative");
+        this.maxInFlight = maxInFlight;
+        this.retryAfterMillis = retryAfterMillis;
+        this.airlineInFlight = new HashMap<>();
+    }
+
+    /*
+     * Cada acquire admitido debe liberarse con release, con la misma aerolinea
+     */
+    public synchronized void acquire(final String airline) {
+        final int current = airlineInFlight.getOrDefault(airline, 0);
+        final int activeAirlines = airlineInFlight.size() + (current == 0 ? 1 : 0);
+        final int fairShare = Math.max(1, (maxInFlight + activeAirlines - 1) / activeAirlines);
+        if (inFlight >= maxInFlight || current >= fairShare) {
+            rejected++;
+            throw new ServerOverloadedException(retryAfterMillis);
+        }
+        inFlight++;
+        airlineInFlight.put(airline, current + 1);
+    }
+
+    public synchronized void release(final String airline) {
+        inFlight--;
+        airlineInFlight.computeIfPresent(airline, (k, count) -> count == 1 ? null : count - 1);
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized long getRejected() {
+        return rejected;
+    }
+}
@@ -0,0 +1,35 @@
+package ar.edu.itba.pod.server.assignment;
+
+import ar.edu.itba.pod.server.models.Flight;
+import ar.edu.itba.pod.server.models.Runway;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Reserva las pistas grandes para los vuelos que las necesitan: cada categoria que la pista excede a la del vuelo
+ * cuenta como reservedFlights vuelos mas en su cola. Un vuelo solo pasa a una pista mas grande si las de su
+ * categoria tienen esa cantidad de vuelos mas en espera
+ */
+public class CategoryPreservingStrategy implements RunwayAssignmentStrategy {
+    static final public long DEFAULT_RESERVED_FLIGHTS = 2;
+
+    final private long reservedFlights;
+
+    public CategoryPreservingStrategy() {
+        this(DEFAULT_RESERVED_FLIGHTS);
+    }
+
+    public CategoryPreservingStrategy(final long reservedFlights) {
+        if (reservedFlights < 0)
+            throw new IllegalArgumentException("Reserved flights MUST NOT be negative");
+        this.reservedFlights = reservedFlights;
+    }
+
+    @Override
+    public Optional<Runway> select(final Flight flight, final List<Runway> candidates) {
+        return candidates.stream().min(Comparator.comparingLong(runway -> runway.getDepartureQueueSize()
+                + reservedFlights * (runway.getCategory().ordinal() - flight.getCategory().ordinal())));
+    }
+}
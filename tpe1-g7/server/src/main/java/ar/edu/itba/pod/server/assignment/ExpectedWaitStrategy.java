@@ -0,0 +1,26 @@
+package ar.edu.itba.pod.server.assignment;
+
+import ar.edu.itba.pod.server.models.Flight;
+import ar.edu.itba.pod.server.models.Runway;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Elige la pista donde el vuelo despegaria antes: los vuelos que tendria en cola mas el suyo, por el intervalo
+ * entre despegues observado en cada pista. Las pistas sin despegues todavia toman el promedio de las demas
+ * candidatas; si ninguna tiene, la estrategia equivale a elegir la cola mas corta
+ */
+public class ExpectedWaitStrategy implements RunwayAssignmentStrategy {
+
+    @Override
+    public Optional<Runway> select(final Flight flight, final List<Runway> candidates) {
+        final double defaultInterval = candidates.stream()
+                .filter(Runway::hasDepartureInterval)
+                .mapToDouble(Runway::getDepartureIntervalNanos)
+                .average().orElse(1);
+        return candidates.stream().min(Comparator.comparingDouble(runway -> (runway.getDepartureQueueSize() + 1)
+                * (runway.hasDepartureInterval() ? runway.getDepartureIntervalNanos() : defaultInterval)));
+    }
+}
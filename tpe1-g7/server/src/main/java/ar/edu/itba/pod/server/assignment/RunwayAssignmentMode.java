@@ -0,0 +1,28 @@
+package ar.edu.itba.pod.server.assignment;
+
+import java.util.Locale;
+
+/*
+ * Estrategias de asignacion de pistas incluidas en el servidor. SHORTEST_QUEUE es la original
+ */
+public enum RunwayAssignmentMode {
+    SHORTEST_QUEUE,
+    EXPECTED_WAIT,
+    CATEGORY_PRESERVING;
+
+    public static RunwayAssignmentMode fromName(final String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    public RunwayAssignmentStrategy create() {
+        switch (this) {
+            case EXPECTED_WAIT:
+                return new ExpectedWaitStrategy();
+            case CATEGORY_PRESERVING:
+                return new CategoryPreservingStrategy();
+            case SHORTEST_QUEUE:
+            default:
+                return new ShortestQueueStrategy();
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package ar.edu.itba.pod.server.assignment;
+
+import ar.edu.itba.pod.server.models.Flight;
+import ar.edu.itba.pod.server.models.Runway;
+
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Elige en que pista se encola un vuelo. Recibe las pistas abiertas que admiten la categoria del vuelo, ordenadas
+ * por categoria y luego por nombre, y devuelve vacio si ninguna le sirve.
+ * Se llama dentro de las operaciones del engine, por lo que puede leer el estado de las pistas sin sincronizar
+ */
+public interface RunwayAssignmentStrategy {
+
+    Optional<Runway> select(final Flight flight, final List<Runway> candidates);
+}
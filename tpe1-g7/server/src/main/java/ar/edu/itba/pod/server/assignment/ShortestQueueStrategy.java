@@ -0,0 +1,20 @@
+package ar.edu.itba.pod.server.assignment;
+
+import ar.edu.itba.pod.server.models.Flight;
+import ar.edu.itba.pod.server.models.Runway;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+/*
+ * Elige la pista con menos vuelos en cola. Ante un empate queda la primera candidata, es decir la de menor
+ * categoria y luego la de menor nombre
+ */
+public class ShortestQueueStrategy implements RunwayAssignmentStrategy {
+
+    @Override
+    public Optional<Runway> select(final Flight flight, final List<Runway> candidates) {
+        return candidates.stream().min(Comparator.comparingLong(Runway::getDepartureQueueSize));
+    }
+}
@@ -0,0 +1,131 @@
+package ar.edu.itba.pod.server.config;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/*
+ * Pistas y vuelos en espera con los que arranca el servidor. Se valida al crearla que no haya pistas ni vuelos
+ * repetidos y que los vuelos encolados en una pista de la configuracion entren en su categoria
+ */
+public class AirportConfig {
+
+    final private List<RunwaySpec> runways;
+    final private List<FlightSpec> flights;
+    final private Map<String, RunwaySpec> runwaysByName;
+
+    public AirportConfig(final List<RunwaySpec> runways, final List<FlightSpec> flights) {
+        if (runways == null || flights == null)
+            throw new IllegalArgumentException("Runways and flights MUST NOT be null");
+
+        final Map<String, RunwaySpec> runwaysByName = new HashMap<>();
+        for (RunwaySpec runway : runways) {
+            if (runwaysByName.putIfAbsent(runway.getName(), runway) != null)
+                throw new IllegalArgumentException("Runway " + runway.getName() + " is defined more than once");
+        }
+        final Set<String> flightIds = new HashSet<>();
+        for (FlightSpec flight : flights) {
+            if (!flightIds.add(flight.getId()))
+                throw new IllegalArgumentException("Flight " + flight.getId() + " is queued more than once");
+            final RunwaySpec runway = flight.getRunwayName() == null ? null : runwaysByName.get(flight.getRunwayName());
+            if (runway != null && runway.getCategory().compareTo(flight.getCategory()) < 0)
+                throw new IllegalArgumentException("Runway " + runway.getName() + " does not admit flight "
+                        + flight.getId() + " of category " + flight.getCategory());
+        }
+
+        this.runways = Collections.unmodifiableList(runways);
+        this.flights = Collections.unmodifiableList(flights);
+        this.runwaysByName = runwaysByName;
+    }
+
+    public List<RunwaySpec> getRunways() {
+        return runways;
+    }
+
+    /*
+     * La pista de la configuracion con ese nombre, o null si no esta
+     */
+    public RunwaySpec getRunway(final String name) {
+        return runwaysByName.get(name);
+    }
+
+    /*
+     * En el orden en que se encolan
+     */
+    public List<FlightSpec> getFlights() {
+        return flights;
+    }
+
+    public static class RunwaySpec {
+        final private String name;
+        final private RunwayCategory category;
+        final private boolean open;
+
+        public RunwaySpec(final String name, final RunwayCategory category, final boolean open) {
+            if (name == null || category == null)
+                throw new IllegalArgumentException("Runway name and Runway category MUST NOT be null");
+            this.name = name;
+            this.category = category;
+            this.open = open;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public RunwayCategory getCategory() {
+            return category;
+        }
+
+        public boolean isOpen() {
+            return open;
+        }
+    }
+
+    public static class FlightSpec {
+        final private String id;
+        final private String destinationAirportId;
+        final private String airline;
+        final private RunwayCategory category;
+        final private String runwayName;
+
+        /*
+         * runwayName puede ser null, y entonces la pista la elige la estrategia de asignacion como en requestRunway
+         */
+        public FlightSpec(final String id, final String destinationAirportId, final String airline,
+                          final RunwayCategory category, final String runwayName) {
+            if (id == null || destinationAirportId == null || airline == null || category == null)
+                throw new IllegalArgumentException("flight ID, destination airport ID, airline name and minimum runway category MUST NOT be null");
+            this.id = id;
+            this.destinationAirportId = destinationAirportId;
+            this.airline = airline;
+            this.category = category;
+            this.runwayName = runwayName;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getDestinationAirportId() {
+            return destinationAirportId;
+        }
+
+        public String getAirline() {
+            return airline;
+        }
+
+        public RunwayCategory getCategory() {
+            return category;
+        }
+
+        public String getRunwayName() {
+            return runwayName;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package ar.edu.itba.pod.server.config;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Lee la configuracion del aeropuerto de un archivo de texto con un registro por linea, separando los campos con ';':
+ *   runway;nombre;categoria[;open|closed]
+ *   flight;codigo;destino;aerolinea;categoria[;pista]
+ * Las lineas vacias y las que empiezan con '#' se ignoran. Los vuelos se encolan en el orden del archivo.
+ * Separa los campos a mano, sin expresiones regulares, y comparte entre los vuelos los destinos, aerolineas y pistas
+ * iguales, que en archivos grandes se repiten mucho
+ */
+public class AirportConfigReader {
+    static final private char SEPARATOR = ';';
+    static final private char COMMENT = '#';
+    static final private String RUNWAY = "runway";
+    static final private String FLIGHT = "flight";
+    static final private String OPEN = "open";
+    static final private String CLOSED = "closed";
+    static final private int MAX_FIELDS = 6;
+    static final private int BUFFER_SIZE = 1 << 16;
+
+    final private List<AirportConfig.RunwaySpec> runways = new ArrayList<>();
+    final private List<AirportConfig.FlightSpec> flights = new ArrayList<>();
+    final private Map<String, String> names = new HashMap<>();
+    final private String[] fields = new String[MAX_FIELDS];
+
+    private AirportConfigReader() {
+    }
+
+    public static AirportConfig read(final Path file) throws IOException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8)) {
+            return read(reader);
+        }
+    }
+
+    public static AirportConfig read(final Reader reader) throws IOException {
+        final AirportConfigReader configReader = new AirportConfigReader();
+        final BufferedReader in = new BufferedReader(reader, BUFFER_SIZE);
+        String line;
+        long lineNumber = 0;
+        while ((line = in.readLine()) != null) {
+            lineNumber++;
+            try {
+                configReader.parseLine(line);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid line " + lineNumber + " (" + line + "): " + e.getMessage());
+            }
+        }
+        return new AirportConfig(configReader.runways, configReader.flights);
+    }
+
+    private void parseLine(final String line) {
+        final int count = split(line);
+        if (count == 0)
+            return;
+
+        if (fields[0].equals(RUNWAY)) {
+            requireFields(count, 3, 4);
+            final boolean open;
+            if (count < 4 || fields[3].equals(OPEN))
+                open = true;
+            else if (fields[3].equals(CLOSED))
+                open = false;
+            else
+                throw new IllegalArgumentException("runway state must be " + OPEN + " or " + CLOSED);
+            runways.add(new AirportConfig.RunwaySpec(shared(fields[1]), parseCategory(fields[2]), open));
+        } else if (fields[0].equals(FLIGHT)) {
+            requireFields(count, 5, 6);
+            flights.add(new AirportConfig.FlightSpec(fields[1], shared(fields[2]), shared(fields[3]),
+                    parseCategory(fields[4]), count < 6 ? null : shared(fields[5])));
+        } else {
+            throw new IllegalArgumentException("expected " + RUNWAY + " or " + FLIGHT + " but was " + fields[0]);
+        }
+    }
+
+    /*
+     * Deja los campos de la linea en fields y devuelve cuantos son, o 0 si la linea se ignora
+     */
+    private int split(final String line) {
+        if (line.isEmpty() || line.charAt(0) == COMMENT || line.trim().isEmpty())
+            return 0;
+        int count = 0;
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(SEPARATOR, start)) >= 0) {
+            if (count == MAX_FIELDS - 1)
+                throw new IllegalArgumentException("too many fields");
+            fields[count++] = line.substring(start, end);
+            start = end + 1;
+        }
+        fields[count++] = line.substring(start);
+        return count;
+    }
+
+    private static void requireFields(final int count, final int min, final int max) {
+        if (count < min || count > max)
+            throw new IllegalArgumentException("expected " + min + (min == max ? "" : " to " + max)
+                    + " fields but there are " + count);
+    }
+
+    private static RunwayCategory parseCategory(final String category) {
+        try {
+            return RunwayCategory.valueOf(category);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown runway category " + category);
+        }
+    }
+
+    private String shared(final String name) {
+        final String previous = names.putIfAbsent(name, name);
+        return previous == null ? name : previous;
+    }
+}
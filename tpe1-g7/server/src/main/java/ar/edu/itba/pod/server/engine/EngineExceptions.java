@@ -0,0 +1,26 @@
+package ar.edu.itba.pod.server.engine;
+
+import ar.edu.itba.pod.exceptions.NoSuchFlightException;
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.exceptions.RunwayAlreadyExistsException;
+
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+
+class EngineExceptions {
+
+    private EngineExceptions() {
+    }
+
+    /*
+     * Relanza las excepciones que forman parte de la API del Servant; el resto se envuelve en un ServerError
+     */
+    static <V> V rethrow(final Throwable e) throws RemoteException {
+        if (e instanceof RemoteException)
+            throw (RemoteException) e;
+        if (e instanceof RunwayAlreadyExistsException || e instanceof NoSuchRunwayException ||
+                e instanceof NoSuchFlightException || e instanceof IllegalStateException)
+            throw (RuntimeException) e;
+        throw new ServerError("Unknown error", e instanceof Error ? (Error) e : new Error(e));
+    }
+}
@@ -0,0 +1,151 @@
+package ar.edu.itba.pod.server.engine;
+
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Ejecuta todas las operaciones, de lectura y de escritura, en un unico thread que las toma en orden de una cola
+ * acotada. Los threads de RMI solo encolan la operacion y esperan su resultado, sin competir por ningun lock sobre
+ * las pistas. El thread toma de la cola todas las operaciones pendientes de una vez, por lo que bajo carga
+ * procesa lotes sin volver a sincronizar con la cola por cada operacion.
+ * Si la cola esta llena, se espera hasta el timeout (SUBMIT_TIMEOUT por defecto) para encolar y luego se falla con
+ * un ServerError, y lo mismo si el loop no empieza la operacion encolada dentro del timeout. Una operacion que ya
+ * empezo se espera hasta que termine, ya que sus cambios se aplican aunque quien la pidio deje de esperar.
+ * Una operacion que invoca al engine desde el thread del loop se ejecuta en el momento
+ */
+public class EventLoopEngine implements ServantEngine {
+
+    static final public int DEFAULT_CAPACITY = 1024;
+    static final private long SUBMIT_TIMEOUT = 30L;
+    static final private TimeUnit SUBMIT_TIME_UNIT = TimeUnit.SECONDS;
+
+    final private BlockingQueue<FutureTask<?>> operations;
+    final private int capacity;
+    final private long timeout;
+    final private TimeUnit timeUnit;
+    final private Thread loop;
+    private volatile boolean stopped;
+
+    public EventLoopEngine() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public EventLoopEngine(final int capacity) {
+        this(capacity, SUBMIT_TIMEOUT, SUBMIT_TIME_UNIT);
+    }
+
+    public EventLoopEngine(final int capacity, final long timeout, final TimeUnit timeUnit) {
+        if (capacity <= 0)
+            throw new IllegalArgumentException("Capacity MUST be positive");
+        if (timeout <= 0 || timeUnit == null)
+            throw new IllegalArgumentException("Timeout MUST be positive");
+        this.operations = new ArrayBlockingQueue<>(capacity);
+        this.capacity = capacity;
+        this.timeout = timeout;
+        this.timeUnit = timeUnit;
+        this.loop = new Thread(this::run, "servant-event-loop");
+        this.loop.setDaemon(true);
+        this.loop.start();
+    }
+
+    @Override
+    public <V> V write(final Callable<V> operation) throws RemoteException {
+        return submit(operation);
+    }
+
+    @Override
+    public <V> V read(final Callable<V> operation) throws RemoteException {
+        return submit(operation);
+    }
+
+    public int getPendingOperations() {
+        return operations.size();
+    }
+
+    /*
+     * Detiene el loop; las operaciones pendientes se cancelan y las nuevas se rechazan, en ambos casos con un ServerError
+     */
+    public void shutdown() {
+        stopped = true;
+        loop.interrupt();
+        final List<FutureTask<?>> pending = new ArrayList<>();
+        operations.drainTo(pending);
+        for (FutureTask<?> task : pending)
+            task.cancel(true);
+    }
+
+    private <V> V submit(final Callable<V> operation) throws RemoteException {
+        if (Thread.currentThread() == loop) {
+            try {
+                return operation.call();
+            } catch (Exception e) {
+                return EngineExceptions.rethrow(e);
+            }
+        }
+
+        if (stopped)
+            throw stoppedError();
+
+        /* El loop y quien espera se disputan started: si el loop no la empezo a tiempo, ya no la ejecuta */
+        final AtomicBoolean started = new AtomicBoolean();
+        final FutureTask<V> task = new FutureTask<>(() -> started.compareAndSet(false, true) ? operation.call() : null);
+        try {
+            if (!operations.offer(task, timeout, timeUnit))
+                throw capacityError();
+            /* Si se detuvo mientras se encolaba, shutdown puede no haberla visto */
+            if (stopped && operations.remove(task))
+                task.cancel(true);
+            try {
+                return task.get(timeout, timeUnit);
+            } catch (TimeoutException e) {
+                if (started.compareAndSet(false, true)) {
+                    task.cancel(false);
+                    throw capacityError();
+                }
+                return task.get();
+            }
+        } catch (ExecutionException e) {
+            return EngineExceptions.rethrow(e.getCause());
+        } catch (CancellationException e) {
+            throw stoppedError();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return EngineExceptions.rethrow(e);
+        }
+    }
+
+    private static ServerError capacityError() {
+        return new ServerError("Exceeded event loop capacity", new Error(new RejectedExecutionException()));
+    }
+
+    private static ServerError stoppedError() {
+        return new ServerError("Event loop stopped", new Error(new RejectedExecutionException()));
+    }
+
+    private void run() {
+        final List<FutureTask<?>> batch = new ArrayList<>(capacity);
+        while (!stopped && !Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(operations.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            operations.drainTo(batch);
+            for (FutureTask<?> task : batch)
+                task.run();
+            batch.clear();
+        }
+    }
+}
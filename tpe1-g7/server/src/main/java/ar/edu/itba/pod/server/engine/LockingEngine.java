@@ -0,0 +1,58 @@
+package ar.edu.itba.pod.server.engine;
+
+import java.rmi.RemoteException;
+import java.rmi.ServerError;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Ejecuta cada operacion en el thread que la invoca, con un lock de lectura/escritura justo.
+ * Si no consigue el lock luego de LOCK_RETRIES esperas de LOCK_TIMEOUT falla con un ServerError
+ */
+public class LockingEngine implements ServantEngine {
+
+    static final private long LOCK_TIMEOUT = 5L;
+    static final private TimeUnit LOCK_TIME_UNIT = TimeUnit.SECONDS;
+    static final private int LOCK_RETRIES = 6;
+
+    final private ReadWriteLock lock;
+
+    public LockingEngine() {
+        this.lock = new ReentrantReadWriteLock(true);
+    }
+
+    @Override
+    public <V> V write(final Callable<V> operation) throws RemoteException {
+        return tryLockWithTimeout(operation, lock.writeLock());
+    }
+
+    @Override
+    public <V> V read(final Callable<V> operation) throws RemoteException {
+        return tryLockWithTimeout(operation, lock.readLock());
+    }
+
+    private <V> V tryLockWithTimeout(final Callable<V> callable, final Lock lock) throws RemoteException {
+        for (int i = 0; i < LOCK_RETRIES; ++i) {
+            final boolean locked;
+            try {
+                locked = lock.tryLock(LOCK_TIMEOUT, LOCK_TIME_UNIT);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return EngineExceptions.rethrow(e);
+            }
+            if (locked) {
+                try {
+                    return callable.call();
+                } catch (Exception e) {
+                    return EngineExceptions.rethrow(e);
+                } finally {
+                    lock.unlock();
+                }
+            }
+        }
+        throw new ServerError("Exceeded lock retries", new Error(new IllegalMonitorStateException()));
+    }
+}
@@ -0,0 +1,17 @@
+package ar.edu.itba.pod.server.engine;
+
+import java.rmi.RemoteException;
+import java.util.concurrent.Callable;
+
+/*
+ * Ejecuta las operaciones del Servant sobre las pistas y colas, que no son thread-safe.
+ * write se usa para las operaciones que las modifican y read para las que solo las consultan.
+ * Las excepciones de la operacion se propagan igual que si se hubiera ejecutado en el thread que llama,
+ * salvo las inesperadas, que se envuelven en un ServerError
+ */
+public interface ServantEngine {
+
+    <V> V write(final Callable<V> operation) throws RemoteException;
+
+    <V> V read(final Callable<V> operation) throws RemoteException;
+}
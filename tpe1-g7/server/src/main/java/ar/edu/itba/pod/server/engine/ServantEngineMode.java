@@ -0,0 +1,26 @@
+package ar.edu.itba.pod.server.engine;
+
+import java.util.Locale;
+
+/*
+ * LOCKING ejecuta las operaciones en los threads de RMI con un lock de lectura/escritura sobre las pistas.
+ * EVENT_LOOP las ejecuta todas en un unico thread, sin locks
+ */
+public enum ServantEngineMode {
+    LOCKING,
+    EVENT_LOOP;
+
+    public static ServantEngineMode fromName(final String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT).replace('-', '_'));
+    }
+
+    public ServantEngine create() {
+        switch (this) {
+            case EVENT_LOOP:
+                return new EventLoopEngine();
+            case LOCKING:
+            default:
+                return new LockingEngine();
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package ar.edu.itba.pod.server.executor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Pool donde el servidor envia los callbacks a los clientes. Cada callback bloquea su thread durante la
+ * llamada RMI, por lo que con muchos suscriptores lentos el pool cacheado crea un thread de plataforma por
+ * callback en curso.
+ * VIRTUAL usa un thread virtual por callback. El proyecto compila para Java 8, asi que se obtiene por
+ * reflexion y solo esta disponible si el servidor corre en Java 21 o superior; si no, se usa CACHED
+ */
+public enum CallbackExecutorMode {
+    CACHED,
+    FIXED,
+    VIRTUAL;
+
+    private static final Logger logger = LoggerFactory.getLogger(CallbackExecutorMode.class);
+
+    private static final String VIRTUAL_EXECUTOR_FACTORY = "newVirtualThreadPerTaskExecutor";
+
+    public static CallbackExecutorMode fromName(final String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    public static boolean isVirtualAvailable() {
+        return findVirtualExecutorFactory() != null;
+    }
+
+    public ExecutorService create(final int threads) {
+        switch (this) {
+            case FIXED:
+                return Executors.newFixedThreadPool(threads);
+            case VIRTUAL:
+                final Method factory = findVirtualExecutorFactory();
+                if (factory != null) {
+                    try {
+                        return (ExecutorService) factory.invoke(null);
+                    } catch (ReflectiveOperationException e) {
+                        logger.warn("Could not create virtual thread executor: " + e.getMessage());
+                    }
+                }
+                logger.warn("Virtual threads are not available in this JVM, falling back to a cached thread pool.");
+                return Executors.newCachedThreadPool();
+            case CACHED:
+            default:
+                return Executors.newCachedThreadPool();
+        }
+    }
+
+    private static Method findVirtualExecutorFactory() {
+        try {
+            return Executors.class.getMethod(VIRTUAL_EXECUTOR_FACTORY);
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
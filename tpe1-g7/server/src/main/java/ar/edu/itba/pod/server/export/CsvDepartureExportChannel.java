@@ -0,0 +1,93 @@
+package ar.edu.itba.pod.server.export;
+
+import ar.edu.itba.pod.DepartureExportChannel;
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.utils.DepartureCsv;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.rmi.NoSuchObjectException;
+import java.rmi.RemoteException;
+import java.rmi.server.UnicastRemoteObject;
+import java.rmi.server.Unreferenced;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Genera el CSV de una consulta bloque a bloque a medida que el cliente lo pide, de forma que ni el
+ * servidor ni el cliente necesitan tener el archivo completo en memoria.
+ * Se desexporta al terminar, al cerrarse o cuando el cliente deja de referenciarlo.
+ * Mientras esta abierto se guarda en OPEN_CHANNELS: RMI solo mantiene una referencia debil a los objetos
+ * exportados sin clientes registrados, y el canal no debe poder liberarse antes de que el cliente lo lea
+ */
+public class CsvDepartureExportChannel implements DepartureExportChannel, Unreferenced {
+    private static final Logger logger = LoggerFactory.getLogger(CsvDepartureExportChannel.class);
+
+    static final private int CHUNK_SIZE = 64 * 1024;
+    static final private Set<CsvDepartureExportChannel> OPEN_CHANNELS = ConcurrentHashMap.newKeySet();
+
+    final private List<DepartureData> departures;
+    final private StringBuilder buffer;
+    private int nextIndex;
+    private boolean headerSent;
+    private boolean closed;
+
+    private CsvDepartureExportChannel(final List<DepartureData> departures) {
+        this.departures = departures;
+        this.buffer = new StringBuilder(CHUNK_SIZE + 256);
+        this.nextIndex = 0;
+        this.headerSent = false;
+        this.closed = false;
+    }
+
+    public static DepartureExportChannel export(final List<DepartureData> departures) throws RemoteException {
+        final CsvDepartureExportChannel channel = new CsvDepartureExportChannel(departures);
+        OPEN_CHANNELS.add(channel);
+        try {
+            return (DepartureExportChannel) UnicastRemoteObject.exportObject(channel, 0);
+        } catch (RemoteException e) {
+            OPEN_CHANNELS.remove(channel);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized byte[] read() throws RemoteException {
+        if (closed)
+            return null;
+
+        buffer.setLength(0);
+        if (!headerSent) {
+            buffer.append(DepartureCsv.HEADER);
+            headerSent = true;
+        }
+        while (nextIndex < departures.size() && buffer.length() < CHUNK_SIZE)
+            DepartureCsv.appendRow(buffer, departures.get(nextIndex++));
+
+        if (buffer.length() == 0) {
+            close();
+            return null;
+        }
+        return buffer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed)
+            return;
+        closed = true;
+        OPEN_CHANNELS.remove(this);
+        try {
+            UnicastRemoteObject.unexportObject(this, true);
+        } catch (NoSuchObjectException e) {
+            logger.error("Export channel was not exported.");
+        }
+    }
+
+    @Override
+    public void unreferenced() {
+        close();
+    }
+}
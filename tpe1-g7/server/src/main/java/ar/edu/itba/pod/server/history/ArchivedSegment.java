@@ -0,0 +1,36 @@
+package ar.edu.itba.pod.server.history;
+
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DepartureDataList;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/*
+ * Lo que se mantiene en memoria de un segmento archivado para decidir si leerlo
+ */
+class ArchivedSegment {
+    final long firstPosition;
+    final int size;
+    final LocalDateTime firstDepartedOn;
+    final LocalDateTime lastDepartedOn;
+    final Set<String> runways;
+    final Set<String> airlines;
+
+    ArchivedSegment(final long firstPosition, final DepartureDataList departures) {
+        this.firstPosition = firstPosition;
+        this.size = departures.size();
+        this.firstDepartedOn = departures.get(0).getDepartedOn();
+        this.lastDepartedOn = departures.get(departures.size() - 1).getDepartedOn();
+        final Set<String> runways = new HashSet<>();
+        final Set<String> airlines = new HashSet<>();
+        for (DepartureData departure : departures) {
+            runways.add(departure.getRunwayName());
+            airlines.add(departure.getAirline());
+        }
+        this.runways = Collections.unmodifiableSet(runways);
+        this.airlines = Collections.unmodifiableSet(airlines);
+    }
+}
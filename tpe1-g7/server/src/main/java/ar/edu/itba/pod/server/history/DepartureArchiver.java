@@ -0,0 +1,16 @@
+package ar.edu.itba.pod.server.history;
+
+import ar.edu.itba.pod.models.DepartureDataList;
+
+import java.io.IOException;
+
+/*
+ * Destino de los despegues que el historial saca de memoria. Recibe segmentos de despegues consecutivos,
+ * identificados por la posicion en el historial del primero, y debe poder devolverlos para responder consultas
+ */
+public interface DepartureArchiver {
+
+    void write(final long firstPosition, final DepartureDataList departures) throws IOException;
+
+    DepartureDataList read(final long firstPosition) throws IOException;
+}
@@ -0,0 +1,211 @@
+package ar.edu.itba.pod.server.history;
+
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DepartureDataList;
+import ar.edu.itba.pod.models.DeparturePage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Historial de despegues del aeropuerto en orden de despegue, con indices por pista y por aerolinea que
+ * guardan la posicion de cada despegue en el historial.
+ * Segun la RetentionPolicy, los despegues mas antiguos se sacan de memoria de a segmentos y se entregan al
+ * DepartureArchiver (sin archivador se descartan).
+ * Los despegues solo se agregan al final y se desalojan del principio, sin modificar nunca lo ya publicado:
+ * al quedarse sin lugar se copia a un arreglo nuevo. Luego de cada cambio se publica un DepartureHistorySnapshot
+ * inmutable que las consultas toman sin locks, por lo que una consulta larga no demora los despegues. Las versiones
+ * publicadas de los indices se guardan en VersionTables, que comparten con la version anterior todo salvo el bloque
+ * de la pista o aerolinea que cambio.
+ * Solo puede escribir un thread a la vez (con el lock de escritura de las pistas o desde el event loop)
+ */
+public class DepartureHistory {
+    private static final Logger logger = LoggerFactory.getLogger(DepartureHistory.class);
+    static final private int INITIAL_CAPACITY = 16;
+
+    private DepartureData[] departures;
+    private int start;
+    private int end;
+    private final Map<String, PositionIndex> runwayIndex;
+    private final Map<String, PositionIndex> airlineIndex;
+    private VersionTable runwayVersions;
+    private VersionTable airlineVersions;
+    private final RetentionPolicy retention;
+    private final DepartureArchiver archiver;
+    private final long id;
+    private List<ArchivedSegment> segments;
+    private long firstPosition;
+    private LocalDateTime lastDepartedOn;
+    private volatile DepartureHistorySnapshot snapshot;
+
+    public DepartureHistory() {
+        this(RetentionPolicy.UNBOUNDED, null);
+    }
+
+    public DepartureHistory(final RetentionPolicy retention, final DepartureArchiver archiver) {
+        this.departures = new DepartureData[INITIAL_CAPACITY];
+        this.start = 0;
+        this.end = 0;
+        this.runwayIndex = new HashMap<>();
+        this.airlineIndex = new HashMap<>();
+        this.runwayVersions = VersionTable.EMPTY;
+        this.airlineVersions = VersionTable.EMPTY;
+        this.retention = retention;
+        this.archiver = archiver;
+        this.id = ThreadLocalRandom.current().nextLong();
+        this.segments = Collections.emptyList();
+        this.firstPosition = 0;
+        publish();
+    }
+
+    /*
+     * Fecha para el proximo despegue: la actual, salvo que el reloj del sistema haya retrocedido respecto
+     * del ultimo despegue, en cuyo caso se repite la del ultimo para mantener el historial ordenado
+     */
+    public LocalDateTime nextDepartedOn() {
+        final LocalDateTime now = LocalDateTime.now();
+        if (lastDepartedOn == null)
+            return now;
+        return now.isBefore(lastDepartedOn) ? lastDepartedOn : now;
+    }
+
+    /*
+     * La fecha de despegue debe ser mayor o igual a la del ultimo despegue agregado
+     */
+    public void add(final DepartureData departure) {
+        final long position = firstPosition + end - start;
+        if (end == departures.length) {
+            final DepartureData[] grown = new DepartureData[Math.max(INITIAL_CAPACITY, (end - start) * 2)];
+            System.arraycopy(departures, start, grown, 0, end - start);
+            departures = grown;
+            end -= start;
+            start = 0;
+        }
+        departures[end++] = departure;
+        lastDepartedOn = departure.getDepartedOn();
+        final PositionIndex runwayPositions = runwayIndex.computeIfAbsent(departure.getRunwayName(),
+                k -> new PositionIndex());
+        final PositionIndex airlinePositions = airlineIndex.computeIfAbsent(departure.getAirline(),
+                k -> new PositionIndex());
+        runwayPositions.add(position);
+        airlinePositions.add(position);
+        runwayVersions = runwayVersions.with(departure.getRunwayName(), runwayPositions.publish());
+        airlineVersions = airlineVersions.with(departure.getAirline(), airlinePositions.publish());
+        publish();
+        applyRetention(departure.getDepartedOn());
+    }
+
+    /*
+     * La ultima version publicada, que no cambia aunque se sigan agregando despegues
+     */
+    public DepartureHistorySnapshot snapshot() {
+        return snapshot;
+    }
+
+    /*
+     * Cantidad total de despegues, incluidos los que ya no estan en memoria
+     */
+    public long size() {
+        return snapshot.size();
+    }
+
+    public int getRetainedSize() {
+        return snapshot.getRetainedSize();
+    }
+
+    /*
+     * Identifica a este historial, de forma que los cursores de un servidor no se confundan con los de otro
+     */
+    public long getId() {
+        return id;
+    }
+
+    public DepartureDataList getAll() {
+        return snapshot.getAll();
+    }
+
+    public DepartureDataList getByRunway(final String runwayName) {
+        return snapshot.getByRunway(runwayName);
+    }
+
+    public DepartureDataList getByAirline(final String airline) {
+        return snapshot.getByAirline(airline);
+    }
+
+    public DepartureDataList getBetween(final LocalDateTime from, final LocalDateTime to) {
+        return snapshot.getBetween(from, to);
+    }
+
+    public DepartureDataList getByRunwayBetween(final String runwayName, final LocalDateTime from, final LocalDateTime to) {
+        return snapshot.getByRunwayBetween(runwayName, from, to);
+    }
+
+    public DepartureDataList getByAirlineBetween(final String airline, final LocalDateTime from, final LocalDateTime to) {
+        return snapshot.getByAirlineBetween(airline, from, to);
+    }
+
+    public DeparturePage getSince(final long cursor) {
+        return snapshot.getSince(cursor);
+    }
+
+    public DeparturePage getByRunwaySince(final String runwayName, final long cursor) {
+        return snapshot.getByRunwaySince(runwayName, cursor);
+    }
+
+    public DeparturePage getByAirlineSince(final String airline, final long cursor) {
+        return snapshot.getByAirlineSince(airline, cursor);
+    }
+
+    private void publish() {
+        snapshot = new DepartureHistorySnapshot(id, departures, start, end - start, firstPosition, segments, archiver,
+                runwayVersions, airlineVersions);
+    }
+
+    /*
+     * Desaloja segmentos completos mientras haya suficientes despegues que exceden la cantidad o la antiguedad
+     * maxima. Si el archivador falla, los despegues quedan en memoria y se vuelve a intentar en el proximo despegue.
+     * Los segmentos archivados se agregan a una lista nueva, ya que la anterior puede estar en uso por una consulta
+     */
+    private void applyRetention(final LocalDateTime now) {
+        final int segmentSize = retention.getSegmentSize();
+        while (getEvictableCount(now) >= segmentSize) {
+            final DepartureDataList segment = new DepartureDataList(
+                    Arrays.asList(departures).subList(start, start + segmentSize));
+            if (archiver != null) {
+                try {
+                    archiver.write(firstPosition, segment);
+                } catch (IOException e) {
+                    logger.error("Could not archive departures, keeping them in memory: " + e.getMessage());
+                    return;
+                }
+                final List<ArchivedSegment> archived = new ArrayList<>(segments);
+                archived.add(new ArchivedSegment(firstPosition, segment));
+                segments = Collections.unmodifiableList(archived);
+            }
+            start += segmentSize;
+            firstPosition += segmentSize;
+            runwayIndex.values().removeIf(index -> index.evictBefore(firstPosition) == 0);
+            airlineIndex.values().removeIf(index -> index.evictBefore(firstPosition) == 0);
+            runwayVersions = runwayVersions.republish(runwayIndex);
+            airlineVersions = airlineVersions.republish(airlineIndex);
+            publish();
+        }
+    }
+
+    private long getEvictableCount(final LocalDateTime now) {
+        long evictable = Math.max(0, end - start - retention.getMaxDepartures());
+        final LocalDateTime oldestRetained = retention.getOldestRetained(now);
+        if (oldestRetained != null)
+            evictable = Math.max(evictable, snapshot.countRetainedBefore(oldestRetained));
+        return evictable;
+    }
+}
@@ -0,0 +1,236 @@
+package ar.edu.itba.pod.server.history;
+
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DepartureDataList;
+import ar.edu.itba.pod.models.DeparturePage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+/*
+ * Version inmutable del historial de despegues. Comparte con el historial los arreglos de despegues y de posiciones,
+ * pero solo lee el rango que estaba publicado al crearse, que el historial nunca modifica. Por eso se puede consultar
+ * desde cualquier thread sin locks mientras se siguen agregando despegues.
+ * Las consultas por rango de fechas y desde un cursor se resuelven con busqueda binaria sobre los indices por pista
+ * y por aerolinea, y combinan los segmentos archivados que pueden contener resultados con la memoria
+ */
+public class DepartureHistorySnapshot {
+
+    final private long historyId;
+    final private DepartureData[] departures;
+    final private int start;
+    final private int retained;
+    final private long firstPosition;
+    final private List<ArchivedSegment> segments;
+    final private DepartureArchiver archiver;
+    final private VersionTable runwayIndex;
+    final private VersionTable airlineIndex;
+    final private View all;
+
+    DepartureHistorySnapshot(final long historyId, final DepartureData[] departures, final int start,
+                             final int retained, final long firstPosition, final List<ArchivedSegment> segments,
+                             final DepartureArchiver archiver, final VersionTable runwayIndex,
+                             final VersionTable airlineIndex) {
+        this.historyId = historyId;
+        this.departures = departures;
+        this.start = start;
+        this.retained = retained;
+        this.firstPosition = firstPosition;
+        this.segments = segments;
+        this.archiver = archiver;
+        this.runwayIndex = runwayIndex;
+        this.airlineIndex = airlineIndex;
+        this.all = new View() {
+            @Override
+            public int size() {
+                return retained;
+            }
+
+            @Override
+            public long position(final int i) {
+                return firstPosition + i;
+            }
+        };
+    }
+
+    /*
+     * Cantidad total de despegues, incluidos los que ya no estan en memoria
+     */
+    public long size() {
+        return firstPosition + retained;
+    }
+
+    public int getRetainedSize() {
+        return retained;
+    }
+
+    /*
+     * Cursor del despegue mas antiguo que devuelven las consultas: 0 salvo que se hayan descartado despegues
+     * sin archivarlos
+     */
+    public long getFirstCursor() {
+        return segments.isEmpty() ? firstPosition : segments.get(0).firstPosition;
+    }
+
+    public DepartureDataList getAll() {
+        final DepartureDataList answer = new DepartureDataList();
+        collectArchived(answer, segment -> true, 0, departure -> true);
+        return collect(answer, all, 0, retained);
+    }
+
+    public DepartureDataList getByRunway(final String runwayName) {
+        final DepartureDataList answer = new DepartureDataList();
+        collectArchived(answer, segment -> segment.runways.contains(runwayName), 0,
+                departure -> departure.getRunwayName().equals(runwayName));
+        return collect(answer, runway(runwayName), 0, runway(runwayName).size());
+    }
+
+    public DepartureDataList getByAirline(final String airline) {
+        final DepartureDataList answer = new DepartureDataList();
+        collectArchived(answer, segment -> segment.airlines.contains(airline), 0,
+                departure -> departure.getAirline().equals(airline));
+        return collect(answer, airline(airline), 0, airline(airline).size());
+    }
+
+    public DepartureDataList getBetween(final LocalDateTime from, final LocalDateTime to) {
+        return between(all, segment -> true, departure -> true, from, to);
+    }
+
+    public DepartureDataList getByRunwayBetween(final String runwayName, final LocalDateTime from, final LocalDateTime to) {
+        return between(runway(runwayName), segment -> segment.runways.contains(runwayName),
+                departure -> departure.getRunwayName().equals(runwayName), from, to);
+    }
+
+    public DepartureDataList getByAirlineBetween(final String airline, final LocalDateTime from, final LocalDateTime to) {
+        return between(airline(airline), segment -> segment.airlines.contains(airline),
+                departure -> departure.getAirline().equals(airline), from, to);
+    }
+
+    public DeparturePage getSince(final long cursor) {
+        return since(all, segment -> true, departure -> true, cursor);
+    }
+
+    public DeparturePage getByRunwaySince(final String runwayName, final long cursor) {
+        return since(runway(runwayName), segment -> segment.runways.contains(runwayName),
+                departure -> departure.getRunwayName().equals(runwayName), cursor);
+    }
+
+    public DeparturePage getByAirlineSince(final String airline, final long cursor) {
+        return since(airline(airline), segment -> segment.airlines.contains(airline),
+                departure -> departure.getAirline().equals(airline), cursor);
+    }
+
+    /*
+     * Cantidad de despegues en memoria con fecha de despegue anterior a time
+     */
+    int countRetainedBefore(final LocalDateTime time) {
+        return firstDepartedOnOrAfter(all, time);
+    }
+
+    private View runway(final String runwayName) {
+        return runwayIndex.get(runwayName);
+    }
+
+    private View airline(final String airline) {
+        return airlineIndex.get(airline);
+    }
+
+    private DepartureData get(final long position) {
+        return departures[start + (int) (position - firstPosition)];
+    }
+
+    private DepartureDataList between(final View view, final Predicate<ArchivedSegment> segmentFilter,
+                                      final Predicate<DepartureData> filter, final LocalDateTime from,
+                                      final LocalDateTime to) {
+        final DepartureDataList answer = new DepartureDataList();
+        if (!to.isAfter(from))
+            return answer;
+        collectArchived(answer,
+                segmentFilter.and(segment -> !segment.lastDepartedOn.isBefore(from) && segment.firstDepartedOn.isBefore(to)),
+                0,
+                filter.and(departure -> !departure.getDepartedOn().isBefore(from) && departure.getDepartedOn().isBefore(to)));
+        return collect(answer, view, firstDepartedOnOrAfter(view, from), firstDepartedOnOrAfter(view, to));
+    }
+
+    private DeparturePage since(final View view, final Predicate<ArchivedSegment> segmentFilter,
+                                final Predicate<DepartureData> filter, final long cursor) {
+        final DepartureDataList answer = new DepartureDataList();
+        collectArchived(answer, segmentFilter, cursor, filter);
+        return new DeparturePage(collect(answer, view, firstAtOrAfterPosition(view, cursor), view.size()), size(),
+                historyId, getFirstCursor());
+    }
+
+    private DepartureDataList collect(final DepartureDataList answer, final View view, final int fromIndex,
+                                      final int toIndex) {
+        answer.ensureCapacity(answer.size() + Math.max(0, toIndex - fromIndex));
+        for (int i = fromIndex; i < toIndex; i++)
+            answer.add(get(view.position(i)));
+        return answer;
+    }
+
+    /*
+     * Agrega a answer, en orden, los despegues archivados con posicion mayor o igual a fromPosition que
+     * cumplen filter, leyendo solo los segmentos que cumplen segmentFilter
+     */
+    private void collectArchived(final DepartureDataList answer, final Predicate<ArchivedSegment> segmentFilter,
+                                 final long fromPosition, final Predicate<DepartureData> filter) {
+        for (ArchivedSegment segment : segments) {
+            if (segment.firstPosition + segment.size <= fromPosition || !segmentFilter.test(segment))
+                continue;
+            final DepartureDataList archived;
+            try {
+                archived = archiver.read(segment.firstPosition);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read archived departures", e);
+            }
+            for (int i = (int) Math.max(0, fromPosition - segment.firstPosition); i < archived.size(); i++) {
+                if (filter.test(archived.get(i)))
+                    answer.add(archived.get(i));
+            }
+        }
+    }
+
+    /*
+     * Primer elemento de la vista con fecha de despegue mayor o igual a time (size si no hay)
+     */
+    private int firstDepartedOnOrAfter(final View view, final LocalDateTime time) {
+        int low = 0;
+        int high = view.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (get(view.position(mid)).getDepartedOn().isBefore(time))
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /*
+     * Primer elemento de la vista con posicion en el historial mayor o igual a cursor (size si no hay)
+     */
+    private int firstAtOrAfterPosition(final View view, final long cursor) {
+        int low = 0;
+        int high = view.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (view.position(mid) < cursor)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+
+    /*
+     * Subsecuencia de los despegues en memoria, en orden de despegue
+     */
+    interface View {
+        int size();
+
+        long position(final int i);
+    }
+}
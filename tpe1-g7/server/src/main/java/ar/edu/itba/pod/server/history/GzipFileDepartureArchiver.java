@@ -0,0 +1,58 @@
+package ar.edu.itba.pod.server.history;
+
+import ar.edu.itba.pod.models.DepartureDataList;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Guarda cada segmento en un archivo comprimido del directorio, con la codificacion compacta de DepartureDataList.
+ * El segmento se escribe en un archivo temporal y se renombra al terminar, por lo que nunca queda uno a medias
+ */
+public class GzipFileDepartureArchiver implements DepartureArchiver {
+
+    static final private String SEGMENT_FORMAT = "departures-%019d.bin.gz";
+
+    final private Path directory;
+
+    public GzipFileDepartureArchiver(final Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void write(final long firstPosition, final DepartureDataList departures) throws IOException {
+        final Path segment = segment(firstPosition);
+        final Path temporary = Files.createTempFile(directory, "segment-", ".tmp");
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(new GZIPOutputStream(Files.newOutputStream(temporary)))) {
+                departures.writeExternal(out);
+            }
+            Files.move(temporary, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    @Override
+    public DepartureDataList read(final long firstPosition) throws IOException {
+        try (ObjectInputStream in = new ObjectInputStream(new GZIPInputStream(Files.newInputStream(segment(firstPosition))))) {
+            final DepartureDataList departures = new DepartureDataList();
+            departures.readExternal(in);
+            return departures;
+        }
+    }
+
+    private Path segment(final long firstPosition) {
+        return directory.resolve(String.format(SEGMENT_FORMAT, firstPosition));
+    }
+}
@@ -0,0 +1,79 @@
+package ar.edu.itba.pod.server.history;
+
+/*
+ * Posiciones en el historial de los despegues de una pista o aerolinea, en orden. Solo se agregan al final y se
+ * desalojan del principio, sin modificar nunca las posiciones ya publicadas: al quedarse sin lugar se copia a un
+ * arreglo nuevo, de forma que las versiones que devuelve publish siguen siendo validas mientras se sigue escribiendo
+ */
+class PositionIndex {
+    static final private int INITIAL_CAPACITY = 16;
+
+    private long[] positions;
+    private int start;
+    private int end;
+    private Version published;
+
+    PositionIndex() {
+        this.positions = new long[INITIAL_CAPACITY];
+        this.start = 0;
+        this.end = 0;
+        this.published = Version.EMPTY;
+    }
+
+    void add(final long position) {
+        if (end == positions.length) {
+            final long[] grown = new long[Math.max(INITIAL_CAPACITY, (end - start) * 2)];
+            System.arraycopy(positions, start, grown, 0, end - start);
+            positions = grown;
+            end -= start;
+            start = 0;
+        }
+        positions[end++] = position;
+        published = null;
+    }
+
+    /*
+     * Quita las posiciones menores a position y devuelve cuantas quedan
+     */
+    int evictBefore(final long position) {
+        final int previousStart = start;
+        while (start < end && positions[start] < position)
+            start++;
+        if (start != previousStart)
+            published = null;
+        return end - start;
+    }
+
+    /*
+     * Version inmutable con las posiciones actuales, que se reutiliza mientras el indice no cambie
+     */
+    Version publish() {
+        if (published == null)
+            published = new Version(positions, start, end);
+        return published;
+    }
+
+    static class Version implements DepartureHistorySnapshot.View {
+        static final Version EMPTY = new Version(new long[0], 0, 0);
+
+        final private long[] positions;
+        final private int start;
+        final private int end;
+
+        private Version(final long[] positions, final int start, final int end) {
+            this.positions = positions;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int size() {
+            return end - start;
+        }
+
+        @Override
+        public long position(final int i) {
+            return positions[start + i];
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package ar.edu.itba.pod.server.history;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/*
+ * Cuantos despegues mantiene en memoria el historial: como maximo maxDepartures y solo los de las ultimas
+ * maxAge (null para no limitar por antiguedad). Los despegues se desalojan de a segmentSize, de forma que
+ * en memoria puede haber hasta segmentSize - 1 despegues mas de los que indican los limites
+ */
+public class RetentionPolicy {
+
+    static final public int DEFAULT_SEGMENT_SIZE = 4096;
+    static final public RetentionPolicy UNBOUNDED = new RetentionPolicy(Long.MAX_VALUE, null, DEFAULT_SEGMENT_SIZE);
+
+    final private long maxDepartures;
+    final private Duration maxAge;
+    final private int segmentSize;
+
+    public RetentionPolicy(final long maxDepartures, final Duration maxAge, final int segmentSize) {
+        if (maxDepartures < 0)
+            throw new IllegalArgumentException("Max departures MUST NOT be negative");
+        if (maxAge != null && maxAge.isNegative())
+            throw new IllegalArgumentException("Max age MUST NOT be negative");
+        if (segmentSize <= 0)
+            throw new IllegalArgumentException("Segment size MUST be positive");
+        this.maxDepartures = maxDepartures;
+        this.maxAge = maxAge;
+        this.segmentSize = segmentSize;
+    }
+
+    public long getMaxDepartures() {
+        return maxDepartures;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /*
+     * Los despegues anteriores a la fecha devuelta exceden la antiguedad maxima (null si no hay limite)
+     */
+    LocalDateTime getOldestRetained(final LocalDateTime now) {
+        return maxAge == null ? null : now.minus(maxAge);
+    }
+}
@@ -0,0 +1,86 @@
+package ar.edu.itba.pod.server.history;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Versiones publicadas de los indices de cada pista o aerolinea, inmutable. Cada clave tiene un numero fijo y las
+ * versiones se guardan en bloques de BLOCK_SIZE: reemplazar la version de una clave copia solo su bloque y el arreglo
+ * de bloques, compartiendo el resto con la tabla anterior. El mapa de numeros solo se copia al agregar una clave, y
+ * al quitar claves se arma una tabla nueva
+ */
+final class VersionTable {
+    static final private int BLOCK_BITS = 5;
+    static final private int BLOCK_SIZE = 1 << BLOCK_BITS;
+    static final private int BLOCK_MASK = BLOCK_SIZE - 1;
+
+    static final VersionTable EMPTY = new VersionTable(Collections.emptyMap(), new PositionIndex.Version[0][]);
+
+    final private Map<String, Integer> slots;
+    final private PositionIndex.Version[][] blocks;
+
+    private VersionTable(final Map<String, Integer> slots, final PositionIndex.Version[][] blocks) {
+        this.slots = slots;
+        this.blocks = blocks;
+    }
+
+    /*
+     * Tabla con la version publicada de cada indice
+     */
+    static VersionTable of(final Map<String, PositionIndex> index) {
+        final Map<String, Integer> slots = new HashMap<>();
+        final PositionIndex.Version[][] blocks = new PositionIndex.Version[(index.size() + BLOCK_MASK) >>> BLOCK_BITS][];
+        for (int i = 0; i < blocks.length; ++i)
+            blocks[i] = new PositionIndex.Version[BLOCK_SIZE];
+        for (Map.Entry<String, PositionIndex> entry : index.entrySet()) {
+            final int slot = slots.size();
+            slots.put(entry.getKey(), slot);
+            blocks[slot >>> BLOCK_BITS][slot & BLOCK_MASK] = entry.getValue().publish();
+        }
+        return new VersionTable(slots, blocks);
+    }
+
+    PositionIndex.Version get(final String key) {
+        final Integer slot = slots.get(key);
+        if (slot == null)
+            return PositionIndex.Version.EMPTY;
+        return blocks[slot >>> BLOCK_BITS][slot & BLOCK_MASK];
+    }
+
+    /*
+     * Tabla con la version de key reemplazada, o esta misma si ya tenia esa version
+     */
+    VersionTable with(final String key, final PositionIndex.Version version) {
+        Integer slot = slots.get(key);
+        Map<String, Integer> newSlots = slots;
+        if (slot == null) {
+            slot = slots.size();
+            newSlots = new HashMap<>(slots);
+            newSlots.put(key, slot);
+        } else if (get(key) == version) {
+            return this;
+        }
+        final int block = slot >>> BLOCK_BITS;
+        final PositionIndex.Version[][] newBlocks = Arrays.copyOf(blocks, Math.max(blocks.length, block + 1));
+        final PositionIndex.Version[] newBlock = block < blocks.length ? blocks[block].clone()
+                : new PositionIndex.Version[BLOCK_SIZE];
+        newBlock[slot & BLOCK_MASK] = version;
+        newBlocks[block] = newBlock;
+        return new VersionTable(newSlots, newBlocks);
+    }
+
+    /*
+     * Tabla con las versiones actuales de index: si se quito alguna clave se arma de nuevo, si no se reemplazan solo
+     * las versiones que cambiaron
+     */
+    VersionTable republish(final Map<String, PositionIndex> index) {
+        if (slots.size() != index.size())
+            return of(index);
+        VersionTable table = this;
+        for (Map.Entry<String, PositionIndex> entry : index.entrySet())
+            table = table.with(entry.getKey(), entry.getValue().publish());
+        return table;
+    }
+}
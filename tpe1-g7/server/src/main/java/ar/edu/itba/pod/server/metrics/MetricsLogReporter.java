@@ -0,0 +1,57 @@
+package ar.edu.itba.pod.server.metrics;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Loguea periodicamente un resumen de las metricas del Servant
+ */
+public class MetricsLogReporter {
+    private static final Logger logger = LoggerFactory.getLogger(MetricsLogReporter.class);
+
+    private final ServantMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+
+    public MetricsLogReporter(final ServantMetrics metrics) {
+        this.metrics = metrics;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "metrics-reporter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start(final long interval, final TimeUnit unit) {
+        scheduler.scheduleAtFixedRate(this::report, interval, interval, unit);
+    }
+
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    void report() {
+        final StringBuilder out = new StringBuilder("Servant metrics:");
+        for (ServantOperation operation : ServantOperation.values()) {
+            final OperationMetrics operationMetrics = metrics.getOperation(operation);
+            if (operationMetrics.getCount() == 0)
+                continue;
+            out.append(String.format("%n  %-26s count=%d failures=%d mean=%.2fms p50=%.2fms p99=%.2fms max=%.2fms",
+                    operation.getOperationName(), operationMetrics.getCount(), operationMetrics.getFailures(),
+                    operationMetrics.getMeanMillis(), operationMetrics.getP50Millis(), operationMetrics.getP99Millis(),
+                    operationMetrics.getMaxMillis()));
+        }
+        out.append(String.format("%n  callbacks dispatched=%d failures=%d backlog=%d p99=%.2fms",
+                metrics.getCallbacksDispatched(), metrics.getCallbackFailures(), metrics.getCallbackBacklog(),
+                metrics.getCallbackP99Millis()));
+        out.append(String.format("%n  subscribers=%d evicted=%d", metrics.getSubscribers(), metrics.getEvictedSubscribers()));
+        out.append(String.format("%n  runway requests in flight=%d rejected=%d duplicates=%d",
+                metrics.getRunwayRequestsInFlight(), metrics.getRejectedRunwayRequests(),
+                metrics.getDuplicateRunwayRequests()));
+        out.append(String.format("%n  runway queues %s", metrics.getRunwayQueueLengths()));
+        logger.info(out.toString());
+    }
+}
@@ -0,0 +1,66 @@
+package ar.edu.itba.pod.server.metrics;
+
+import ar.edu.itba.pod.models.Histogram;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Cantidad de invocaciones, fallos e histograma de latencias (en nanosegundos) de una operacion
+ */
+public class OperationMetrics implements OperationMetricsMXBean {
+
+    private static final double NANOS_PER_MILLI = 1e6;
+
+    private final Histogram latencyNanos;
+    private final AtomicLong failures;
+
+    public OperationMetrics() {
+        this.latencyNanos = new Histogram();
+        this.failures = new AtomicLong();
+    }
+
+    public void record(final long elapsedNanos, final boolean failed) {
+        latencyNanos.record(elapsedNanos);
+        if (failed)
+            failures.incrementAndGet();
+    }
+
+    public Histogram getLatencyNanos() {
+        return latencyNanos;
+    }
+
+    @Override
+    public long getCount() {
+        return latencyNanos.getCount();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.get();
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latencyNanos.getMean() / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latencyNanos.getValueAtPercentile(50) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP90Millis() {
+        return latencyNanos.getValueAtPercentile(90) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latencyNanos.getValueAtPercentile(99) / NANOS_PER_MILLI;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latencyNanos.getMax() / NANOS_PER_MILLI;
+    }
+}
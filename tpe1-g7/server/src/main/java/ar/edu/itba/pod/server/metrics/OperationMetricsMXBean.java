@@ -0,0 +1,18 @@
+package ar.edu.itba.pod.server.metrics;
+
+public interface OperationMetricsMXBean {
+
+    long getCount();
+
+    long getFailures();
+
+    double getMeanMillis();
+
+    double getP50Millis();
+
+    double getP90Millis();
+
+    double getP99Millis();
+
+    double getMaxMillis();
+}
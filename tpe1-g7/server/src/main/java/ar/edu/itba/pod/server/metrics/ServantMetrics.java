@@ -0,0 +1,153 @@
+package ar.edu.itba.pod.server.metrics;
+
+import ar.edu.itba.pod.server.admission.AdmissionController;
+import ar.edu.itba.pod.server.tracking.SubscriberRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.rmi.RemoteException;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Metricas del Servant: latencia y fallos por operacion, largo de la cola de cada pista, estado del envio de callbacks
+ * y solicitudes de pista en curso y rechazadas por sobrecarga.
+ * Se publican por JMX con registerMBeans y se pueden loguear periodicamente con MetricsLogReporter
+ */
+public class ServantMetrics implements ServantMetricsMXBean {
+    private static final Logger logger = LoggerFactory.getLogger(ServantMetrics.class);
+
+    private static final String DOMAIN = "ar.edu.itba.pod.server";
+
+    @FunctionalInterface
+    public interface MeasuredCall<V> {
+        V call() throws RemoteException;
+    }
+
+    @FunctionalInterface
+    public interface QueueLengthsSupplier {
+        Map<String, Long> get() throws RemoteException;
+    }
+
+    private final Map<ServantOperation, OperationMetrics> operations;
+    private final OperationMetrics callbacks;
+    private final AtomicLong callbackBacklog;
+    private final AtomicLong duplicateRunwayRequests;
+    private final QueueLengthsSupplier queueLengthsSupplier;
+    private final SubscriberRegistry subscriberRegistry;
+    private final AdmissionController admission;
+
+    public ServantMetrics(final QueueLengthsSupplier queueLengthsSupplier, final SubscriberRegistry subscriberRegistry,
+                          final AdmissionController admission) {
+        this.operations = new EnumMap<>(ServantOperation.class);
+        for (ServantOperation operation : ServantOperation.values())
+            operations.put(operation, new OperationMetrics());
+        this.callbacks = new OperationMetrics();
+        this.callbackBacklog = new AtomicLong();
+        this.duplicateRunwayRequests = new AtomicLong();
+        this.queueLengthsSupplier = queueLengthsSupplier;
+        this.subscriberRegistry = subscriberRegistry;
+        this.admission = admission;
+    }
+
+    public <V> V measure(final ServantOperation operation, final MeasuredCall<V> call) throws RemoteException {
+        final long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            final V result = call.call();
+            failed = false;
+            return result;
+        } finally {
+            operations.get(operation).record(System.nanoTime() - start, failed);
+        }
+    }
+
+    public void callbackSubmitted() {
+        callbackBacklog.incrementAndGet();
+    }
+
+    public void callbackCompleted(final long elapsedNanos, final boolean failed) {
+        callbackBacklog.decrementAndGet();
+        callbacks.record(elapsedNanos, failed);
+    }
+
+    public void duplicateRunwayRequest() {
+        duplicateRunwayRequests.incrementAndGet();
+    }
+
+    public OperationMetrics getOperation(final ServantOperation operation) {
+        return operations.get(operation);
+    }
+
+    public void registerMBeans(final MBeanServer server) throws JMException {
+        server.registerMBean(this, new ObjectName(DOMAIN + ":type=Servant"));
+        for (Map.Entry<ServantOperation, OperationMetrics> entry : operations.entrySet())
+            server.registerMBean(entry.getValue(),
+                    new ObjectName(DOMAIN + ":type=Operation,name=" + entry.getKey().getOperationName()));
+    }
+
+    @Override
+    public Map<String, Long> getRunwayQueueLengths() {
+        try {
+            return queueLengthsSupplier.get();
+        } catch (RemoteException e) {
+            logger.error("Could not read runway queue lengths.");
+            return Collections.emptyMap();
+        }
+    }
+
+    @Override
+    public long getCallbackBacklog() {
+        return callbackBacklog.get();
+    }
+
+    @Override
+    public long getCallbacksDispatched() {
+        return callbacks.getCount();
+    }
+
+    @Override
+    public long getCallbackFailures() {
+        return callbacks.getFailures();
+    }
+
+    @Override
+    public double getCallbackMeanMillis() {
+        return callbacks.getMeanMillis();
+    }
+
+    @Override
+    public double getCallbackP99Millis() {
+        return callbacks.getP99Millis();
+    }
+
+    @Override
+    public int getSubscribers() {
+        return subscriberRegistry.getSubscriberCount();
+    }
+
+    @Override
+    public long getEvictedSubscribers() {
+        return subscriberRegistry.getEvictions();
+    }
+
+    @Override
+    public int getRunwayRequestsInFlight() {
+        return admission.getInFlight();
+    }
+
+    @Override
+    public long getRejectedRunwayRequests() {
+        return admission.getRejected();
+    }
+
+    @Override
+    public long getDuplicateRunwayRequests() {
+        return duplicateRunwayRequests.get();
+    }
+}
@@ -0,0 +1,28 @@
+package ar.edu.itba.pod.server.metrics;
+
+import java.util.Map;
+
+public interface ServantMetricsMXBean {
+
+    Map<String, Long> getRunwayQueueLengths();
+
+    long getCallbackBacklog();
+
+    long getCallbacksDispatched();
+
+    long getCallbackFailures();
+
+    double getCallbackMeanMillis();
+
+    double getCallbackP99Millis();
+
+    int getSubscribers();
+
+    long getEvictedSubscribers();
+
+    int getRunwayRequestsInFlight();
+
+    long getRejectedRunwayRequests();
+
+    long getDuplicateRunwayRequests();
+}
@@ -0,0 +1,45 @@
+package ar.edu.itba.pod.server.metrics;
+
+/*
+ * Operaciones remotas del Servant que se miden
+ */
+public enum ServantOperation {
+    ADD_RUNWAY("addRunway"),
+    IS_RUNWAY_OPEN("isRunwayOpen"),
+    OPEN_RUNWAY("openRunway"),
+    CLOSE_RUNWAY("closeRunway"),
+    ISSUE_DEPARTURE("issueDeparture"),
+    REARRANGE_DEPARTURES("rearrangeDepartures"),
+    PRIORITIZE_FLIGHT("prioritizeFlight"),
+    GET_RUNWAY_WAIT_TIMES("getRunwayWaitTimes"),
+    GET_WAIT_TIMES("getWaitTimes"),
+    SUBSCRIBE("subscribe"),
+    SUBSCRIBE_FROM("subscribeFrom"),
+    SUBSCRIBE_AIRLINE("subscribeAirline"),
+    SUBSCRIBE_RUNWAY("subscribeRunway"),
+    REQUEST_RUNWAY("requestRunway"),
+    CANCEL_RUNWAY_REQUEST("cancelRunwayRequest"),
+    GET_ALL_DEPARTURES("getAllDepartures"),
+    GET_RUNWAY_DEPARTURES("getRunwayDepartures"),
+    GET_AIRLINE_DEPARTURES("getAirlineDepartures"),
+    EXPORT_ALL_DEPARTURES("exportAllDepartures"),
+    EXPORT_RUNWAY_DEPARTURES("exportRunwayDepartures"),
+    EXPORT_AIRLINE_DEPARTURES("exportAirlineDepartures"),
+    GET_DEPARTURES_BETWEEN("getDeparturesBetween"),
+    GET_RUNWAY_DEPARTURES_BETWEEN("getRunwayDeparturesBetween"),
+    GET_AIRLINE_DEPARTURES_BETWEEN("getAirlineDeparturesBetween"),
+    GET_DEPARTURES_SINCE("getDeparturesSince"),
+    GET_RUNWAY_DEPARTURES_SINCE("getRunwayDeparturesSince"),
+    GET_AIRLINE_DEPARTURES_SINCE("getAirlineDeparturesSince"),
+    GET_STATISTICS("getStatistics");
+
+    private final String operationName;
+
+    ServantOperation(final String operationName) {
+        this.operationName = operationName;
+    }
+
+    public String getOperationName() {
+        return operationName;
+    }
+}
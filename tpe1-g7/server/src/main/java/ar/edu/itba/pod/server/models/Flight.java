@@ -13,6 +13,12 @@ public class Flight {
     final private RunwayCategory category;
     private long flightsBeforeDeparture;
     private LocalDateTime departedOn;
+    private String runwayName;
+    private boolean rearranging;
+    private boolean prioritized;
+    private boolean cancelled;
+    private boolean enqueued;
+    private long enqueuedAt;
 
     public Flight(String id, String destinationAirportId, String airline, RunwayCategory category) {
         this.id = id;
@@ -46,6 +52,74 @@ public class Flight {
         return category;
     }
 
+    /*
+     * Si la solicitud pide lo mismo que la que encolo al vuelo, de forma que un reintento se puede ignorar
+     */
+    public boolean isSameRequest(final String destinationAirportId, final String airline, final RunwayCategory category) {
+        return this.destinationAirportId.equals(destinationAirportId) && this.airline.equals(airline)
+                && this.category == category;
+    }
+
+    /*
+     * Pista en cuya cola esta el vuelo
+     */
+    public String getRunwayName() {
+        return runwayName;
+    }
+
+    public void setRunwayName(final String runwayName) {
+        this.runwayName = runwayName;
+    }
+
+    /*
+     * Un reordenamiento saca al vuelo de la cola de su pista y lo vuelve a encolar en otra operacion. Mientras tanto
+     * sigue en espera pero no esta en ninguna cola
+     */
+    public boolean isRearranging() {
+        return rearranging;
+    }
+
+    public void setRearranging(final boolean rearranging) {
+        this.rearranging = rearranging;
+    }
+
+    /*
+     * Si se pidio priorizar el vuelo mientras se reordenaba, de forma que al volver a encolarlo pase al principio
+     */
+    public boolean isPrioritized() {
+        return prioritized;
+    }
+
+    public void setPrioritized(final boolean prioritized) {
+        this.prioritized = prioritized;
+    }
+
+    /*
+     * Si se cancelo mientras se reordenaba, de forma que no se vuelva a encolar
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /*
+     * Instante (System.nanoTime) en que el vuelo entro por primera vez a la cola de una pista.
+     * Un reordenamiento vuelve a encolar el vuelo sin modificarlo, por lo que la espera incluye todas las colas
+     */
+    public void setEnqueuedAt(final long enqueuedAt) {
+        if (enqueued)
+            return;
+        this.enqueued = true;
+        this.enqueuedAt = enqueuedAt;
+    }
+
+    public long getEnqueuedAt() {
+        return enqueuedAt;
+    }
+
     public LocalDateTime getDepartedOn() {
         return departedOn;
     }
@@ -0,0 +1,229 @@
+package ar.edu.itba.pod.server.models;
+
+import java.util.AbstractCollection;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * Cola de despegue de una pista. Es un treap (arbol binario de busqueda balanceado con prioridades al azar) ordenado
+ * por una clave que crece al encolar al final y decrece al encolar adelante, con el tamaño de cada subarbol y un
+ * indice de los nodos por ID de vuelo. Asi encolar, sacar el primero, quitar un vuelo cualquiera, adelantarlo y
+ * calcular cuantos vuelos tiene adelante cuestan O(log n) esperado en vez de recorrer la cola.
+ * No es thread-safe: se usa dentro de las operaciones del engine
+ */
+public class FlightQueue extends AbstractCollection<Flight> {
+
+    private Node root;
+    final private Map<String, Node> nodes;
+    private long nextLastKey;
+    private long nextFirstKey;
+
+    public FlightQueue() {
+        this.nodes = new HashMap<>();
+        this.nextLastKey = 0;
+        this.nextFirstKey = -1;
+    }
+
+    @Override
+    public boolean add(final Flight flight) {
+        addLast(flight);
+        return true;
+    }
+
+    public void addLast(final Flight flight) {
+        root = merge(root, index(new Node(flight, nextLastKey++)));
+    }
+
+    public void addFirst(final Flight flight) {
+        root = merge(index(new Node(flight, nextFirstKey--)), root);
+    }
+
+    /*
+     * Saca el primer vuelo de la cola, o devuelve null si esta vacia
+     */
+    public Flight poll() {
+        if (root == null)
+            return null;
+        Node first = root;
+        while (first.left != null)
+            first = first.left;
+        return remove(first.flight.getId());
+    }
+
+    /*
+     * Quita el vuelo de la cola y lo devuelve, o devuelve null si no esta
+     */
+    public Flight remove(final String flightId) {
+        final Node node = nodes.remove(flightId);
+        if (node == null)
+            return null;
+        final Node[] lower = split(root, node.key);
+        final Node[] upper = split(lower[1], node.key + 1);
+        root = merge(lower[0], upper[1]);
+        return node.flight;
+    }
+
+    public boolean contains(final String flightId) {
+        return nodes.containsKey(flightId);
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return o instanceof Flight && contains(((Flight) o).getId());
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        return o instanceof Flight && remove(((Flight) o).getId()) != null;
+    }
+
+    /*
+     * Cantidad de vuelos antes del vuelo en la cola, o -1 si no esta
+     */
+    public int indexOf(final String flightId) {
+        final Node node = nodes.get(flightId);
+        if (node == null)
+            return -1;
+        int index = 0;
+        Node current = root;
+        while (current != null) {
+            if (node.key < current.key) {
+                current = current.left;
+            } else if (node.key > current.key) {
+                index += size(current.left) + 1;
+                current = current.right;
+            } else {
+                return index + size(current.left);
+            }
+        }
+        throw new IllegalStateException("Flight " + flightId + " is indexed but not queued");
+    }
+
+    @Override
+    public int size() {
+        return size(root);
+    }
+
+    @Override
+    public void clear() {
+        root = null;
+        nodes.clear();
+    }
+
+    @Override
+    public Iterator<Flight> iterator() {
+        return iterator(0);
+    }
+
+    /*
+     * Recorre la cola en orden a partir del vuelo en la posicion fromIndex, sin recorrer los anteriores
+     */
+    public Iterator<Flight> iterator(final int fromIndex) {
+        final Deque<Node> path = new ArrayDeque<>();
+        Node current = root;
+        int index = fromIndex;
+        while (current != null) {
+            final int leftSize = size(current.left);
+            if (index < leftSize) {
+                path.push(current);
+                current = current.left;
+            } else if (index == leftSize) {
+                path.push(current);
+                break;
+            } else {
+                index -= leftSize + 1;
+                current = current.right;
+            }
+        }
+
+        return new Iterator<Flight>() {
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public Flight next() {
+                if (path.isEmpty())
+                    throw new NoSuchElementException();
+                final Node node = path.pop();
+                for (Node next = node.right; next != null; next = next.left)
+                    path.push(next);
+                return node.flight;
+            }
+        };
+    }
+
+    private Node index(final Node node) {
+        if (nodes.putIfAbsent(node.flight.getId(), node) != null)
+            throw new IllegalStateException("Flight " + node.flight.getId() + " is already queued");
+        return node;
+    }
+
+    private static int size(final Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /*
+     * Separa el arbol en los nodos con clave menor a key y los de clave mayor o igual
+     */
+    private static Node[] split(final Node node, final long key) {
+        if (node == null)
+            return new Node[2];
+        if (node.key < key) {
+            final Node[] right = split(node.right, key);
+            node.right = right[0];
+            node.update();
+            right[0] = node;
+            return right;
+        }
+        final Node[] left = split(node.left, key);
+        node.left = left[1];
+        node.update();
+        left[1] = node;
+        return left;
+    }
+
+    /*
+     * Une dos arboles, donde todas las claves de left son menores a las de right
+     */
+    private static Node merge(final Node left, final Node right) {
+        if (left == null)
+            return right;
+        if (right == null)
+            return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static class Node {
+        final private Flight flight;
+        final private long key;
+        final private int priority;
+        private int size;
+        private Node left;
+        private Node right;
+
+        Node(final Flight flight, final long key) {
+            this.flight = flight;
+            this.key = key;
+            this.priority = ThreadLocalRandom.current().nextInt();
+            this.size = 1;
+        }
+
+        void update() {
+            size = 1 + FlightQueue.size(left) + FlightQueue.size(right);
+        }
+    }
+}
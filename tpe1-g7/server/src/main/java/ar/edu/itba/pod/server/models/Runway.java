@@ -1,36 +1,35 @@
 package ar.edu.itba.pod.server.models;
 
 import ar.edu.itba.pod.exceptions.NoSuchFlightException;
+import ar.edu.itba.pod.models.Histogram;
 import ar.edu.itba.pod.models.RunwayCategory;
 
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Queue;
+import java.util.concurrent.TimeUnit;
 
 public class Runway {
+    static final private double INTERVAL_SMOOTHING = 0.2;
 
-    final private Queue<Flight> departureQueue;
-    final private List<Flight> departureHistory;
+    final private FlightQueue departureQueue;
     final private RunwayCategory category;
     final private String name;
+    final private Histogram waitTimeMillis;
     private boolean isOpen;
+    private long lastDepartureAt;
+    private double departureIntervalNanos;
+    private boolean hasDepartureInterval;
 
     public Runway(String name, RunwayCategory category) {
-        this.departureQueue = new LinkedList<>();
-        this.departureHistory = new LinkedList<>();
+        this.departureQueue = new FlightQueue();
         this.category = category;
         this.name = name;
+        this.waitTimeMillis = new Histogram();
         this.isOpen = true;
     }
 
-    public Queue<Flight> getDepartureQueue() {
+    public FlightQueue getDepartureQueue() {
         return departureQueue;
     }
 
-    public List<Flight> getDepartureHistory() {
-        return departureHistory;
-    }
-
     public RunwayCategory getCategory() {
         return category;
     }
@@ -47,16 +46,75 @@ public class Runway {
         isOpen = open;
     }
 
-    public void addToHistory(final Flight flight) {
-        departureHistory.add(flight);
+    public void addToQueue(final Flight flight) {
+        addToQueue(flight, System.nanoTime());
     }
 
-    public void addToQueue(final Flight flight) {
-        departureQueue.add(flight);
+    /*
+     * nowNanos es el instante en que se encola, en la misma escala que System.nanoTime() o en tiempo simulado
+     */
+    public void addToQueue(final Flight flight, final long nowNanos) {
+        flight.setEnqueuedAt(nowNanos);
+        departureQueue.addLast(flight);
+    }
+
+    /*
+     * Quita el vuelo de la cola sin que despegue y devuelve cuantos vuelos tenia adelante
+     */
+    public long removeFromQueue(final String flightId) throws NoSuchFlightException {
+        final long flightsAhead = getFlightsAhead(flightId);
+        departureQueue.remove(flightId);
+        return flightsAhead;
+    }
+
+    /*
+     * Pasa el vuelo al principio de la cola y devuelve cuantos vuelos tenia adelante
+     */
+    public long moveToFront(final String flightId) throws NoSuchFlightException {
+        final long flightsAhead = getFlightsAhead(flightId);
+        departureQueue.addFirst(departureQueue.remove(flightId));
+        return flightsAhead;
     }
 
     public Flight pollFromQueue() {
-        return departureQueue.poll();
+        return pollFromQueue(System.nanoTime());
+    }
+
+    /*
+     * Registra en el histograma de la pista cuanto espero el vuelo desde que fue encolado, y actualiza el intervalo
+     * entre despegues con el tiempo que la pista estuvo ocupada con el vuelo: desde el despegue anterior o, si la
+     * pista estaba vacia, desde que se encolo. El intervalo es un promedio movil exponencial
+     */
+    public Flight pollFromQueue(final long nowNanos) {
+        final Flight flight = departureQueue.poll();
+        if (flight != null) {
+            waitTimeMillis.record(TimeUnit.NANOSECONDS.toMillis(nowNanos - flight.getEnqueuedAt()));
+
+            final long busySince = hasDepartureInterval && lastDepartureAt - flight.getEnqueuedAt() > 0
+                    ? lastDepartureAt : flight.getEnqueuedAt();
+            final long interval = nowNanos - busySince;
+            departureIntervalNanos = hasDepartureInterval
+                    ? departureIntervalNanos + INTERVAL_SMOOTHING * (interval - departureIntervalNanos)
+                    : interval;
+            hasDepartureInterval = true;
+            lastDepartureAt = nowNanos;
+        }
+        return flight;
+    }
+
+    public boolean hasDepartureInterval() {
+        return hasDepartureInterval;
+    }
+
+    /*
+     * Solo tiene sentido si hasDepartureInterval(), es decir luego del primer despegue
+     */
+    public double getDepartureIntervalNanos() {
+        return departureIntervalNanos;
+    }
+
+    public Histogram getWaitTimeMillis() {
+        return waitTimeMillis;
     }
 
     public boolean isQueueEmpty() {
@@ -68,21 +126,10 @@ public class Runway {
     }
 
     public long getFlightsAhead(final String flightId) throws NoSuchFlightException {
-        long flightsAhead = 0;
-        boolean foundFlight = false;
-
-        for (Flight flight : departureQueue) {
-            if (flight.getId().equals(flightId)) {
-                foundFlight = true;
-                break;
-            }
-            flightsAhead++;
-        }
-
-        if (!foundFlight)
+        final int flightsAhead = departureQueue.indexOf(flightId);
+        if (flightsAhead < 0)
             throw new NoSuchFlightException();
-        else
-            return flightsAhead;
+        return flightsAhead;
     }
 
     public long getDepartureQueueSize() {
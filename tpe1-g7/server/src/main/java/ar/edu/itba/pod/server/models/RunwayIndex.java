@@ -0,0 +1,69 @@
+package ar.edu.itba.pod.server.models;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/*
+ * Pistas del aeropuerto, por nombre y agrupadas por categoria. Las pistas candidatas para un vuelo se obtienen
+ * recorriendo solo los grupos de categoria suficiente, en orden de categoria y luego de nombre.
+ * No es thread-safe: se usa dentro de las operaciones del engine
+ */
+public class RunwayIndex {
+
+    final private Map<String, Runway> byName;
+    final private Map<RunwayCategory, NavigableMap<String, Runway>> byCategory;
+
+    public RunwayIndex() {
+        this.byName = new HashMap<>();
+        this.byCategory = new EnumMap<>(RunwayCategory.class);
+        for (RunwayCategory category : RunwayCategory.values())
+            byCategory.put(category, new TreeMap<>());
+    }
+
+    /*
+     * Devuelve false si ya hay una pista con el mismo nombre
+     */
+    public boolean add(final Runway runway) {
+        if (byName.putIfAbsent(runway.getName(), runway) != null)
+            return false;
+        byCategory.get(runway.getCategory()).put(runway.getName(), runway);
+        return true;
+    }
+
+    public Runway get(final String name) {
+        return byName.get(name);
+    }
+
+    public boolean contains(final String name) {
+        return byName.containsKey(name);
+    }
+
+    public Collection<Runway> values() {
+        return Collections.unmodifiableCollection(byName.values());
+    }
+
+    /*
+     * Pistas abiertas de categoria mayor o igual a minimumCategory, ordenadas por categoria y luego por nombre
+     */
+    public List<Runway> candidates(final RunwayCategory minimumCategory) {
+        final List<Runway> candidates = new ArrayList<>();
+        for (Map.Entry<RunwayCategory, NavigableMap<String, Runway>> entry : byCategory.entrySet()) {
+            if (entry.getKey().compareTo(minimumCategory) < 0)
+                continue;
+            for (Runway runway : entry.getValue().values()) {
+                if (runway.isOpen())
+                    candidates.add(runway);
+            }
+        }
+        return candidates;
+    }
+}
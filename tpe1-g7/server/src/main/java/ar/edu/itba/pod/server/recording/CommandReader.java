@@ -0,0 +1,70 @@
+package ar.edu.itba.pod.server.recording;
+
+import ar.edu.itba.pod.utils.VarIntCodec;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/*
+ * Lee las operaciones que grabo CommandRecorder, en orden. Si el servidor termino sin cerrar la grabacion,
+ * la ultima operacion puede estar incompleta y se ignora
+ */
+public class CommandReader implements Closeable {
+
+    final private DataInputStream in;
+    final private int version;
+    final private Instant startedAt;
+    private long offsetNanos;
+
+    public CommandReader(final Path file) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+        try {
+            if (in.readInt() != CommandRecorder.MAGIC)
+                throw new IOException(file + " is not a command recording");
+            version = in.readUnsignedByte();
+            if (version < 1 || version > CommandRecorder.VERSION)
+                throw new IOException("Unsupported command recording version " + version);
+            startedAt = Instant.ofEpochMilli(in.readLong());
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    /*
+     * La siguiente operacion, o null si no hay mas
+     */
+    public RecordedCommand next() throws IOException {
+        final int ordinal = in.read();
+        if (ordinal < 0)
+            return null;
+        if (ordinal >= CommandType.values().length)
+            throw new IOException("Unknown command type " + ordinal);
+        final CommandType type = CommandType.values()[ordinal];
+        try {
+            final long delta = VarIntCodec.readVarLong(in);
+            final String[] arguments = new String[type.getArity()];
+            for (int i = 0; i < arguments.length; i++)
+                arguments[i] = version == 1 || in.readBoolean() ? in.readUTF() : null;
+            offsetNanos += delta;
+            return new RecordedCommand(type, offsetNanos, arguments);
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
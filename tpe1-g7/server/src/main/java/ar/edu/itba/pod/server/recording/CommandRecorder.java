@@ -0,0 +1,77 @@
+package ar.edu.itba.pod.server.recording;
+
+import ar.edu.itba.pod.utils.VarIntCodec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/*
+ * Graba las operaciones en un archivo binario. Tras el encabezado (MAGIC, VERSION y el inicio de la grabacion en
+ * milisegundos desde epoch) cada operacion ocupa un byte con su tipo, los nanosegundos desde la anterior como
+ * varint y sus argumentos, cada uno con un byte que indica si es null y, si no lo es, su valor con writeUTF. La
+ * version 1 no tenia ese byte, ya que no grababa operaciones con argumentos null. Si falla la escritura se deja de grabar, sin afectar a las operaciones
+ */
+public class CommandRecorder implements Closeable {
+    private static final Logger logger = LoggerFactory.getLogger(CommandRecorder.class);
+
+    static final int MAGIC = 0x504F4452;
+    static final int VERSION = 2;
+    static final private int BUFFER_SIZE = 1 << 16;
+
+    final private Path file;
+    final private DataOutputStream out;
+    final private long startNanos;
+    private long lastNanos;
+    private boolean failed;
+
+    public CommandRecorder(final Path file) throws IOException {
+        this.file = file;
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(System.currentTimeMillis());
+        startNanos = lastNanos = System.nanoTime();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    /*
+     * El instante se toma dentro del lock, de forma que el archivo queda en orden de llegada
+     */
+    public synchronized void record(final CommandType type, final String... arguments) {
+        if (failed)
+            return;
+        final long now = System.nanoTime();
+        try {
+            out.writeByte(type.ordinal());
+            VarIntCodec.writeVarLong(out, now - lastNanos);
+            for (String argument : arguments) {
+                out.writeBoolean(argument != null);
+                if (argument != null)
+                    out.writeUTF(argument);
+            }
+            lastNanos = now;
+        } catch (IOException e) {
+            logger.error("Could not record " + type + ", recording stopped: " + e.getMessage());
+            failed = true;
+        }
+    }
+
+    public synchronized long getRecordedNanos() {
+        return lastNanos - startNanos;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        failed = true;
+        out.close();
+    }
+}
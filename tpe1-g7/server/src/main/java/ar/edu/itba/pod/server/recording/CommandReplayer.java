@@ -0,0 +1,93 @@
+package ar.edu.itba.pod.server.recording;
+
+import ar.edu.itba.pod.ManagementService;
+import ar.edu.itba.pod.RunwayRequestService;
+import ar.edu.itba.pod.server.metrics.OperationMetrics;
+
+import java.io.IOException;
+import java.rmi.RemoteException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Reproduce una grabacion desde un unico thread y en el orden grabado, de forma que dos reproducciones sobre
+ * servants nuevos dejan el mismo estado. Cada operacion se ejecuta en su instante original dividido por speed
+ * (con speed 0 se ejecutan sin esperas). Se mide el tiempo de servicio de cada operacion y su tiempo de respuesta
+ * desde el instante en que correspondia ejecutarla, que incluye la espera detras de las anteriores si la
+ * reproduccion se atrasa
+ */
+public class CommandReplayer {
+
+    static final public double MAX_SPEED = 0;
+
+    final private ManagementService management;
+    final private RunwayRequestService runwayRequests;
+    final private double speed;
+
+    public <S extends ManagementService & RunwayRequestService> CommandReplayer(final S servant, final double speed) {
+        if (speed < 0 || Double.isNaN(speed) || Double.isInfinite(speed))
+            throw new IllegalArgumentException("Speed MUST be a non negative number");
+        this.management = servant;
+        this.runwayRequests = servant;
+        this.speed = speed;
+    }
+
+    public Report replay(final CommandReader reader) throws IOException {
+        final Report report = new Report();
+        final long startNanos = System.nanoTime();
+        RecordedCommand command;
+        while ((command = reader.next()) != null) {
+            final long scheduledNanos = startNanos + (speed == MAX_SPEED ? 0 : (long) (command.getOffsetNanos() / speed));
+            long now;
+            while ((now = System.nanoTime()) < scheduledNanos)
+                LockSupport.parkNanos(scheduledNanos - now);
+
+            final long begin = speed == MAX_SPEED ? now : scheduledNanos;
+            boolean failed = true;
+            try {
+                command.replay(management, runwayRequests);
+                failed = false;
+            } catch (RemoteException | RuntimeException ignored) {
+                /* Las operaciones que fallaron al grabarse en general vuelven a fallar, solo se cuentan */
+            }
+            final long end = System.nanoTime();
+            report.record(command.getType(), end - now, end - begin, failed);
+        }
+        report.elapsedNanos = System.nanoTime() - startNanos;
+        return report;
+    }
+
+    /*
+     * Tiempos de servicio y de respuesta por tipo de operacion
+     */
+    public static class Report {
+        final private Map<CommandType, OperationMetrics> serviceTimes = new EnumMap<>(CommandType.class);
+        final private Map<CommandType, OperationMetrics> responseTimes = new EnumMap<>(CommandType.class);
+        private long commands;
+        private long elapsedNanos;
+
+        private void record(final CommandType type, final long serviceNanos, final long responseNanos,
+                            final boolean failed) {
+            serviceTimes.computeIfAbsent(type, t -> new OperationMetrics()).record(serviceNanos, failed);
+            responseTimes.computeIfAbsent(type, t -> new OperationMetrics()).record(responseNanos, failed);
+            commands++;
+        }
+
+        public long getCommands() {
+            return commands;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        public Map<CommandType, OperationMetrics> getServiceTimes() {
+            return serviceTimes;
+        }
+
+        public Map<CommandType, OperationMetrics> getResponseTimes() {
+            return responseTimes;
+        }
+    }
+}
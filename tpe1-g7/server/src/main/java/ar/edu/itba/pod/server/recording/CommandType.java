@@ -0,0 +1,29 @@
+package ar.edu.itba.pod.server.recording;
+
+/*
+ * Operaciones de ManagementService y RunwayRequestService que se graban, con la cantidad de argumentos de cada una.
+ * El orden es parte del formato del archivo: solo se pueden agregar operaciones al final
+ */
+public enum CommandType {
+    ADD_RUNWAY(2),
+    IS_RUNWAY_OPEN(1),
+    OPEN_RUNWAY(1),
+    CLOSE_RUNWAY(1),
+    ISSUE_DEPARTURE(0),
+    REARRANGE_DEPARTURES(0),
+    GET_RUNWAY_WAIT_TIMES(1),
+    GET_WAIT_TIMES(0),
+    REQUEST_RUNWAY(4),
+    PRIORITIZE_FLIGHT(1),
+    CANCEL_RUNWAY_REQUEST(2);
+
+    final private int arity;
+
+    CommandType(final int arity) {
+        this.arity = arity;
+    }
+
+    public int getArity() {
+        return arity;
+    }
+}
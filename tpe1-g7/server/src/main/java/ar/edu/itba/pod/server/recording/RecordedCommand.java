@@ -0,0 +1,107 @@
+package ar.edu.itba.pod.server.recording;
+
+import ar.edu.itba.pod.ManagementService;
+import ar.edu.itba.pod.RunwayRequestService;
+import ar.edu.itba.pod.models.RunwayCategory;
+
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/*
+ * Una operacion grabada: su tipo, sus argumentos (la categoria de pista por su nombre, y null si llego null) y
+ * cuantos nanosegundos despues del inicio de la grabacion llego
+ */
+public class RecordedCommand {
+
+    final private CommandType type;
+    final private long offsetNanos;
+    final private List<String> arguments;
+
+    public RecordedCommand(final CommandType type, final long offsetNanos, final String... arguments) {
+        if (arguments.length != type.getArity())
+            throw new IllegalArgumentException(type + " expects " + type.getArity() + " arguments");
+        this.type = type;
+        this.offsetNanos = offsetNanos;
+        this.arguments = Collections.unmodifiableList(Arrays.asList(arguments));
+    }
+
+    public CommandType getType() {
+        return type;
+    }
+
+    public long getOffsetNanos() {
+        return offsetNanos;
+    }
+
+    public List<String> getArguments() {
+        return arguments;
+    }
+
+    /*
+     * Vuelve a ejecutar la operacion, propagando las mismas excepciones que la original
+     */
+    public void replay(final ManagementService management, final RunwayRequestService runwayRequests)
+            throws RemoteException {
+        switch (type) {
+            case ADD_RUNWAY:
+                management.addRunway(arguments.get(0), category(arguments.get(1)));
+                break;
+            case IS_RUNWAY_OPEN:
+                management.isRunwayOpen(arguments.get(0));
+                break;
+            case OPEN_RUNWAY:
+                management.openRunway(arguments.get(0));
+                break;
+            case CLOSE_RUNWAY:
+                management.closeRunway(arguments.get(0));
+                break;
+            case ISSUE_DEPARTURE:
+                management.issueDeparture();
+                break;
+            case REARRANGE_DEPARTURES:
+                management.rearrangeDepartures();
+                break;
+            case GET_RUNWAY_WAIT_TIMES:
+                management.getRunwayWaitTimes(arguments.get(0));
+                break;
+            case GET_WAIT_TIMES:
+                management.getWaitTimes();
+                break;
+            case REQUEST_RUNWAY:
+                runwayRequests.requestRunway(arguments.get(0), arguments.get(1), arguments.get(2),
+                        category(arguments.get(3)));
+                break;
+            case PRIORITIZE_FLIGHT:
+                management.prioritizeFlight(arguments.get(0));
+                break;
+            case CANCEL_RUNWAY_REQUEST:
+                runwayRequests.cancelRunwayRequest(arguments.get(0), arguments.get(1));
+                break;
+        }
+    }
+
+    private static RunwayCategory category(final String name) {
+        return name == null ? null : RunwayCategory.valueOf(name);
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        final RecordedCommand that = (RecordedCommand) o;
+        return offsetNanos == that.offsetNanos && type == that.type && arguments.equals(that.arguments);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(type, offsetNanos, arguments);
+    }
+
+    @Override
+    public String toString() {
+        return type + arguments.toString() + "@" + offsetNanos + "ns";
+    }
+}
@@ -0,0 +1,104 @@
+package ar.edu.itba.pod.server.recording;
+
+import ar.edu.itba.pod.ManagementService;
+import ar.edu.itba.pod.RunwayRequestService;
+import ar.edu.itba.pod.exceptions.FlightAlreadyQueuedException;
+import ar.edu.itba.pod.exceptions.NoSuchFlightException;
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.exceptions.RunwayAlreadyExistsException;
+import ar.edu.itba.pod.exceptions.ServerOverloadedException;
+import ar.edu.itba.pod.models.Histogram;
+import ar.edu.itba.pod.models.ReassignmentLog;
+import ar.edu.itba.pod.models.RunwayCategory;
+
+import java.rmi.RemoteException;
+import java.util.Map;
+
+/*
+ * Graba cada operacion que llega, antes de delegarla en el servant. Se graban todas, incluso las que luego
+ * fallan o se rechazan, para que al reproducirlas el servidor reciba el mismo trafico
+ */
+public class RecordingServant implements ManagementService, RunwayRequestService {
+
+    final private ManagementService management;
+    final private RunwayRequestService runwayRequests;
+    final private CommandRecorder recorder;
+
+    public <S extends ManagementService & RunwayRequestService> RecordingServant(final S servant,
+                                                                               final CommandRecorder recorder) {
+        this.management = servant;
+        this.runwayRequests = servant;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public void addRunway(final String name, final RunwayCategory category)
+            throws RemoteException, RunwayAlreadyExistsException {
+        recorder.record(CommandType.ADD_RUNWAY, name, category == null ? null : category.name());
+        management.addRunway(name, category);
+    }
+
+    @Override
+    public boolean isRunwayOpen(final String runwayName) throws RemoteException, NoSuchRunwayException {
+        recorder.record(CommandType.IS_RUNWAY_OPEN, runwayName);
+        return management.isRunwayOpen(runwayName);
+    }
+
+    @Override
+    public void openRunway(final String runwayName) throws RemoteException, NoSuchRunwayException {
+        recorder.record(CommandType.OPEN_RUNWAY, runwayName);
+        management.openRunway(runwayName);
+    }
+
+    @Override
+    public void closeRunway(final String runwayName) throws RemoteException, NoSuchRunwayException {
+        recorder.record(CommandType.CLOSE_RUNWAY, runwayName);
+        management.closeRunway(runwayName);
+    }
+
+    @Override
+    public void issueDeparture() throws RemoteException {
+        recorder.record(CommandType.ISSUE_DEPARTURE);
+        management.issueDeparture();
+    }
+
+    @Override
+    public ReassignmentLog rearrangeDepartures() throws RemoteException {
+        recorder.record(CommandType.REARRANGE_DEPARTURES);
+        return management.rearrangeDepartures();
+    }
+
+    @Override
+    public void prioritizeFlight(final String flightId) throws RemoteException, NoSuchFlightException {
+        recorder.record(CommandType.PRIORITIZE_FLIGHT, flightId);
+        management.prioritizeFlight(flightId);
+    }
+
+    @Override
+    public Histogram getRunwayWaitTimes(final String runwayName) throws RemoteException, NoSuchRunwayException {
+        recorder.record(CommandType.GET_RUNWAY_WAIT_TIMES, runwayName);
+        return management.getRunwayWaitTimes(runwayName);
+    }
+
+    @Override
+    public Map<String, Histogram> getWaitTimes() throws RemoteException {
+        recorder.record(CommandType.GET_WAIT_TIMES);
+        return management.getWaitTimes();
+    }
+
+    @Override
+    public void requestRunway(final String flightId, final String destinationAirportId, final String airlineName,
+                              final RunwayCategory minimumCategory)
+            throws RemoteException, NoSuchRunwayException, ServerOverloadedException, FlightAlreadyQueuedException {
+        recorder.record(CommandType.REQUEST_RUNWAY, flightId, destinationAirportId, airlineName,
+                minimumCategory == null ? null : minimumCategory.name());
+        runwayRequests.requestRunway(flightId, destinationAirportId, airlineName, minimumCategory);
+    }
+
+    @Override
+    public void cancelRunwayRequest(final String flightId, final String airlineName)
+            throws RemoteException, NoSuchFlightException {
+        recorder.record(CommandType.CANCEL_RUNWAY_REQUEST, flightId, airlineName);
+        runwayRequests.cancelRunwayRequest(flightId, airlineName);
+    }
+}
@@ -0,0 +1,30 @@
+package ar.edu.itba.pod.server.simulation;
+
+import java.util.Locale;
+import java.util.Random;
+
+/*
+ * Distribucion del tiempo entre dos llegadas de vuelos o entre dos ordenes de despegue, dada su media.
+ * EXPONENTIAL corresponde a llegadas de Poisson; UNIFORM sortea entre 0 y el doble de la media
+ */
+public enum Distribution {
+    CONSTANT,
+    EXPONENTIAL,
+    UNIFORM;
+
+    public static Distribution fromName(final String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+    public double sample(final Random random, final double mean) {
+        switch (this) {
+            case EXPONENTIAL:
+                return -mean * Math.log(1 - random.nextDouble());
+            case UNIFORM:
+                return 2 * mean * random.nextDouble();
+            case CONSTANT:
+            default:
+                return mean;
+        }
+    }
+}
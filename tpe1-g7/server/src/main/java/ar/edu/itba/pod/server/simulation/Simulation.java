@@ -0,0 +1,125 @@
+package ar.edu.itba.pod.server.simulation;
+
+import ar.edu.itba.pod.models.Histogram;
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.assignment.RunwayAssignmentStrategy;
+import ar.edu.itba.pod.server.models.Flight;
+import ar.edu.itba.pod.server.models.Runway;
+import ar.edu.itba.pod.server.models.RunwayIndex;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+/*
+ * Simulacion de eventos discretos del aeropuerto en tiempo virtual, sin RMI ni threads. Usa los mismos Runway,
+ * Flight y estrategia de asignacion que el servidor, pero el reloj avanza de evento en evento: en cada llegada el
+ * vuelo se encola en la pista que elige la estrategia y en cada orden de despegue despega el primero de cada pista.
+ * Termina cuando llego el ultimo vuelo; los que quedan en cola se informan como pendientes
+ */
+public class Simulation {
+    static final private double NANOS_PER_SECOND = 1e9;
+    static final private String FLIGHT_PREFIX = "SIM";
+    static final private String DESTINATION_AIRPORT_ID = "SIMULATION";
+    static final private String AIRLINE_NAME = "SIMULATION";
+
+    final private SimulationSettings settings;
+    final private RunwayAssignmentStrategy strategy;
+
+    public Simulation(final SimulationSettings settings, final RunwayAssignmentStrategy strategy) {
+        this.settings = settings;
+        this.strategy = strategy;
+    }
+
+    public SimulationReport run() {
+        final long startNanos = System.nanoTime();
+        final Random random = new Random(settings.getSeed());
+        final CategorySampler categories = new CategorySampler(settings.getCategoryWeights());
+        final RunwayIndex index = new RunwayIndex();
+        final List<Runway> runways = new ArrayList<>();
+        settings.getRunways().forEach((name, category) -> {
+            final Runway runway = new Runway(name, category);
+            index.add(runway);
+            runways.add(runway);
+        });
+
+        final Histogram queueLengths = new Histogram();
+        long arrived = 0;
+        long rejected = 0;
+        long departed = 0;
+        long queued = 0;
+        long maxQueued = 0;
+        double queueArea = 0;
+        double now = 0;
+        double nextArrival = settings.getArrivals().sample(random, settings.getArrivalIntervalSeconds());
+        double nextDeparture = settings.getDepartures().sample(random, settings.getDepartureIntervalSeconds());
+
+        while (arrived < settings.getFlights()) {
+            final double next = Math.min(nextArrival, nextDeparture);
+            queueArea += queued * (next - now);
+            now = next;
+
+            if (nextArrival <= nextDeparture) {
+                queueLengths.record(queued);
+                final Flight flight = new Flight(FLIGHT_PREFIX + arrived, DESTINATION_AIRPORT_ID, AIRLINE_NAME,
+                        categories.sample(random));
+                arrived++;
+                final Optional<Runway> runway = strategy.select(flight, index.candidates(flight.getCategory()));
+                if (runway.isPresent()) {
+                    runway.get().addToQueue(flight, toNanos(now));
+                    maxQueued = Math.max(maxQueued, ++queued);
+                } else {
+                    rejected++;
+                }
+                nextArrival = now + settings.getArrivals().sample(random, settings.getArrivalIntervalSeconds());
+            } else {
+                for (Runway runway : runways) {
+                    if (runway.isOpen() && runway.pollFromQueue(toNanos(now)) != null) {
+                        departed++;
+                        queued--;
+                    }
+                }
+                nextDeparture = now + settings.getDepartures().sample(random, settings.getDepartureIntervalSeconds());
+            }
+        }
+
+        final Map<String, Histogram> waitTimes = new LinkedHashMap<>();
+        runways.forEach(runway -> waitTimes.put(runway.getName(), runway.getWaitTimeMillis()));
+        return new SimulationReport(arrived, rejected, departed, queued, now, queueLengths,
+                now > 0 ? queueArea / now : 0, maxQueued, waitTimes, System.nanoTime() - startNanos);
+    }
+
+    private static long toNanos(final double seconds) {
+        return Math.round(seconds * NANOS_PER_SECOND);
+    }
+
+    /*
+     * Sortea categorias con probabilidad proporcional a su peso
+     */
+    private static class CategorySampler {
+        final private RunwayCategory[] categories;
+        final private double[] cumulativeWeights;
+
+        CategorySampler(final Map<RunwayCategory, Double> weights) {
+            this.categories = weights.keySet().toArray(new RunwayCategory[0]);
+            this.cumulativeWeights = new double[categories.length];
+            double total = 0;
+            for (int i = 0; i < categories.length; i++) {
+                total += weights.get(categories[i]);
+                cumulativeWeights[i] = total;
+            }
+        }
+
+        RunwayCategory sample(final Random random) {
+            final double value = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+            for (int i = 0; i < categories.length; i++) {
+                if (value < cumulativeWeights[i])
+                    return categories[i];
+            }
+            return categories[categories.length - 1];
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package ar.edu.itba.pod.server.simulation;
+
+import ar.edu.itba.pod.models.Histogram;
+
+import java.util.Collections;
+import java.util.Map;
+
+/*
+ * Resultado de una simulacion. Los tiempos son en tiempo simulado, salvo elapsedNanos que es lo que tardo en correr.
+ * queueLengths tiene el largo total de las colas que encontro cada vuelo al llegar, y averageQueueLength su promedio
+ * ponderado por tiempo. waitTimes tiene, por pista, la espera en milisegundos de los vuelos que despegaron
+ */
+public class SimulationReport {
+    static final private double SECONDS_PER_HOUR = 3600;
+
+    final private long arrived;
+    final private long rejected;
+    final private long departed;
+    final private long pending;
+    final private double simulatedSeconds;
+    final private Histogram queueLengths;
+    final private double averageQueueLength;
+    final private long maxQueueLength;
+    final private Map<String, Histogram> waitTimes;
+    final private long elapsedNanos;
+
+    SimulationReport(final long arrived, final long rejected, final long departed, final long pending,
+                     final double simulatedSeconds, final Histogram queueLengths, final double averageQueueLength,
+                     final long maxQueueLength, final Map<String, Histogram> waitTimes, final long elapsedNanos) {
+        this.arrived = arrived;
+        this.rejected = rejected;
+        this.departed = departed;
+        this.pending = pending;
+        this.simulatedSeconds = simulatedSeconds;
+        this.queueLengths = queueLengths;
+        this.averageQueueLength = averageQueueLength;
+        this.maxQueueLength = maxQueueLength;
+        this.waitTimes = Collections.unmodifiableMap(waitTimes);
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getArrived() {
+        return arrived;
+    }
+
+    /*
+     * Vuelos que al llegar no tenian ninguna pista abierta de su categoria
+     */
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getDeparted() {
+        return departed;
+    }
+
+    /*
+     * Vuelos que seguian en cola al terminar
+     */
+    public long getPending() {
+        return pending;
+    }
+
+    public double getSimulatedSeconds() {
+        return simulatedSeconds;
+    }
+
+    public double getDeparturesPerHour() {
+        return simulatedSeconds > 0 ? departed * SECONDS_PER_HOUR / simulatedSeconds : 0;
+    }
+
+    public Histogram getQueueLengths() {
+        return queueLengths;
+    }
+
+    public double getAverageQueueLength() {
+        return averageQueueLength;
+    }
+
+    public long getMaxQueueLength() {
+        return maxQueueLength;
+    }
+
+    public Map<String, Histogram> getWaitTimes() {
+        return waitTimes;
+    }
+
+    public Histogram getTotalWaitTime() {
+        final Histogram total = new Histogram();
+        waitTimes.values().forEach(total::merge);
+        return total;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
@@ -0,0 +1,81 @@
+package ar.edu.itba.pod.server.simulation;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * Parametros de una simulacion: las pistas (nombre y categoria), cuantos vuelos llegan y cada cuantos segundos en
+ * promedio, con que peso se sortea la categoria de cada vuelo y cada cuantos segundos en promedio se emite una orden
+ * de despegue, que como issueDeparture hace despegar al primer vuelo de cada pista. La semilla fija los sorteos,
+ * por lo que dos simulaciones con los mismos parametros reciben los mismos vuelos en los mismos instantes
+ */
+public class SimulationSettings {
+
+    final private Map<String, RunwayCategory> runways;
+    final private long flights;
+    final private Distribution arrivals;
+    final private double arrivalIntervalSeconds;
+    final private Map<RunwayCategory, Double> categoryWeights;
+    final private Distribution departures;
+    final private double departureIntervalSeconds;
+    final private long seed;
+
+    public SimulationSettings(final Map<String, RunwayCategory> runways, final long flights,
+                              final Distribution arrivals, final double arrivalIntervalSeconds,
+                              final Map<RunwayCategory, Double> categoryWeights, final Distribution departures,
+                              final double departureIntervalSeconds, final long seed) {
+        if (runways.isEmpty())
+            throw new IllegalArgumentException("Runways MUST NOT be empty");
+        if (flights < 0)
+            throw new IllegalArgumentException("Flights MUST NOT be negative");
+        if (!(arrivalIntervalSeconds > 0) || !(departureIntervalSeconds > 0))
+            throw new IllegalArgumentException("Arrival and departure intervals MUST be positive");
+        if (categoryWeights.values().stream().anyMatch(weight -> !(weight >= 0))
+                || categoryWeights.values().stream().mapToDouble(Double::doubleValue).sum() <= 0)
+            throw new IllegalArgumentException("Category weights MUST NOT be negative and at least one MUST be positive");
+        this.runways = Collections.unmodifiableMap(new LinkedHashMap<>(runways));
+        this.flights = flights;
+        this.arrivals = arrivals;
+        this.arrivalIntervalSeconds = arrivalIntervalSeconds;
+        this.categoryWeights = Collections.unmodifiableMap(new EnumMap<>(categoryWeights));
+        this.departures = departures;
+        this.departureIntervalSeconds = departureIntervalSeconds;
+        this.seed = seed;
+    }
+
+    public Map<String, RunwayCategory> getRunways() {
+        return runways;
+    }
+
+    public long getFlights() {
+        return flights;
+    }
+
+    public Distribution getArrivals() {
+        return arrivals;
+    }
+
+    public double getArrivalIntervalSeconds() {
+        return arrivalIntervalSeconds;
+    }
+
+    public Map<RunwayCategory, Double> getCategoryWeights() {
+        return categoryWeights;
+    }
+
+    public Distribution getDepartures() {
+        return departures;
+    }
+
+    public double getDepartureIntervalSeconds() {
+        return departureIntervalSeconds;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,70 @@
+package ar.edu.itba.pod.server.statistics;
+
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DepartureStatistics;
+import ar.edu.itba.pod.models.RunwayStatistics;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Estadisticas de los despegues que se actualizan con cada despegue, de forma que consultarlas no requiere
+ * recorrer el historial. Guarda contadores totales, por pista y por aerolinea, y la cantidad de despegues
+ * por hora de las ultimas DepartureStatistics.WINDOW_HOURS horas.
+ * No es thread-safe: se escribe con el lock de escritura de las pistas y se lee con el de lectura
+ */
+public class DepartureStatisticsAggregator {
+
+    static final private long SECONDS_PER_HOUR = 3600L;
+
+    final private Aggregate total;
+    final private Map<String, Aggregate> runways;
+    final private Map<String, Long> airlineDepartures;
+
+    public DepartureStatisticsAggregator() {
+        this.total = new Aggregate();
+        this.runways = new HashMap<>();
+        this.airlineDepartures = new HashMap<>();
+    }
+
+    public void record(final DepartureData departure) {
+        final long hour = toHour(departure.getDepartedOn());
+        total.record(departure, hour);
+        runways.computeIfAbsent(departure.getRunwayName(), k -> new Aggregate()).record(departure, hour);
+        airlineDepartures.merge(departure.getAirline(), 1L, Long::sum);
+    }
+
+    /*
+     * La ventana por hora termina en la hora de now, o en la del ultimo despegue si es posterior
+     */
+    public DepartureStatistics snapshot(final LocalDateTime now) {
+        final long currentHour = Math.max(toHour(now), total.hourly.getLastHour());
+
+        final Map<String, RunwayStatistics> runwayStatistics = new TreeMap<>();
+        runways.forEach((name, aggregate) -> runwayStatistics.put(name, new RunwayStatistics(aggregate.departures,
+                aggregate.flightsBeforeDepartureSum, aggregate.hourly.toArray(currentHour))));
+
+        return new DepartureStatistics(total.departures, total.flightsBeforeDepartureSum,
+                LocalDateTime.ofEpochSecond(currentHour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC),
+                total.hourly.toArray(currentHour), runwayStatistics, new TreeMap<>(airlineDepartures));
+    }
+
+    private static long toHour(final LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+    }
+
+    private static class Aggregate {
+        final private HourlyWindow hourly = new HourlyWindow(DepartureStatistics.WINDOW_HOURS);
+        private long departures;
+        private long flightsBeforeDepartureSum;
+
+        private void record(final DepartureData departure, final long hour) {
+            departures++;
+            flightsBeforeDepartureSum += departure.getFlightsBeforeDeparture();
+            hourly.increment(hour);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package ar.edu.itba.pod.server.statistics;
+
+import java.util.Arrays;
+
+/*
+ * Cantidad de eventos por hora en las ultimas horas, sobre un arreglo circular indexado por hora.
+ * Al registrar una hora posterior a la ultima se vacian las posiciones de las horas que quedaron fuera de la ventana
+ */
+class HourlyWindow {
+
+    final private long[] counts;
+    private long lastHour;
+
+    HourlyWindow(final int hours) {
+        this.counts = new long[hours];
+        this.lastHour = Long.MIN_VALUE;
+    }
+
+    /*
+     * Las horas anteriores a la ventana se ignoran
+     */
+    void increment(final long hour) {
+        advance(hour);
+        if (hour > lastHour - counts.length)
+            counts[slot(hour)]++;
+    }
+
+    long getLastHour() {
+        return lastHour;
+    }
+
+    /*
+     * Cantidades de las counts.length horas que terminan en endHour, de la mas antigua a endHour
+     */
+    long[] toArray(final long endHour) {
+        final long[] result = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            final long hour = endHour - (counts.length - 1) + i;
+            if (hour <= lastHour && hour > lastHour - counts.length)
+                result[i] = counts[slot(hour)];
+        }
+        return result;
+    }
+
+    private void advance(final long hour) {
+        if (hour <= lastHour)
+            return;
+        if (lastHour == Long.MIN_VALUE || hour - lastHour >= counts.length) {
+            Arrays.fill(counts, 0);
+        } else {
+            for (long h = lastHour + 1; h <= hour; h++)
+                counts[slot(h)] = 0;
+        }
+        lastHour = hour;
+    }
+
+    private int slot(final long hour) {
+        return (int) Math.floorMod(hour, (long) counts.length);
+    }
+}
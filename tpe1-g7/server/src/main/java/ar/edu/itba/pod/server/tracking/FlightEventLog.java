@@ -0,0 +1,67 @@
+package ar.edu.itba.pod.server.tracking;
+
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/*
+ * Ultimos eventos de un vuelo en un buffer circular que crece hasta capacity. Al llenarse se pisan los mas viejos.
+ * Empieza chico porque la mayoria de los vuelos despega con pocos eventos.
+ * No es thread-safe: se escribe con el lock de escritura de las pistas y se lee con el de lectura
+ */
+public class FlightEventLog {
+
+    static final private int INITIAL_CAPACITY = 4;
+
+    private final String airline;
+    private final int capacity;
+    private FlightTrackingEvent[] events;
+    private long lastSequence;
+
+    FlightEventLog(final String airline, final int capacity) {
+        this.airline = airline;
+        this.capacity = capacity;
+        this.events = new FlightTrackingEvent[Math.min(INITIAL_CAPACITY, capacity)];
+        this.lastSequence = 0;
+    }
+
+    public String getAirline() {
+        return airline;
+    }
+
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    FlightTrackingEvent append(final FlightTrackingEventType type, final String flightId, final String destination,
+                               final String runway, final long flightsAhead) {
+        if (lastSequence == events.length && events.length < capacity)
+            grow();
+        final FlightTrackingEvent event = new FlightTrackingEvent(type, ++lastSequence, flightId, airline,
+                destination, runway, flightsAhead);
+        events[(int) ((lastSequence - 1) % events.length)] = event;
+        return event;
+    }
+
+    /*
+     * Solo se llama antes de pisar el primer evento, por lo que el orden de los eventos en el arreglo se mantiene
+     */
+    private void grow() {
+        events = Arrays.copyOf(events, Math.min(events.length * 2, capacity));
+    }
+
+    /*
+     * Devuelve los eventos con numero mayor a afterSequence que sigan guardados. Si ya se pisaron algunos,
+     * el primero devuelto tiene un numero mayor a afterSequence + 1
+     */
+    public List<FlightTrackingEvent> getEventsAfter(final long afterSequence) {
+        final long first = Math.max(Math.max(afterSequence, 0) + 1, lastSequence - events.length + 1);
+        final List<FlightTrackingEvent> answer = new ArrayList<>((int) Math.max(0, lastSequence - first + 1));
+        for (long sequence = first; sequence <= lastSequence; sequence++)
+            answer.add(events[(int) ((sequence - 1) % events.length)]);
+        return answer;
+    }
+}
@@ -0,0 +1,63 @@
+package ar.edu.itba.pod.server.tracking;
+
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/*
+ * Logs de eventos de los vuelos en espera y de los ultimos vuelos que despegaron, para que un cliente que
+ * se suscribe tarde o se reconecta pueda recuperar los eventos que no recibio sin consultar el historial.
+ * Los logs de vuelos que ya no estan en espera se guardan en un LRU acotado
+ */
+public class FlightEventLogs {
+
+    static final private int DEFAULT_EVENTS_PER_FLIGHT = 32;
+    static final private int DEFAULT_RETIRED_FLIGHTS = 4096;
+
+    private final int eventsPerFlight;
+    private final Map<String, FlightEventLog> active;
+    private final Map<String, FlightEventLog> retired;
+
+    public FlightEventLogs() {
+        this(DEFAULT_EVENTS_PER_FLIGHT, DEFAULT_RETIRED_FLIGHTS);
+    }
+
+    public FlightEventLogs(final int eventsPerFlight, final int retiredFlights) {
+        this.eventsPerFlight = eventsPerFlight;
+        this.active = new ConcurrentHashMap<>();
+        this.retired = Collections.synchronizedMap(new LinkedHashMap<String, FlightEventLog>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, FlightEventLog> eldest) {
+                return size() > retiredFlights;
+            }
+        });
+    }
+
+    public FlightTrackingEvent append(final String airline, final FlightTrackingEventType type, final String flightId,
+                                      final String destination, final String runway, final long flightsAhead) {
+        return active.computeIfAbsent(flightId, k -> new FlightEventLog(airline, eventsPerFlight))
+                .append(type, flightId, destination, runway, flightsAhead);
+    }
+
+    /*
+     * Mueve el log de un vuelo que despego o se quedo sin pista al LRU de vuelos retirados
+     */
+    public void retire(final String flightId) {
+        final FlightEventLog log = active.remove(flightId);
+        if (log != null)
+            retired.put(flightId, log);
+    }
+
+    public FlightEventLog get(final String flightId) {
+        final FlightEventLog log = active.get(flightId);
+        return log != null ? log : retired.get(flightId);
+    }
+
+    public boolean isActive(final String flightId) {
+        return active.containsKey(flightId);
+    }
+}
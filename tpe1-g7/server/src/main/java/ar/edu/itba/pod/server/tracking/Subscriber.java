@@ -0,0 +1,66 @@
+package ar.edu.itba.pod.server.tracking;
+
+import java.rmi.Remote;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Handler de un cliente junto con su estado de conexion: fallos consecutivos y ultimo callback exitoso.
+ * Es unico por handler dentro de un indice, aunque el cliente siga varios vuelos o aerolineas
+ */
+public class Subscriber<H extends Remote> {
+
+    private final H handler;
+    private final SubscriberIndex<H> index;
+    private final Set<String> keys;
+    private final AtomicInteger consecutiveFailures;
+    private volatile long lastSuccessMillis;
+    private volatile boolean evicted;
+
+    Subscriber(final H handler, final SubscriberIndex<H> index) {
+        this.handler = handler;
+        this.index = index;
+        this.keys = ConcurrentHashMap.newKeySet();
+        this.consecutiveFailures = new AtomicInteger();
+        this.lastSuccessMillis = System.currentTimeMillis();
+        this.evicted = false;
+    }
+
+    public H getHandler() {
+        return handler;
+    }
+
+    public int getConsecutiveFailures() {
+        return consecutiveFailures.get();
+    }
+
+    public long getLastSuccessMillis() {
+        return lastSuccessMillis;
+    }
+
+    public boolean isEvicted() {
+        return evicted;
+    }
+
+    void recordSuccess() {
+        consecutiveFailures.set(0);
+        lastSuccessMillis = System.currentTimeMillis();
+    }
+
+    int recordFailure() {
+        return consecutiveFailures.incrementAndGet();
+    }
+
+    SubscriberIndex<H> getIndex() {
+        return index;
+    }
+
+    Set<String> getKeys() {
+        return keys;
+    }
+
+    void markEvicted() {
+        evicted = true;
+    }
+}
@@ -0,0 +1,81 @@
+package ar.edu.itba.pod.server.tracking;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.rmi.Remote;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Suscriptores agrupados por clave (vuelo, aerolinea o pista). Las listas son copy-on-write porque se recorren
+ * en cada despegue y cambian poco. Las modificaciones se sincronizan entre si, para que un registro concurrente
+ * con el desalojo del mismo suscriptor no lo deje en una lista
+ */
+class SubscriberIndex<H extends Remote> {
+    private static final Logger logger = LoggerFactory.getLogger(SubscriberIndex.class);
+
+    private final ConcurrentMap<String, CopyOnWriteArrayList<Subscriber<H>>> subscribersByKey;
+    private final ConcurrentMap<H, Subscriber<H>> subscribersByHandler;
+    private final AtomicLong evictions;
+
+    SubscriberIndex(final AtomicLong evictions) {
+        this.subscribersByKey = new ConcurrentHashMap<>();
+        this.subscribersByHandler = new ConcurrentHashMap<>();
+        this.evictions = evictions;
+    }
+
+    synchronized Subscriber<H> register(final String key, final H handler) {
+        final Subscriber<H> subscriber = subscribersByHandler.compute(handler,
+                (k, current) -> current == null || current.isEvicted() ? new Subscriber<>(k, this) : current);
+        subscriber.getKeys().add(key);
+        subscribersByKey.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(subscriber);
+        return subscriber;
+    }
+
+    List<Subscriber<H>> get(final String key) {
+        final List<Subscriber<H>> subscribers = subscribersByKey.get(key);
+        return subscribers == null ? Collections.emptyList() : subscribers;
+    }
+
+    boolean contains(final String key) {
+        return subscribersByKey.containsKey(key);
+    }
+
+    synchronized List<Subscriber<H>> remove(final String key) {
+        final List<Subscriber<H>> subscribers = subscribersByKey.remove(key);
+        if (subscribers == null)
+            return Collections.emptyList();
+        for (Subscriber<H> subscriber : subscribers) {
+            subscriber.getKeys().remove(key);
+            if (subscriber.getKeys().isEmpty())
+                subscribersByHandler.remove(subscriber.getHandler(), subscriber);
+        }
+        return subscribers;
+    }
+
+    synchronized boolean evict(final Subscriber<H> subscriber) {
+        if (subscriber.isEvicted())
+            return false;
+        subscriber.markEvicted();
+        subscribersByHandler.remove(subscriber.getHandler(), subscriber);
+        for (String key : subscriber.getKeys()) {
+            final List<Subscriber<H>> subscribers = subscribersByKey.get(key);
+            if (subscribers != null)
+                subscribers.remove(subscriber);
+            subscribersByKey.remove(key, Collections.emptyList());
+        }
+        subscriber.getKeys().clear();
+        evictions.incrementAndGet();
+        logger.warn("Evicted unreachable subscriber after " + subscriber.getConsecutiveFailures() + " failed callbacks.");
+        return true;
+    }
+
+    int size() {
+        return subscribersByHandler.size();
+    }
+}
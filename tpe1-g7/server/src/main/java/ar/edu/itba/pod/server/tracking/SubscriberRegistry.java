@@ -0,0 +1,96 @@
+package ar.edu.itba.pod.server.tracking;
+
+import ar.edu.itba.pod.BatchedTrackingCallbackHandler;
+import ar.edu.itba.pod.FlightTrackingCallbackHandler;
+
+import java.rmi.Remote;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Suscriptores de cada vuelo y de cada alcance (vuelo, aerolinea o pista). Los suscriptores de un alcance se buscan
+ * por su nombre en cada evento, por lo que cubren tambien los vuelos que lleguen despues de suscribirse.
+ * Un handler se desuscribe de todo cuando acumula MAX_CONSECUTIVE_FAILURES fallos seguidos, o cuando
+ * falla sin haber respondido bien en STALE_AFTER_MILLIS, para no gastar un thread y un timeout de conexion
+ * en cada evento de un cliente que ya no existe
+ */
+public class SubscriberRegistry {
+
+    static final private int MAX_CONSECUTIVE_FAILURES = 3;
+    static final private long STALE_AFTER_MILLIS = TimeUnit.SECONDS.toMillis(60);
+
+    private final AtomicLong evictions;
+    private final SubscriberIndex<FlightTrackingCallbackHandler> flights;
+    private final Map<TrackingScope, SubscriberIndex<BatchedTrackingCallbackHandler>> scopes;
+
+    public SubscriberRegistry() {
+        this.evictions = new AtomicLong();
+        this.flights = new SubscriberIndex<>(evictions);
+        this.scopes = new EnumMap<>(TrackingScope.class);
+        for (TrackingScope scope : TrackingScope.values())
+            scopes.put(scope, new SubscriberIndex<>(evictions));
+    }
+
+    public Subscriber<FlightTrackingCallbackHandler> register(final String flightId,
+                                                              final FlightTrackingCallbackHandler handler) {
+        return flights.register(flightId, handler);
+    }
+
+    public List<Subscriber<FlightTrackingCallbackHandler>> getSubscribers(final String flightId) {
+        return flights.get(flightId);
+    }
+
+    /*
+     * Quita y devuelve los suscriptores de un vuelo que dejo de estar en seguimiento
+     */
+    public List<Subscriber<FlightTrackingCallbackHandler>> removeFlight(final String flightId) {
+        return flights.remove(flightId);
+    }
+
+    public Subscriber<BatchedTrackingCallbackHandler> register(final TrackingScope scope, final String name,
+                                                               final BatchedTrackingCallbackHandler handler) {
+        return scopes.get(scope).register(name, handler);
+    }
+
+    public List<Subscriber<BatchedTrackingCallbackHandler>> getSubscribers(final TrackingScope scope, final String name) {
+        return scopes.get(scope).get(name);
+    }
+
+    public List<Subscriber<BatchedTrackingCallbackHandler>> removeSubscribers(final TrackingScope scope,
+                                                                              final String name) {
+        return scopes.get(scope).remove(name);
+    }
+
+    public boolean hasSubscribers(final TrackingScope scope, final String name) {
+        return scopes.get(scope).contains(name);
+    }
+
+    public <H extends Remote> void recordSuccess(final Subscriber<H> subscriber) {
+        subscriber.recordSuccess();
+    }
+
+    /*
+     * Devuelve true si el suscriptor fue desalojado por este fallo
+     */
+    public <H extends Remote> boolean recordFailure(final Subscriber<H> subscriber) {
+        final int failures = subscriber.recordFailure();
+        final boolean stale = System.currentTimeMillis() - subscriber.getLastSuccessMillis() > STALE_AFTER_MILLIS;
+        if (failures < MAX_CONSECUTIVE_FAILURES && !stale)
+            return false;
+        return subscriber.getIndex().evict(subscriber);
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public int getSubscriberCount() {
+        int count = flights.size();
+        for (SubscriberIndex<BatchedTrackingCallbackHandler> index : scopes.values())
+            count += index.size();
+        return count;
+    }
+}
@@ -0,0 +1,65 @@
+package ar.edu.itba.pod.server.tracking;
+
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/*
+ * Eventos de una misma operacion agrupados por alcance (vuelo, aerolinea y pista), para enviarlos en un unico
+ * callback a cada suscriptor. Todos los eventos se numeran y guardan en el log del vuelo, pero solo se agrupan
+ * los de alcances con suscriptores. No es thread-safe: se arma dentro de una operacion y se publica al terminarla
+ */
+public class TrackingEventBatch {
+
+    private final SubscriberRegistry registry;
+    private final FlightEventLogs logs;
+    private final Map<TrackingScope, Map<String, List<FlightTrackingEvent>>> events;
+    private final List<String> retiredFlights;
+
+    public TrackingEventBatch(final SubscriberRegistry registry, final FlightEventLogs logs) {
+        this.registry = registry;
+        this.logs = logs;
+        this.events = new EnumMap<>(TrackingScope.class);
+        for (TrackingScope scope : TrackingScope.values())
+            events.put(scope, new LinkedHashMap<>());
+        this.retiredFlights = new ArrayList<>();
+    }
+
+    public void add(final String airline, final FlightTrackingEventType type, final String flightId,
+                    final String destination, final String runway, final long flightsAhead) {
+        final FlightTrackingEvent event = logs.append(airline, type, flightId, destination, runway, flightsAhead);
+        if (registry.hasSubscribers(TrackingScope.FLIGHT, flightId))
+            add(TrackingScope.FLIGHT, flightId, event);
+        final boolean airlineTracked = registry.hasSubscribers(TrackingScope.AIRLINE, airline);
+        final boolean runwayTracked = registry.hasSubscribers(TrackingScope.RUNWAY, runway);
+        if (airlineTracked)
+            add(TrackingScope.AIRLINE, airline, event);
+        if (runwayTracked)
+            add(TrackingScope.RUNWAY, runway, event);
+    }
+
+    /*
+     * Marca un vuelo que despego o se quedo sin pista. Sus suscriptores se quitan despues de publicar el lote
+     */
+    public void retire(final String flightId) {
+        logs.retire(flightId);
+        retiredFlights.add(flightId);
+    }
+
+    public List<String> getRetiredFlights() {
+        return retiredFlights;
+    }
+
+    private void add(final TrackingScope scope, final String name, final FlightTrackingEvent event) {
+        events.get(scope).computeIfAbsent(name, k -> new ArrayList<>()).add(event);
+    }
+
+    public Map<String, List<FlightTrackingEvent>> getEvents(final TrackingScope scope) {
+        return events.get(scope);
+    }
+}
@@ -0,0 +1,10 @@
+package ar.edu.itba.pod.server.tracking;
+
+/*
+ * Alcance de una suscripcion agrupada: un vuelo, todos los vuelos de una aerolinea o todos los vuelos de una pista
+ */
+public enum TrackingScope {
+    FLIGHT,
+    AIRLINE,
+    RUNWAY
+}
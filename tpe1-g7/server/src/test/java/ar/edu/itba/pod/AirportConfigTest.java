@@ -0,0 +1,141 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.Servant;
+import ar.edu.itba.pod.server.config.AirportConfig;
+import ar.edu.itba.pod.server.config.AirportConfigReader;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+import static org.mockito.Mockito.*;
+
+public class AirportConfigTest {
+
+    static final private String CONFIG = "# pistas\n" +
+            "runway;SMALL;A\n" +
+            "runway;LARGE;F;open\n" +
+            "runway;SPARE;C;closed\n" +
+            "\n" +
+            "# vuelos\n" +
+            "flight;FLIGHT 1;POD AIRPORT;POD AIRLINE;A\n" +
+            "flight;FLIGHT 2;POD AIRPORT;POD AIRLINE;B\n" +
+            "flight;FLIGHT 3;POD AIRPORT;POD AIRLINE;A;LARGE\n" +
+            "flight;FLIGHT 4;POD AIRPORT;POD AIRLINE;C;SPARE\n";
+
+    private static AirportConfig read(final String config) throws IOException {
+        return AirportConfigReader.read(new StringReader(config));
+    }
+
+    @Test
+    public void testRead() throws IOException {
+        final AirportConfig config = read(CONFIG);
+
+        Assert.assertEquals(3, config.getRunways().size());
+        Assert.assertEquals(4, config.getFlights().size());
+        Assert.assertTrue(config.getRunway("SMALL").isOpen());
+        Assert.assertFalse(config.getRunway("SPARE").isOpen());
+        Assert.assertEquals(RunwayCategory.F, config.getRunway("LARGE").getCategory());
+        Assert.assertNull(config.getFlights().get(0).getRunwayName());
+        Assert.assertEquals("LARGE", config.getFlights().get(2).getRunwayName());
+        Assert.assertSame(config.getFlights().get(0).getAirline(), config.getFlights().get(1).getAirline());
+    }
+
+    @Test
+    public void testInvalid() {
+        final IOException e = Assert.assertThrows(IOException.class, () -> read("runway;SMALL;A\nrunway;LARGE;G\n"));
+        Assert.assertTrue(e.getMessage().startsWith("Invalid line 2"));
+        Assert.assertThrows(IOException.class, () -> read("runway;SMALL\n"));
+        Assert.assertThrows(IOException.class, () -> read("runway;SMALL;A;broken\n"));
+        Assert.assertThrows(IOException.class, () -> read("flight;FLIGHT 1;POD AIRPORT;POD AIRLINE;A;SMALL;EXTRA\n"));
+        Assert.assertThrows(IOException.class, () -> read("gate;1\n"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> read("runway;SMALL;A\nrunway;SMALL;B\n"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> read(
+                "runway;SMALL;A\nflight;FLIGHT 1;POD AIRPORT;POD AIRLINE;A\nflight;FLIGHT 1;POD AIRPORT;POD AIRLINE;A\n"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> read(
+                "runway;SMALL;A\nflight;FLIGHT 1;POD AIRPORT;POD AIRLINE;B;SMALL\n"));
+    }
+
+    @Test
+    public void testPreload() throws IOException {
+        final Servant servant = new Servant(Executors.newCachedThreadPool());
+        servant.preload(read(CONFIG));
+
+        final Map<String, Long> queueLengths = servant.getMetrics().getRunwayQueueLengths();
+        Assert.assertEquals(Long.valueOf(1), queueLengths.get("SMALL"));
+        Assert.assertEquals(Long.valueOf(2), queueLengths.get("LARGE"));
+        Assert.assertEquals(Long.valueOf(1), queueLengths.get("SPARE"));
+        Assert.assertFalse(servant.isRunwayOpen("SPARE"));
+
+        /* Un vuelo cargado se comporta como uno encolado con requestRunway */
+        servant.requestRunway("FLIGHT 2", "POD AIRPORT", "POD AIRLINE", RunwayCategory.B);
+        Assert.assertEquals(Long.valueOf(2), servant.getMetrics().getRunwayQueueLengths().get("LARGE"));
+        servant.cancelRunwayRequest("FLIGHT 4", "POD AIRLINE");
+        servant.issueDeparture();
+        final List<String> departed = servant.getAllDepartures().stream()
+                .map(DepartureData::getFlightId).sorted().collect(Collectors.toList());
+        Assert.assertEquals(2, departed.size());
+        Assert.assertEquals("FLIGHT 1", departed.get(0));
+        Assert.assertEquals("FLIGHT 2", departed.get(1));
+    }
+
+    /*
+     * La asignacion de un vuelo cargado queda en su log de eventos, por lo que se puede seguir desde el principio
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testPreloadIsTracked() throws IOException {
+        final Servant servant = new Servant(Executors.newCachedThreadPool());
+        servant.preload(read(CONFIG));
+        final BatchedTrackingCallbackHandler handler = mock(BatchedTrackingCallbackHandler.class);
+
+        servant.subscribeFrom("FLIGHT 3", "POD AIRLINE", 0, handler);
+        servant.cancelRunwayRequest("FLIGHT 3", "POD AIRLINE");
+
+        final ArgumentCaptor<List<FlightTrackingEvent>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(handler, timeout(10_000).times(2)).onEvents(captor.capture());
+        final FlightTrackingEvent assignment = captor.getAllValues().get(0).get(0);
+        Assert.assertEquals(1, captor.getAllValues().get(0).size());
+        Assert.assertEquals(FlightTrackingEventType.RUNWAY_ASSIGNMENT, assignment.getType());
+        Assert.assertEquals(1, assignment.getSequence());
+        Assert.assertEquals("LARGE", assignment.getRunway());
+        Assert.assertEquals(1, assignment.getFlightsAhead());
+        Assert.assertEquals(FlightTrackingEventType.CANCELLATION, captor.getAllValues().get(1).get(0).getType());
+    }
+
+    /*
+     * Si la configuracion choca con el estado actual no se carga nada
+     */
+    @Test
+    public void testPreloadIsAtomic() throws IOException {
+        final Servant servant = new Servant(Executors.newCachedThreadPool());
+        servant.addRunway("LARGE", RunwayCategory.F);
+
+        Assert.assertThrows(IllegalStateException.class, () -> servant.preload(read(CONFIG)));
+        Assert.assertThrows(NoSuchRunwayException.class, () -> servant.isRunwayOpen("SMALL"));
+
+        /* Con LARGE cerrada ninguna pista abierta admite la categoria B, pero se puede encolar en LARGE a mano */
+        servant.closeRunway("LARGE");
+        Assert.assertThrows(NoSuchRunwayException.class, () -> servant.preload(read(
+                "runway;SMALL;A\nflight;FLIGHT 1;POD AIRPORT;POD AIRLINE;B\n")));
+        Assert.assertThrows(NoSuchRunwayException.class, () -> servant.preload(read(
+                "runway;SMALL;A\nflight;FLIGHT 1;POD AIRPORT;POD AIRLINE;A;MISSING\n")));
+        Assert.assertThrows(NoSuchRunwayException.class, () -> servant.isRunwayOpen("SMALL"));
+
+        servant.preload(read("runway;SMALL;A\nflight;FLIGHT 1;POD AIRPORT;POD AIRLINE;B;LARGE\n"));
+        Assert.assertEquals(Long.valueOf(1), servant.getMetrics().getRunwayQueueLengths().get("LARGE"));
+        Assert.assertThrows(IllegalStateException.class, () -> servant.preload(read(
+                "flight;FLIGHT 1;POD AIRPORT;POD AIRLINE;B\n")));
+    }
+}
@@ -0,0 +1,143 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.Servant;
+import ar.edu.itba.pod.server.recording.CommandReader;
+import ar.edu.itba.pod.server.recording.CommandRecorder;
+import ar.edu.itba.pod.server.recording.CommandReplayer;
+import ar.edu.itba.pod.server.recording.CommandType;
+import ar.edu.itba.pod.server.recording.RecordedCommand;
+import ar.edu.itba.pod.server.recording.RecordingServant;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class CommandRecordingTest {
+
+    static final private int FLIGHTS = 60;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /*
+     * Graba trafico sobre un servant, incluyendo operaciones que fallan, y devuelve el archivo
+     */
+    private Path record(final Servant servant) throws IOException {
+        final Path file = folder.newFile().toPath();
+        try (CommandRecorder recorder = new CommandRecorder(file)) {
+            final RecordingServant recording = new RecordingServant(servant, recorder);
+            recording.addRunway("RUNWAY 1", RunwayCategory.A);
+            recording.addRunway("RUNWAY 2", RunwayCategory.F);
+            recording.addRunway("RUNWAY 3", RunwayCategory.C);
+            for (int i = 0; i < FLIGHTS; i++) {
+                recording.requestRunway("FLIGHT " + i, "AIRPORT " + i % 5, "AIRLINE " + i % 3,
+                        RunwayCategory.values()[i % RunwayCategory.values().length]);
+                if (i % 7 == 0)
+                    recording.issueDeparture();
+                if (i == 20)
+                    recording.closeRunway("RUNWAY 3");
+                if (i == 40)
+                    recording.rearrangeDepartures();
+            }
+            recording.openRunway("RUNWAY 3");
+            recording.isRunwayOpen("RUNWAY 1");
+            recording.getWaitTimes();
+            try {
+                recording.getRunwayWaitTimes("MISSING");
+                Assert.fail();
+            } catch (NoSuchRunwayException ignored) {
+            }
+            try {
+                recording.requestRunway("FLIGHT", null, "AIRLINE 0", null);
+                Assert.fail();
+            } catch (IllegalArgumentException ignored) {
+            }
+            for (int i = 0; i < 10; i++)
+                recording.issueDeparture();
+        }
+        return file;
+    }
+
+    private static List<String> describe(final List<DepartureData> departures) {
+        return departures.stream()
+                .map(d -> d.getFlightId() + "/" + d.getRunwayName() + "/" + d.getFlightsBeforeDeparture())
+                .collect(Collectors.toList());
+    }
+
+    private static List<RecordedCommand> readAll(final Path file) throws IOException {
+        final List<RecordedCommand> commands = new ArrayList<>();
+        try (CommandReader reader = new CommandReader(file)) {
+            RecordedCommand command;
+            while ((command = reader.next()) != null)
+                commands.add(command);
+        }
+        return commands;
+    }
+
+    /*
+     * El test verifica que la grabacion contenga cada operacion en orden y con sus argumentos
+     */
+    @Test
+    public void testRecording() throws IOException {
+        final List<RecordedCommand> commands = readAll(record(new Servant()));
+
+        Assert.assertEquals(3 + FLIGHTS + 9 + 1 + 1 + 4 + 1 + 10, commands.size());
+        Assert.assertEquals(Arrays.asList("RUNWAY 1", "A"), commands.get(0).getArguments());
+        Assert.assertEquals(CommandType.REQUEST_RUNWAY, commands.get(3).getType());
+        Assert.assertEquals(Arrays.asList("FLIGHT 0", "AIRPORT 0", "AIRLINE 0", "A"), commands.get(3).getArguments());
+        Assert.assertEquals(CommandType.ISSUE_DEPARTURE, commands.get(4).getType());
+        Assert.assertEquals(Arrays.asList("MISSING"), commands.get(commands.size() - 12).getArguments());
+        Assert.assertEquals(Arrays.asList("FLIGHT", null, "AIRLINE 0", null),
+                commands.get(commands.size() - 11).getArguments());
+        for (int i = 1; i < commands.size(); i++)
+            Assert.assertTrue(commands.get(i).getOffsetNanos() >= commands.get(i - 1).getOffsetNanos());
+    }
+
+    /*
+     * El test verifica que reproducir la grabacion sobre un servant nuevo deje los mismos despegues
+     * que el trafico original, y que se midan las operaciones fallidas
+     */
+    @Test
+    public void testReplayIsDeterministic() throws IOException, RemoteException {
+        final Servant original = new Servant();
+        final Path file = record(original);
+
+        final Servant replayed = new Servant();
+        final CommandReplayer.Report report;
+        try (CommandReader reader = new CommandReader(file)) {
+            report = new CommandReplayer(replayed, CommandReplayer.MAX_SPEED).replay(reader);
+        }
+
+        Assert.assertEquals(readAll(file).size(), report.getCommands());
+        Assert.assertEquals(1, report.getServiceTimes().get(CommandType.GET_RUNWAY_WAIT_TIMES).getFailures());
+        Assert.assertEquals(1, report.getServiceTimes().get(CommandType.REQUEST_RUNWAY).getFailures());
+        Assert.assertEquals(FLIGHTS + 1, report.getResponseTimes().get(CommandType.REQUEST_RUNWAY).getCount());
+        Assert.assertEquals(describe(original.getAllDepartures()), describe(replayed.getAllDepartures()));
+        Assert.assertEquals(original.getWaitTimes().keySet(), replayed.getWaitTimes().keySet());
+    }
+
+    /*
+     * El test verifica que una grabacion cortada a mitad de una operacion se lea hasta la ultima completa
+     */
+    @Test
+    public void testTruncatedRecording() throws IOException {
+        final Path file = record(new Servant());
+        final int complete = readAll(file).size();
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        Assert.assertEquals(complete - 1, readAll(file).size());
+    }
+}
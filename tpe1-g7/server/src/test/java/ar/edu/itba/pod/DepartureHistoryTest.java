@@ -0,0 +1,242 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DeparturePage;
+import ar.edu.itba.pod.server.history.DepartureHistory;
+import ar.edu.itba.pod.server.history.DepartureHistorySnapshot;
+import ar.edu.itba.pod.server.history.GzipFileDepartureArchiver;
+import ar.edu.itba.pod.server.history.RetentionPolicy;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class DepartureHistoryTest {
+
+    static final private int TOTAL_DEPARTURES = 100;
+    static final private int SEGMENT_SIZE = 10;
+    static final private List<String> RUNWAYS = Arrays.asList("RUNWAY 1", "RUNWAY 2");
+    static final private List<String> AIRLINES = Arrays.asList("AIRLINE 1", "AIRLINE 2", "AIRLINE 3");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static List<DepartureData> departures(final LocalDateTime start) {
+        final List<DepartureData> departures = new ArrayList<>();
+        for (int i = 0; i < TOTAL_DEPARTURES; i++)
+            departures.add(new DepartureData(i % 7, RUNWAYS.get(i % RUNWAYS.size()), "FLIGHT " + i, "AIRPORT",
+                    AIRLINES.get(i % AIRLINES.size()), start.plusMinutes(i)));
+        return departures;
+    }
+
+    private static List<DepartureData> filter(final List<DepartureData> departures, final Predicate<DepartureData> predicate) {
+        return departures.stream().filter(predicate).collect(Collectors.toList());
+    }
+
+    /*
+     * El test verifica que se mantengan en memoria a lo sumo los despegues indicados y que las consultas
+     * devuelvan lo mismo que sin limite, combinando los segmentos archivados con la memoria
+     */
+    @Test
+    public void testQueriesSpanArchive() throws IOException {
+        final File archiveDirectory = folder.newFolder();
+        final DepartureHistory history = new DepartureHistory(new RetentionPolicy(25, null, SEGMENT_SIZE),
+                new GzipFileDepartureArchiver(archiveDirectory.toPath()));
+        final List<DepartureData> departures = departures(LocalDateTime.of(2021, 9, 17, 10, 0));
+        departures.forEach(history::add);
+
+        Assert.assertEquals(TOTAL_DEPARTURES, history.size());
+        Assert.assertTrue(history.getRetainedSize() >= 25 && history.getRetainedSize() < 25 + SEGMENT_SIZE);
+        Assert.assertEquals((TOTAL_DEPARTURES - history.getRetainedSize()) / SEGMENT_SIZE,
+                archiveDirectory.listFiles().length);
+
+        Assert.assertEquals(departures, history.getAll());
+        Assert.assertEquals(filter(departures, d -> d.getRunwayName().equals(RUNWAYS.get(1))),
+                history.getByRunway(RUNWAYS.get(1)));
+        Assert.assertEquals(filter(departures, d -> d.getAirline().equals(AIRLINES.get(2))),
+                history.getByAirline(AIRLINES.get(2)));
+
+        final LocalDateTime from = departures.get(15).getDepartedOn();
+        final LocalDateTime to = departures.get(85).getDepartedOn();
+        final Predicate<DepartureData> inRange = d -> !d.getDepartedOn().isBefore(from) && d.getDepartedOn().isBefore(to);
+        Assert.assertEquals(filter(departures, inRange), history.getBetween(from, to));
+        Assert.assertEquals(filter(departures, inRange.and(d -> d.getAirline().equals(AIRLINES.get(0)))),
+                history.getByAirlineBetween(AIRLINES.get(0), from, to));
+
+        Assert.assertEquals(departures.subList(33, TOTAL_DEPARTURES), history.getSince(33).getDepartures());
+        Assert.assertEquals(TOTAL_DEPARTURES, history.getSince(33).getCursor());
+        Assert.assertEquals(0, history.getSince(33).getFirstCursor());
+        Assert.assertEquals(filter(departures.subList(33, TOTAL_DEPARTURES), d -> d.getRunwayName().equals(RUNWAYS.get(0))),
+                history.getByRunwaySince(RUNWAYS.get(0), 33).getDepartures());
+    }
+
+    /*
+     * El test verifica que sin archivador se descarten los despegues mas antiguos que la antiguedad maxima,
+     * manteniendo la cantidad total de despegues para los cursores
+     */
+    @Test
+    public void testAgeRetentionWithoutArchiver() {
+        final DepartureHistory history = new DepartureHistory(
+                new RetentionPolicy(Long.MAX_VALUE, Duration.ofMinutes(30), SEGMENT_SIZE), null);
+        final List<DepartureData> departures = departures(LocalDateTime.of(2021, 9, 17, 10, 0));
+        departures.forEach(history::add);
+
+        final List<DepartureData> retained = history.getAll();
+        Assert.assertEquals(TOTAL_DEPARTURES, history.size());
+        Assert.assertEquals(departures.subList(TOTAL_DEPARTURES - retained.size(), TOTAL_DEPARTURES), retained);
+        Assert.assertTrue(retained.size() > 30 && retained.size() <= 30 + SEGMENT_SIZE);
+        Assert.assertEquals(retained, history.getSince(0).getDepartures());
+        Assert.assertEquals(TOTAL_DEPARTURES, history.getSince(0).getCursor());
+        Assert.assertEquals(TOTAL_DEPARTURES - retained.size(), history.getSince(0).getFirstCursor());
+    }
+
+    /*
+     * El test verifica que cada historial tenga su propio id, que las paginas informan para detectar reinicios
+     */
+    @Test
+    public void testHistoryId() {
+        final DepartureHistory history = new DepartureHistory();
+        departures(LocalDateTime.of(2021, 9, 17, 10, 0)).forEach(history::add);
+        final DeparturePage page = history.getByAirlineSince(AIRLINES.get(0), 50);
+
+        Assert.assertEquals(history.getId(), page.getHistoryId());
+        Assert.assertEquals(0, page.getFirstCursor());
+        Assert.assertNotEquals(history.getId(), new DepartureHistory().getId());
+    }
+
+    /*
+     * El test verifica que una version tomada del historial no cambie al agregar y desalojar despegues
+     */
+    @Test
+    public void testSnapshotIsImmutable() {
+        final DepartureHistory history = new DepartureHistory(new RetentionPolicy(25, null, SEGMENT_SIZE), null);
+        final List<DepartureData> departures = departures(LocalDateTime.of(2021, 9, 17, 10, 0));
+        departures.subList(0, 30).forEach(history::add);
+
+        final DepartureHistorySnapshot snapshot = history.snapshot();
+        final List<DepartureData> all = snapshot.getAll();
+        final List<DepartureData> byRunway = snapshot.getByRunway(RUNWAYS.get(0));
+        departures.subList(30, TOTAL_DEPARTURES).forEach(history::add);
+
+        Assert.assertEquals(30, snapshot.size());
+        Assert.assertEquals(all, snapshot.getAll());
+        Assert.assertEquals(byRunway, snapshot.getByRunway(RUNWAYS.get(0)));
+        Assert.assertEquals(TOTAL_DEPARTURES, history.size());
+        Assert.assertNotEquals(all, history.getAll());
+    }
+
+    /*
+     * El test verifica que al desalojar todos los despegues de una aerolinea su indice deje de publicarse,
+     * sin afectar a las versiones tomadas antes
+     */
+    @Test
+    public void testEvictedIndexIsDropped() {
+        final String airline = "EVICTED AIRLINE";
+        final DepartureHistory history = new DepartureHistory(new RetentionPolicy(25, null, SEGMENT_SIZE), null);
+        final List<DepartureData> departures = departures(LocalDateTime.of(2021, 9, 17, 10, 0));
+        final DepartureData evicted = new DepartureData(0, RUNWAYS.get(0), "EVICTED FLIGHT", "AIRPORT", airline,
+                departures.get(0).getDepartedOn());
+        history.add(evicted);
+        departures.subList(1, 30).forEach(history::add);
+
+        final DepartureHistorySnapshot snapshot = history.snapshot();
+        final List<DepartureData> byRunway = snapshot.getByRunway(RUNWAYS.get(0));
+        Assert.assertEquals(Arrays.asList(evicted), snapshot.getByAirline(airline));
+        departures.subList(30, TOTAL_DEPARTURES).forEach(history::add);
+
+        Assert.assertTrue(history.getByAirline(airline).isEmpty());
+        Assert.assertEquals(Arrays.asList(evicted), snapshot.getByAirline(airline));
+        Assert.assertEquals(byRunway, snapshot.getByRunway(RUNWAYS.get(0)));
+        Assert.assertEquals(filter(history.getAll(), d -> d.getRunwayName().equals(RUNWAYS.get(0))),
+                history.getByRunway(RUNWAYS.get(0)));
+    }
+
+    /*
+     * El test verifica que con muchas aerolineas, cuyas versiones ocupan varios bloques, cada version tomada siga
+     * devolviendo los despegues de cada aerolinea que tenia, y que al desalojar aerolineas las demas se mantengan
+     */
+    @Test
+    public void testManyAirlines() {
+        final int AIRLINE_COUNT = 100;
+        final DepartureHistory history = new DepartureHistory(new RetentionPolicy(150, null, SEGMENT_SIZE), null);
+        final List<DepartureData> departures = new ArrayList<>();
+        final LocalDateTime start = LocalDateTime.of(2021, 9, 17, 10, 0);
+        for (int i = 0; i < 3 * AIRLINE_COUNT; i++)
+            departures.add(new DepartureData(0, RUNWAYS.get(0), "FLIGHT " + i, "AIRPORT",
+                    "AIRLINE " + (i < 2 * AIRLINE_COUNT ? i % AIRLINE_COUNT : i), start.plusMinutes(i)));
+        departures.subList(0, 2 * AIRLINE_COUNT).forEach(history::add);
+
+        final DepartureHistorySnapshot snapshot = history.snapshot();
+        final List<DepartureData> retained = snapshot.getAll();
+        departures.subList(2 * AIRLINE_COUNT, 3 * AIRLINE_COUNT).forEach(history::add);
+
+        Assert.assertEquals(150, history.getRetainedSize());
+        Assert.assertTrue(history.getByAirline("AIRLINE 0").isEmpty());
+        for (int i = 0; i < AIRLINE_COUNT; i++) {
+            final String airline = "AIRLINE " + i;
+            Assert.assertEquals(filter(retained, d -> d.getAirline().equals(airline)), snapshot.getByAirline(airline));
+            Assert.assertEquals(filter(history.getAll(), d -> d.getAirline().equals(airline)),
+                    history.getByAirline(airline));
+        }
+        for (int i = 2 * AIRLINE_COUNT; i < 3 * AIRLINE_COUNT; i++)
+            Assert.assertEquals(Arrays.asList(departures.get(i)), history.getByAirline("AIRLINE " + i));
+    }
+
+    /*
+     * El test verifica que se pueda consultar el historial sin locks mientras otro thread agrega despegues:
+     * cada consulta debe devolver un prefijo de los despegues en orden, consistente con su cursor
+     */
+    @Test
+    public void testConcurrentReads() throws InterruptedException {
+        final int total = 20_000;
+        final DepartureHistory history = new DepartureHistory(new RetentionPolicy(5_000, null, 1_000), null);
+        final LocalDateTime start = LocalDateTime.of(2021, 9, 17, 10, 0);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final AtomicBoolean done = new AtomicBoolean();
+
+        final List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            final Thread reader = new Thread(() -> {
+                try {
+                    while (!done.get()) {
+                        final DepartureHistorySnapshot snapshot = history.snapshot();
+                        final List<DepartureData> retained = snapshot.getAll();
+                        Assert.assertEquals(snapshot.getRetainedSize(), retained.size());
+                        for (int i = 0; i < retained.size(); i++)
+                            Assert.assertEquals("FLIGHT " + (snapshot.size() - retained.size() + i),
+                                    retained.get(i).getFlightId());
+                        final DeparturePage page = snapshot.getByRunwaySince(RUNWAYS.get(1), snapshot.size() - 100);
+                        Assert.assertEquals(snapshot.size(), page.getCursor());
+                        Assert.assertTrue(page.getDepartures().size() <= 50);
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            readers.add(reader);
+            reader.start();
+        }
+
+        for (int i = 0; i < total; i++)
+            history.add(new DepartureData(0, RUNWAYS.get(i % RUNWAYS.size()), "FLIGHT " + i, "AIRPORT",
+                    AIRLINES.get(i % AIRLINES.size()), start.plusSeconds(i)));
+        done.set(true);
+        for (Thread reader : readers)
+            reader.join();
+
+        Assert.assertNull(failure.get());
+        Assert.assertEquals(total, history.size());
+    }
+}
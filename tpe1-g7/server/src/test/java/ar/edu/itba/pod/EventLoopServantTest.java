@@ -0,0 +1,105 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.Servant;
+import ar.edu.itba.pod.server.admission.AdmissionController;
+import ar.edu.itba.pod.server.engine.EventLoopEngine;
+import ar.edu.itba.pod.server.history.DepartureHistory;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.rmi.ServerError;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/*
+ * Ejecuta los tests de ServantTest con todas las operaciones aplicadas por el thread del EventLoopEngine
+ */
+public class EventLoopServantTest extends ServantTest {
+
+    private EventLoopEngine engine;
+
+    @Override
+    protected Servant createServant() {
+        engine = new EventLoopEngine();
+        return new Servant(Executors.newCachedThreadPool(), new DepartureHistory(), new AdmissionController(),
+                engine);
+    }
+
+    @After
+    public void shutdownEngine() {
+        engine.shutdown();
+    }
+
+    /*
+     * Al detener el loop las operaciones encoladas y las nuevas fallan en vez de bloquear a quien las pidio
+     */
+    @Test
+    public void testShutdownCancelsPendingOperations() throws Exception {
+        final Servant servant = new Servant(Executors.newCachedThreadPool(), new DepartureHistory(),
+                new AdmissionController(), engine);
+        final ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            final CountDownLatch running = new CountDownLatch(1);
+            final Future<Object> blocking = callers.submit(() -> engine.write(() -> {
+                running.countDown();
+                return new CountDownLatch(1).await(1, TimeUnit.MINUTES);
+            }));
+            Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+            final Future<Object> pending = callers.submit(() -> {
+                servant.addRunway("RUNWAY", RunwayCategory.A);
+                return null;
+            });
+            while (engine.getPendingOperations() == 0)
+                Thread.sleep(1);
+
+            engine.shutdown();
+
+            for (Future<Object> future : Arrays.asList(blocking, pending)) {
+                final ExecutionException e = Assert.assertThrows(ExecutionException.class,
+                        () -> future.get(10, TimeUnit.SECONDS));
+                Assert.assertTrue(e.getCause() instanceof ServerError);
+            }
+            Assert.assertEquals(0, engine.getPendingOperations());
+            Assert.assertThrows(ServerError.class, () -> servant.addRunway("RUNWAY", RunwayCategory.A));
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    /*
+     * Una operacion que el loop ya empezo se espera aunque supere el timeout, porque sus cambios se aplican; una que
+     * sigue encolada al vencer el timeout falla y no se ejecuta nunca
+     */
+    @Test
+    public void testTimeoutOnlyFailsOperationsNotStarted() throws Exception {
+        final EventLoopEngine slowEngine = new EventLoopEngine(EventLoopEngine.DEFAULT_CAPACITY, 100,
+                TimeUnit.MILLISECONDS);
+        final ExecutorService callers = Executors.newSingleThreadExecutor();
+        try {
+            final CountDownLatch running = new CountDownLatch(1);
+            final AtomicBoolean queuedRan = new AtomicBoolean();
+            final Future<String> slow = callers.submit(() -> slowEngine.write(() -> {
+                running.countDown();
+                Thread.sleep(500);
+                return "applied";
+            }));
+            Assert.assertTrue(running.await(10, TimeUnit.SECONDS));
+
+            Assert.assertThrows(ServerError.class, () -> slowEngine.write(() -> queuedRan.getAndSet(true)));
+            Assert.assertEquals("applied", slow.get(10, TimeUnit.SECONDS));
+            Assert.assertEquals(Boolean.TRUE, slowEngine.read(() -> true));
+            Assert.assertFalse(queuedRan.get());
+        } finally {
+            callers.shutdownNow();
+            slowEngine.shutdown();
+        }
+    }
+}
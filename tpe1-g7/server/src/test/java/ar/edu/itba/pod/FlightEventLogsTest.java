@@ -0,0 +1,70 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+import ar.edu.itba.pod.server.tracking.FlightEventLog;
+import ar.edu.itba.pod.server.tracking.FlightEventLogs;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+public class FlightEventLogsTest {
+
+    static final private String FLIGHT_ID = "POD";
+    static final private String AIRLINE_NAME = "POD AIRLINE";
+    static final private String DESTINATION_AIRPORT_ID = "POD AIRPORT";
+    static final private String RUNWAY_NAME = "POD RUNWAY";
+
+    /*
+     * El test verifica que los eventos se numeren consecutivamente y que, al superar la capacidad del log,
+     * solo se devuelvan los ultimos eventos
+     */
+    @Test
+    public void testEventsAfter() {
+        final int CAPACITY = 10;
+        final int TOTAL_EVENTS = 25;
+        final FlightEventLogs logs = new FlightEventLogs(CAPACITY, 1);
+
+        for (int i = 0; i < TOTAL_EVENTS; ++i)
+            logs.append(AIRLINE_NAME, FlightTrackingEventType.QUEUE_POSITION_UPDATE, FLIGHT_ID,
+                    DESTINATION_AIRPORT_ID, RUNWAY_NAME, TOTAL_EVENTS - i);
+
+        final FlightEventLog log = logs.get(FLIGHT_ID);
+        Assert.assertEquals(TOTAL_EVENTS, log.getLastSequence());
+        Assert.assertEquals(sequences(20, 25), sequences(log.getEventsAfter(19)));
+        Assert.assertEquals(sequences(16, 25), sequences(log.getEventsAfter(0)));
+        Assert.assertTrue(log.getEventsAfter(TOTAL_EVENTS).isEmpty());
+        Assert.assertEquals(1, log.getEventsAfter(24).get(0).getFlightsAhead());
+    }
+
+    /*
+     * El test verifica que los logs de vuelos retirados se conserven en un LRU acotado
+     */
+    @Test
+    public void testRetiredFlights() {
+        final FlightEventLogs logs = new FlightEventLogs(10, 2);
+
+        for (int i = 0; i < 3; ++i) {
+            logs.append(AIRLINE_NAME, FlightTrackingEventType.DEPARTURE, FLIGHT_ID + i,
+                    DESTINATION_AIRPORT_ID, RUNWAY_NAME, 0);
+            Assert.assertTrue(logs.isActive(FLIGHT_ID + i));
+            logs.retire(FLIGHT_ID + i);
+            Assert.assertFalse(logs.isActive(FLIGHT_ID + i));
+        }
+
+        Assert.assertNull(logs.get(FLIGHT_ID + 0));
+        Assert.assertEquals(1, logs.get(FLIGHT_ID + 1).getLastSequence());
+        Assert.assertEquals(1, logs.get(FLIGHT_ID + 2).getLastSequence());
+    }
+
+    private static List<Long> sequences(final long first, final long last) {
+        return LongStream.rangeClosed(first, last).boxed().collect(Collectors.toList());
+    }
+
+    private static List<Long> sequences(final List<FlightTrackingEvent> events) {
+        return events.stream().map(FlightTrackingEvent::getSequence).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,79 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.models.Flight;
+import ar.edu.itba.pod.server.models.FlightQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+public class FlightQueueTest {
+
+    static final private int TOTAL_OPERATIONS = 20_000;
+    static final private long SEED = 42L;
+
+    private static Flight flight(final int i) {
+        return new Flight("FLIGHT " + i, "AIRPORT", "AIRLINE", RunwayCategory.A);
+    }
+
+    /*
+     * El test aplica operaciones al azar a la cola y a una lista, y verifica que ambas queden en el mismo orden
+     */
+    @Test
+    public void testMatchesList() {
+        final FlightQueue queue = new FlightQueue();
+        final List<Flight> expected = new LinkedList<>();
+        final Random random = new Random(SEED);
+        int next = 0;
+
+        for (int i = 0; i < TOTAL_OPERATIONS; i++) {
+            final int operation = random.nextInt(5);
+            if (operation < 2 || expected.isEmpty()) {
+                final Flight flight = flight(next++);
+                queue.addLast(flight);
+                expected.add(flight);
+            } else if (operation == 2) {
+                Assert.assertSame(expected.remove(0), queue.poll());
+            } else if (operation == 3) {
+                final Flight flight = expected.remove(random.nextInt(expected.size()));
+                Assert.assertSame(flight, queue.remove(flight.getId()));
+            } else {
+                final Flight flight = expected.remove(random.nextInt(expected.size()));
+                queue.remove(flight.getId());
+                queue.addFirst(flight);
+                expected.add(0, flight);
+            }
+            Assert.assertEquals(expected.size(), queue.size());
+        }
+
+        Assert.assertEquals(expected, new ArrayList<>(queue));
+        for (int i = 0; i < expected.size(); i += 97) {
+            Assert.assertEquals(i, queue.indexOf(expected.get(i).getId()));
+            final Iterator<Flight> iterator = queue.iterator(i);
+            for (int j = i; j < expected.size(); j++)
+                Assert.assertSame(expected.get(j), iterator.next());
+            Assert.assertFalse(iterator.hasNext());
+        }
+    }
+
+    @Test
+    public void testMissingFlights() {
+        final FlightQueue queue = new FlightQueue();
+        Assert.assertNull(queue.poll());
+        Assert.assertNull(queue.remove("FLIGHT 0"));
+        Assert.assertEquals(-1, queue.indexOf("FLIGHT 0"));
+        Assert.assertFalse(queue.iterator(0).hasNext());
+
+        queue.add(flight(0));
+        Assert.assertThrows(IllegalStateException.class, () -> queue.add(flight(0)));
+        Assert.assertEquals(1, queue.size());
+        Assert.assertFalse(queue.iterator(1).hasNext());
+        Assert.assertTrue(queue.contains("FLIGHT 0"));
+        Assert.assertFalse(queue.contains("FLIGHT 1"));
+    }
+}
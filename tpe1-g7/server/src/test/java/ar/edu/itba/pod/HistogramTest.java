@@ -0,0 +1,66 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.Histogram;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.stream.LongStream;
+
+public class HistogramTest {
+
+    static final private double MAX_RELATIVE_ERROR = 1.0 / 64;
+
+    /*
+     * El test verifica que los percentiles esten dentro del error relativo esperado para valores uniformes
+     */
+    @Test
+    public void testPercentiles() {
+        final Histogram histogram = new Histogram();
+        LongStream.rangeClosed(1, 1_000_000).forEach(histogram::record);
+
+        Assert.assertEquals(1_000_000, histogram.getCount());
+        Assert.assertEquals(1, histogram.getMin());
+        Assert.assertEquals(1_000_000, histogram.getMax());
+        Assert.assertEquals(500_000.5, histogram.getMean(), 0.001);
+        for (double percentile : new double[]{50, 90, 99, 99.9}) {
+            final double expected = percentile * 10_000;
+            Assert.assertEquals(expected, histogram.getValueAtPercentile(percentile), expected * MAX_RELATIVE_ERROR);
+        }
+        Assert.assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    /*
+     * El test verifica que combinar dos histogramas equivalga a registrar todos los valores en uno
+     */
+    @Test
+    public void testMerge() {
+        final Histogram low = new Histogram();
+        final Histogram high = new Histogram();
+        final Histogram all = new Histogram();
+        LongStream.range(0, 1000).forEach(value -> {
+            low.record(value);
+            all.record(value);
+        });
+        LongStream.range(1_000_000, 1_001_000).forEach(value -> {
+            high.record(value);
+            all.record(value);
+        });
+
+        low.merge(high);
+
+        Assert.assertEquals(all.getCount(), low.getCount());
+        Assert.assertEquals(all.getMin(), low.getMin());
+        Assert.assertEquals(all.getMax(), low.getMax());
+        Assert.assertEquals(all.getValueAtPercentile(75), low.getValueAtPercentile(75));
+    }
+
+    @Test
+    public void testExtremeValues() {
+        final Histogram histogram = new Histogram();
+        histogram.record(-1);
+        histogram.record(Long.MAX_VALUE);
+
+        Assert.assertEquals(0, histogram.getValueAtPercentile(50));
+        Assert.assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100));
+    }
+}
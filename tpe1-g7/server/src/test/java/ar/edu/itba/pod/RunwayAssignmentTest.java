@@ -0,0 +1,125 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.Servant;
+import ar.edu.itba.pod.server.admission.AdmissionController;
+import ar.edu.itba.pod.server.assignment.CategoryPreservingStrategy;
+import ar.edu.itba.pod.server.assignment.ExpectedWaitStrategy;
+import ar.edu.itba.pod.server.assignment.RunwayAssignmentStrategy;
+import ar.edu.itba.pod.server.assignment.ShortestQueueStrategy;
+import ar.edu.itba.pod.server.engine.LockingEngine;
+import ar.edu.itba.pod.server.history.DepartureHistory;
+import ar.edu.itba.pod.server.models.Flight;
+import ar.edu.itba.pod.server.models.Runway;
+import ar.edu.itba.pod.server.models.RunwayIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.rmi.RemoteException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+
+public class RunwayAssignmentTest {
+
+    static final private String DESTINATION_AIRPORT_ID = "POD AIRPORT";
+    static final private String AIRLINE_NAME = "POD AIRLINE";
+
+    private static int flights = 0;
+
+    private static Flight flight(final RunwayCategory category) {
+        return new Flight("FLIGHT " + flights++, DESTINATION_AIRPORT_ID, AIRLINE_NAME, category);
+    }
+
+    private static Runway runway(final String name, final RunwayCategory category, final int queued) {
+        final Runway runway = new Runway(name, category);
+        for (int i = 0; i < queued; i++)
+            runway.addToQueue(flight(RunwayCategory.A));
+        return runway;
+    }
+
+    private static String select(final RunwayAssignmentStrategy strategy, final RunwayCategory category,
+                                 final Runway... runways) {
+        final RunwayIndex index = new RunwayIndex();
+        Arrays.stream(runways).forEach(index::add);
+        return strategy.select(flight(category), index.candidates(category)).map(Runway::getName).orElse(null);
+    }
+
+    @Test
+    public void testCandidates() {
+        final RunwayIndex index = new RunwayIndex();
+        Assert.assertTrue(index.add(runway("F2", RunwayCategory.F, 0)));
+        Assert.assertTrue(index.add(runway("C", RunwayCategory.C, 0)));
+        Assert.assertTrue(index.add(runway("F1", RunwayCategory.F, 0)));
+        Assert.assertTrue(index.add(runway("A", RunwayCategory.A, 0)));
+        Assert.assertFalse(index.add(runway("A", RunwayCategory.B, 0)));
+        index.get("F2").setOpen(false);
+
+        final List<String> candidates = index.candidates(RunwayCategory.B).stream()
+                .map(Runway::getName).collect(Collectors.toList());
+        Assert.assertEquals(Arrays.asList("C", "F1"), candidates);
+        Assert.assertEquals(RunwayCategory.A, index.get("A").getCategory());
+        Assert.assertEquals(4, index.values().size());
+    }
+
+    @Test
+    public void testShortestQueue() {
+        final RunwayAssignmentStrategy strategy = new ShortestQueueStrategy();
+        Assert.assertEquals("B", select(strategy, RunwayCategory.A,
+                runway("C", RunwayCategory.C, 1), runway("B", RunwayCategory.B, 1), runway("A", RunwayCategory.A, 2)));
+        Assert.assertEquals("X", select(strategy, RunwayCategory.A,
+                runway("Y", RunwayCategory.B, 0), runway("X", RunwayCategory.B, 0)));
+        Assert.assertNull(select(strategy, RunwayCategory.F, runway("A", RunwayCategory.A, 0)));
+    }
+
+    @Test
+    public void testCategoryPreserving() {
+        final RunwayAssignmentStrategy strategy = new CategoryPreservingStrategy(2);
+        Assert.assertEquals("A", select(strategy, RunwayCategory.A,
+                runway("A", RunwayCategory.A, 2), runway("B", RunwayCategory.B, 0), runway("F", RunwayCategory.F, 0)));
+        Assert.assertEquals("B", select(strategy, RunwayCategory.A,
+                runway("A", RunwayCategory.A, 3), runway("B", RunwayCategory.B, 0), runway("F", RunwayCategory.F, 0)));
+        Assert.assertEquals("F", select(strategy, RunwayCategory.F,
+                runway("A", RunwayCategory.A, 0), runway("F", RunwayCategory.F, 10)));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new CategoryPreservingStrategy(-1));
+    }
+
+    /*
+     * La pista lenta tiene la cola vacia, pero despega mucho mas lento que la rapida
+     */
+    @Test
+    public void testExpectedWait() throws InterruptedException {
+        final Runway fast = runway("FAST", RunwayCategory.A, 1);
+        fast.pollFromQueue();
+        final Runway slow = runway("SLOW", RunwayCategory.A, 1);
+        Thread.sleep(50);
+        slow.pollFromQueue();
+        fast.addToQueue(flight(RunwayCategory.A));
+        fast.addToQueue(flight(RunwayCategory.A));
+        Assert.assertTrue(slow.getDepartureIntervalNanos() > fast.getDepartureIntervalNanos() * 3);
+
+        Assert.assertEquals("FAST", select(new ExpectedWaitStrategy(), RunwayCategory.A, fast, slow));
+        Assert.assertEquals("SLOW", select(new ShortestQueueStrategy(), RunwayCategory.A, fast, slow));
+        Assert.assertEquals("SLOW", select(new ExpectedWaitStrategy(), RunwayCategory.A,
+                runway("FAST", RunwayCategory.A, 1), runway("SLOW", RunwayCategory.A, 0)));
+    }
+
+    @Test
+    public void testServantStrategy() throws RemoteException {
+        final Servant servant = new Servant(Executors.newCachedThreadPool(), new DepartureHistory(),
+                new AdmissionController(), new LockingEngine(), new CategoryPreservingStrategy(1));
+        servant.addRunway("SMALL", RunwayCategory.A);
+        servant.addRunway("LARGE", RunwayCategory.F);
+
+        servant.requestRunway("FLIGHT 1", DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        servant.requestRunway("FLIGHT 2", DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        Assert.assertEquals(Long.valueOf(2), servant.getMetrics().getRunwayQueueLengths().get("SMALL"));
+        Assert.assertEquals(Long.valueOf(0), servant.getMetrics().getRunwayQueueLengths().get("LARGE"));
+
+        servant.closeRunway("LARGE");
+        Assert.assertThrows(NoSuchRunwayException.class, () ->
+                servant.requestRunway("FLIGHT 3", DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.F));
+    }
+}
@@ -0,0 +1,158 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DepartureDataList;
+import ar.edu.itba.pod.models.DeparturePage;
+import ar.edu.itba.pod.models.DepartureStatistics;
+import ar.edu.itba.pod.models.Histogram;
+import ar.edu.itba.pod.models.ReassignmentLog;
+import ar.edu.itba.pod.models.RunwayStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+public class SerializationTest {
+
+    @SuppressWarnings("unchecked")
+    private static <T> T roundTrip(final T object) throws IOException, ClassNotFoundException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    /*
+     * El test verifica que la lista de despegues conserve todos los campos, el orden y la precision
+     * de la fecha (incluso previa a epoch) luego de serializarse
+     */
+    @Test
+    public void testDepartureDataListRoundTrip() throws IOException, ClassNotFoundException {
+        final LocalDateTime now = LocalDateTime.now();
+        final DepartureDataList departures = new DepartureDataList();
+        departures.add(new DepartureData(0, "RUNWAY", "1", "AIRPORT", "AIRLINE", now));
+        departures.add(new DepartureData(3, "RUNWAY", "2", "AIRPORT", "OTHER AIRLINE", now.plusNanos(1)));
+        departures.add(new DepartureData(1, "OTHER RUNWAY", "3", "AIRPORT", "AIRLINE", now.minusYears(80)));
+
+        final DepartureDataList result = roundTrip(departures);
+
+        Assert.assertEquals(departures, result);
+    }
+
+    @Test
+    public void testDeparturePageRoundTrip() throws IOException, ClassNotFoundException {
+        final DepartureDataList departures = new DepartureDataList();
+        departures.add(new DepartureData(0, "RUNWAY", "1", "AIRPORT", "AIRLINE", LocalDateTime.now()));
+        final DeparturePage page = new DeparturePage(departures, 1_000_000, -42L, 4096);
+
+        final DeparturePage result = roundTrip(page);
+
+        Assert.assertEquals(departures, result.getDepartures());
+        Assert.assertEquals(1_000_000, result.getCursor());
+        Assert.assertEquals(-42L, result.getHistoryId());
+        Assert.assertEquals(4096, result.getFirstCursor());
+    }
+
+    /*
+     * El test verifica que los strings repetidos se escriban una unica vez
+     */
+    @Test
+    public void testDepartureDataListDeduplicatesStrings() throws IOException, ClassNotFoundException {
+        final LocalDateTime now = LocalDateTime.now();
+        final DepartureDataList single = new DepartureDataList();
+        final DepartureDataList repeated = new DepartureDataList();
+        single.add(new DepartureData(0, "RUNWAY", "1", "A VERY LONG AIRPORT NAME", "A VERY LONG AIRLINE NAME", now));
+        for (int i = 0; i < 100; i++)
+            repeated.add(new DepartureData(i, new String("RUNWAY"), "1", new String("A VERY LONG AIRPORT NAME"),
+                    new String("A VERY LONG AIRLINE NAME"), now.plusSeconds(i)));
+
+        final ByteArrayOutputStream singleBytes = new ByteArrayOutputStream();
+        final ByteArrayOutputStream repeatedBytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(singleBytes)) {
+            out.writeObject(single);
+        }
+        try (ObjectOutputStream out = new ObjectOutputStream(repeatedBytes)) {
+            out.writeObject(repeated);
+        }
+
+        // cada registro repetido ocupa unos pocos bytes: indices a la tabla y la diferencia de fecha
+        Assert.assertTrue(repeatedBytes.size() - singleBytes.size() < 99 * 16);
+        Assert.assertEquals(repeated, roundTrip(repeated));
+    }
+
+    @Test
+    public void testReassignmentLogRoundTrip() throws IOException, ClassNotFoundException {
+        final ReassignmentLog log = new ReassignmentLog(5, Arrays.asList("1", "2"));
+
+        final ReassignmentLog result = roundTrip(log);
+
+        Assert.assertEquals(log.getAssignedCount(), result.getAssignedCount());
+        Assert.assertEquals(log.getFailed(), result.getFailed());
+    }
+
+    @Test
+    public void testDepartureStatisticsRoundTrip() throws IOException, ClassNotFoundException {
+        final long[] hourly = new long[DepartureStatistics.WINDOW_HOURS];
+        hourly[DepartureStatistics.WINDOW_HOURS - 1] = 3;
+        final DepartureStatistics statistics = new DepartureStatistics(3, 4, LocalDateTime.of(2021, 9, 17, 10, 0),
+                hourly, Collections.singletonMap("RUNWAY", new RunwayStatistics(3, 4, hourly)),
+                Collections.singletonMap("AIRLINE", 3L));
+
+        final DepartureStatistics result = roundTrip(statistics);
+
+        Assert.assertEquals(statistics.getDepartures(), result.getDepartures());
+        Assert.assertEquals(statistics.getFlightsBeforeDepartureSum(), result.getFlightsBeforeDepartureSum());
+        Assert.assertEquals(statistics.getCurrentHour(), result.getCurrentHour());
+        Assert.assertArrayEquals(hourly, result.getHourlyDepartures());
+        Assert.assertArrayEquals(hourly, result.getRunways().get("RUNWAY").getHourlyDepartures());
+        Assert.assertEquals(4, result.getRunways().get("RUNWAY").getFlightsBeforeDepartureSum());
+        Assert.assertEquals(statistics.getAirlineDepartures(), result.getAirlineDepartures());
+    }
+
+    /*
+     * El test verifica que el histograma conserve sus percentiles y estadisticas, y que al serializar solo los
+     * buckets con valores ocupe mucho menos que el arreglo completo
+     */
+    @Test
+    public void testHistogramRoundTrip() throws IOException, ClassNotFoundException {
+        final Histogram histogram = new Histogram();
+        histogram.record(0);
+        histogram.recordCount(42, 10);
+        histogram.record(1_000_000);
+        histogram.record(Long.MAX_VALUE / 4);
+
+        final Histogram result = roundTrip(histogram);
+
+        Assert.assertEquals(histogram.getCount(), result.getCount());
+        Assert.assertEquals(histogram.getMin(), result.getMin());
+        Assert.assertEquals(histogram.getMax(), result.getMax());
+        Assert.assertEquals(histogram.getMean(), result.getMean(), 0);
+        for (double percentile : new double[]{0, 10, 50, 90, 99, 100})
+            Assert.assertEquals(histogram.getValueAtPercentile(percentile), result.getValueAtPercentile(percentile));
+        Assert.assertTrue(serializedSize(histogram) < 200);
+
+        final Histogram empty = roundTrip(new Histogram());
+        Assert.assertEquals(0, empty.getCount());
+        Assert.assertEquals(0, empty.getMin());
+        empty.record(7);
+        Assert.assertEquals(7, empty.getMin());
+    }
+
+    private static int serializedSize(final Object object) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.size();
+    }
+}
@@ -1,20 +1,37 @@
 package ar.edu.itba.pod;
 
+import ar.edu.itba.pod.exceptions.FlightAlreadyQueuedException;
 import ar.edu.itba.pod.exceptions.NoSuchFlightException;
 import ar.edu.itba.pod.exceptions.NoSuchRunwayException;
 import ar.edu.itba.pod.exceptions.RunwayAlreadyExistsException;
+import ar.edu.itba.pod.exceptions.ServerOverloadedException;
 import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DeparturePage;
+import ar.edu.itba.pod.models.DepartureStatistics;
+import ar.edu.itba.pod.models.FlightTrackingEvent;
+import ar.edu.itba.pod.models.FlightTrackingEventType;
+import ar.edu.itba.pod.models.Histogram;
 import ar.edu.itba.pod.models.ReassignmentLog;
 import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.models.RunwayStatistics;
 import ar.edu.itba.pod.server.Servant;
+import ar.edu.itba.pod.server.admission.AdmissionController;
+import ar.edu.itba.pod.server.history.DepartureHistory;
+import ar.edu.itba.pod.server.metrics.ServantMetrics;
+import ar.edu.itba.pod.server.metrics.ServantOperation;
 import ar.edu.itba.pod.server.models.Flight;
 import ar.edu.itba.pod.server.models.Runway;
+import ar.edu.itba.pod.utils.DepartureCsv;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.function.ThrowingRunnable;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
+import java.io.ByteArrayOutputStream;
 import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
 import java.rmi.RemoteException;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -50,9 +67,16 @@ public class ServantTest {
             "ALU RUNWAY", "LINUX RUNWAY");
     static private List<String> airlinesNames = Arrays.asList("MANAGEMENT AIRLINE", "QUERY AIRLINE", "TRACKING AIRLINE", "DEPARTURE AIRLINE");
 
+    /*
+     * Las subclases pueden cambiar el Servant sobre el que se ejecutan los tests
+     */
+    protected Servant createServant() {
+        return new Servant();
+    }
+
     @Before
     public void init() {
-        servant = new Servant();
+        servant = createServant();
         executorService = executorServiceSupplier.get();
     }
 
@@ -620,6 +644,54 @@ public class ServantTest {
         verify(handler, times(1)).endProcess();
     }
 
+    /*
+     * El test verifica que la asignacion llegue antes que los eventos que ocurren mientras se envia: un despegue
+     * en ese momento se le envia despues, y si el vuelo despego la suscripcion termina sin error
+     */
+    @Test
+    public void testSubscribeDuringDeparture() throws RemoteException, NoSuchFieldException, IllegalAccessException, InterruptedException {
+        final FlightTrackingCallbackHandler departing = mock(FlightTrackingCallbackHandler.class);
+        final FlightTrackingCallbackHandler waiting = mock(FlightTrackingCallbackHandler.class);
+        final ExecutorService departures = Executors.newSingleThreadExecutor();
+        final List<String> received = new CopyOnWriteArrayList<>();
+        // el despegue ocurre mientras se envia la asignacion, y se le da tiempo a un callback que llegue antes de que termine
+        doAnswer(invocation -> {
+            departures.submit(() -> {
+                servant.issueDeparture();
+                return null;
+            }).get(TIMEOUT, TIME_UNIT);
+            Thread.sleep(200);
+            received.add("assignment");
+            return null;
+        }).when(departing).onRunwayAssignment(anyString(), anyString(), anyString(), anyLong());
+        doAnswer(invocation -> received.add("departure")).when(departing).onDeparture(anyString(), anyString(), anyString());
+
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        servant.requestRunway(FLIGHT_ID + "2", DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+
+        servant.subscribe(FLIGHT_ID + "2", AIRLINE_NAME, waiting);
+        servant.subscribe(FLIGHT_ID, AIRLINE_NAME, departing);
+        departures.shutdown();
+
+        final Field executorField = Servant.class.getDeclaredField("executor");
+        executorField.setAccessible(true);
+        final ExecutorService executor = (ExecutorService) executorField.get(servant);
+
+        executor.shutdown();
+        executor.awaitTermination(AWAIT_TERMINATION_TIMEOUT, TIME_UNIT);
+
+        final InOrder departingOrder = inOrder(departing);
+        departingOrder.verify(departing).onRunwayAssignment(FLIGHT_ID, DESTINATION_AIRPORT_ID, RUNWAY_NAME, 0);
+        departingOrder.verify(departing).onDeparture(FLIGHT_ID, DESTINATION_AIRPORT_ID, RUNWAY_NAME);
+        departingOrder.verify(departing).endProcess();
+        final InOrder waitingOrder = inOrder(waiting);
+        waitingOrder.verify(waiting).onRunwayAssignment(FLIGHT_ID + "2", DESTINATION_AIRPORT_ID, RUNWAY_NAME, 1);
+        waitingOrder.verify(waiting).onQueuePositionUpdate(FLIGHT_ID + "2", DESTINATION_AIRPORT_ID, RUNWAY_NAME, 0);
+        Assert.assertEquals(Arrays.asList("assignment", "departure"), received);
+        Assert.assertEquals(1, servant.getMetrics().getSubscribers());
+    }
+
     /*
      * El test verifica que se arroje la excepcion NoSuchFlightException a la hora de suscribirse
      * a los eventos de una aerolinea y/o vuelo inexistente/es
@@ -723,4 +795,521 @@ public class ServantTest {
         Assert.assertEquals(TOTAL_TEST_FLIGHTS - NOT_REARRANGED_FLIGHTS, departedFlights);
         Assert.assertEquals(0, servant.getRunwayDepartures(runwayNames.get(TOTAL_TEST_RUNWAYS - 1)).size());
     }
+
+    /*
+     * El test verifica que el CSV exportado en bloques por el servidor coincida con el que arma el cliente
+     * a partir de la lista de despegues, y que el canal se cierre al terminar
+     */
+    @Test
+    public void testExportDepartures() throws RemoteException {
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        for (int i = 0; i < TOTAL_FLIGHTS; ++i)
+            servant.requestRunway(String.valueOf(i), DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        for (int i = 0; i < TOTAL_FLIGHTS; ++i)
+            servant.issueDeparture();
+
+        final StringBuilder expected = new StringBuilder(DepartureCsv.HEADER);
+        servant.getAllDepartures().forEach(departure -> DepartureCsv.appendRow(expected, departure));
+
+        final DepartureExportChannel channel = servant.exportAllDepartures();
+        final ByteArrayOutputStream exported = new ByteArrayOutputStream();
+        byte[] chunk;
+        while ((chunk = channel.read()) != null)
+            exported.write(chunk, 0, chunk.length);
+
+        Assert.assertEquals(expected.toString(), new String(exported.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertThrows(RemoteException.class, channel::read);
+    }
+
+    /*
+     * El test verifica que se cuenten las invocaciones y fallos de cada operacion, el largo de las colas
+     * y los callbacks enviados
+     */
+    @Test
+    public void testMetrics() throws RemoteException, NoSuchFieldException, IllegalAccessException, InterruptedException {
+        final FlightTrackingCallbackHandler handler = mock(FlightTrackingCallbackHandler.class);
+        final ServantMetrics metrics = servant.getMetrics();
+
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        servant.requestRunway(FLIGHT_ID + "2", DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        Assert.assertThrows(NoSuchRunwayException.class, () ->
+                servant.requestRunway(FLIGHT_ID + "3", DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.B));
+        servant.subscribe(FLIGHT_ID + "2", AIRLINE_NAME, handler);
+
+        Assert.assertEquals(3, metrics.getOperation(ServantOperation.REQUEST_RUNWAY).getCount());
+        Assert.assertEquals(1, metrics.getOperation(ServantOperation.REQUEST_RUNWAY).getFailures());
+        Assert.assertEquals(Long.valueOf(2), metrics.getRunwayQueueLengths().get(RUNWAY_NAME));
+
+        servant.issueDeparture();
+
+        final Field executorField = Servant.class.getDeclaredField("executor");
+        executorField.setAccessible(true);
+        final ExecutorService executor = (ExecutorService) executorField.get(servant);
+
+        executor.shutdown();
+        executor.awaitTermination(AWAIT_TERMINATION_TIMEOUT, TIME_UNIT);
+
+        Assert.assertEquals(1, metrics.getOperation(ServantOperation.ISSUE_DEPARTURE).getCount());
+        Assert.assertEquals(Long.valueOf(1), metrics.getRunwayQueueLengths().get(RUNWAY_NAME));
+        Assert.assertEquals(1, metrics.getCallbacksDispatched());
+        Assert.assertEquals(0, metrics.getCallbackBacklog());
+        Assert.assertEquals(0, metrics.getCallbackFailures());
+    }
+
+    /*
+     * El test verifica que un cliente cuyos callbacks fallan repetidamente se desuscriba de sus vuelos,
+     * y que no se le envien los eventos posteriores
+     */
+    @Test
+    public void testUnreachableSubscriberEviction() throws RemoteException, NoSuchFieldException, IllegalAccessException, InterruptedException {
+        final int TOTAL_TEST_FLIGHTS = 6;
+        final FlightTrackingCallbackHandler handler = mock(FlightTrackingCallbackHandler.class);
+        doThrow(new RemoteException()).when(handler)
+                .onQueuePositionUpdate(anyString(), anyString(), anyString(), anyLong());
+        final ServantMetrics metrics = servant.getMetrics();
+
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        servant.subscribe(FLIGHT_ID + (TOTAL_TEST_FLIGHTS - 1), AIRLINE_NAME, handler);
+        Assert.assertEquals(1, metrics.getSubscribers());
+
+        final Field executorField = Servant.class.getDeclaredField("executor");
+        executorField.setAccessible(true);
+        final ExecutorService executor = (ExecutorService) executorField.get(servant);
+
+        // se espera a cada callback para que el desalojo ocurra en el tercer fallo
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i) {
+            servant.issueDeparture();
+            while (metrics.getCallbackBacklog() > 0)
+                Thread.sleep(1);
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(AWAIT_TERMINATION_TIMEOUT, TIME_UNIT);
+
+        Assert.assertEquals(1, metrics.getEvictedSubscribers());
+        Assert.assertEquals(0, metrics.getSubscribers());
+        verify(handler, times(3)).onQueuePositionUpdate(anyString(), anyString(), anyString(), anyLong());
+        verify(handler, never()).onDeparture(anyString(), anyString(), anyString());
+        verify(handler, never()).endProcess();
+    }
+
+    /*
+     * El test verifica que un suscriptor de una aerolinea reciba un unico callback por operacion con los eventos
+     * de todos los vuelos de la aerolinea, incluidos los solicitados despues de suscribirse
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testAirlineSubscription() throws RemoteException, NoSuchFieldException, IllegalAccessException, InterruptedException {
+        final int TOTAL_TEST_FLIGHTS = 5;
+        final BatchedTrackingCallbackHandler handler = mock(BatchedTrackingCallbackHandler.class);
+
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        servant.subscribeAirline(AIRLINE_NAME, handler);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i) {
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+            servant.requestRunway(FLIGHT_ID + "OTHER" + i, DESTINATION_AIRPORT_ID, AIRLINE_NAME + "2", RunwayCategory.A);
+        }
+        servant.issueDeparture();
+
+        final Field executorField = Servant.class.getDeclaredField("executor");
+        executorField.setAccessible(true);
+        final ExecutorService executor = (ExecutorService) executorField.get(servant);
+
+        executor.shutdown();
+        executor.awaitTermination(AWAIT_TERMINATION_TIMEOUT, TIME_UNIT);
+
+        final ArgumentCaptor<List<FlightTrackingEvent>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(handler, times(TOTAL_TEST_FLIGHTS + 1)).onEvents(captor.capture());
+
+        final List<FlightTrackingEvent> departureEvents = captor.getAllValues().stream()
+                .filter(events -> events.stream().anyMatch(e -> e.getType() == FlightTrackingEventType.DEPARTURE))
+                .findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals(TOTAL_TEST_FLIGHTS, departureEvents.size());
+        Assert.assertEquals(FLIGHT_ID + 0, departureEvents.get(0).getFlightId());
+        for (int i = 1; i < TOTAL_TEST_FLIGHTS; ++i) {
+            final FlightTrackingEvent event = departureEvents.get(i);
+            Assert.assertEquals(FlightTrackingEventType.QUEUE_POSITION_UPDATE, event.getType());
+            Assert.assertEquals(FLIGHT_ID + i, event.getFlightId());
+            Assert.assertEquals(2L * i - 1, event.getFlightsAhead());
+        }
+        Assert.assertEquals(TOTAL_TEST_FLIGHTS, captor.getAllValues().stream()
+                .filter(events -> events.size() == 1 && events.get(0).getType() == FlightTrackingEventType.RUNWAY_ASSIGNMENT)
+                .count());
+    }
+
+    /*
+     * El test verifica que un suscriptor de una pista reciba los eventos de todos los vuelos asignados a ella,
+     * sin importar su aerolinea, y ninguno de las demas pistas
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testRunwaySubscription() throws RemoteException, NoSuchFieldException, IllegalAccessException, InterruptedException {
+        final int TOTAL_TEST_FLIGHTS = 4;
+        final BatchedTrackingCallbackHandler handler = mock(BatchedTrackingCallbackHandler.class);
+        final String trackedRunway = runwayNames.get(0);
+
+        Assert.assertThrows(NoSuchRunwayException.class, () -> servant.subscribeRunway(trackedRunway, handler));
+
+        servant.addRunway(trackedRunway, RunwayCategory.A);
+        servant.addRunway(runwayNames.get(1), RunwayCategory.A);
+        servant.subscribeRunway(trackedRunway, handler);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, airlinesNames.get(i), RunwayCategory.A);
+        servant.issueDeparture();
+
+        final Field executorField = Servant.class.getDeclaredField("executor");
+        executorField.setAccessible(true);
+        final ExecutorService executor = (ExecutorService) executorField.get(servant);
+
+        executor.shutdown();
+        executor.awaitTermination(AWAIT_TERMINATION_TIMEOUT, TIME_UNIT);
+
+        final ArgumentCaptor<List<FlightTrackingEvent>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(handler, times(3)).onEvents(captor.capture());
+
+        final List<FlightTrackingEvent> events = captor.getAllValues().stream()
+                .flatMap(List::stream).collect(Collectors.toList());
+        Assert.assertTrue(events.stream().allMatch(event -> event.getRunway().equals(trackedRunway)));
+        Assert.assertEquals(Arrays.asList(FLIGHT_ID + 0, FLIGHT_ID + 2), events.stream()
+                .filter(event -> event.getType() == FlightTrackingEventType.RUNWAY_ASSIGNMENT)
+                .map(FlightTrackingEvent::getFlightId).sorted().collect(Collectors.toList()));
+        Assert.assertEquals(1, events.stream()
+                .filter(event -> event.getType() == FlightTrackingEventType.DEPARTURE).count());
+        Assert.assertEquals(airlinesNames.get(2), events.stream()
+                .filter(event -> event.getType() == FlightTrackingEventType.QUEUE_POSITION_UPDATE)
+                .findFirst().orElseThrow(AssertionError::new).getAirline());
+    }
+
+    /*
+     * El test verifica que al suscribirse desde un numero de evento se reciban los eventos posteriores guardados
+     * y luego los nuevos, y que los eventos de un vuelo que ya despego se puedan recuperar
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testSubscribeFrom() throws RemoteException, NoSuchFieldException, IllegalAccessException, InterruptedException {
+        final int TOTAL_TEST_FLIGHTS = 4;
+        final String trackedFlight = FLIGHT_ID + (TOTAL_TEST_FLIGHTS - 1);
+        final BatchedTrackingCallbackHandler handler = mock(BatchedTrackingCallbackHandler.class);
+        final BatchedTrackingCallbackHandler lateHandler = mock(BatchedTrackingCallbackHandler.class);
+
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS - 1; ++i)
+            servant.issueDeparture();
+
+        Assert.assertThrows(NoSuchFlightException.class, () ->
+                servant.subscribeFrom(trackedFlight, AIRLINE_NAME + "2", 0, handler));
+
+        // asignacion (1) y tres cambios de posicion (2 a 4)
+        servant.subscribeFrom(trackedFlight, AIRLINE_NAME, 2, handler);
+        servant.issueDeparture();
+
+        final Field executorField = Servant.class.getDeclaredField("executor");
+        executorField.setAccessible(true);
+        final ExecutorService executor = (ExecutorService) executorField.get(servant);
+
+        executor.shutdown();
+        executor.awaitTermination(AWAIT_TERMINATION_TIMEOUT, TIME_UNIT);
+
+        final ArgumentCaptor<List<FlightTrackingEvent>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(handler, times(2)).onEvents(captor.capture());
+        Assert.assertEquals(Arrays.asList(3L, 4L), captor.getAllValues().get(0).stream()
+                .map(FlightTrackingEvent::getSequence).collect(Collectors.toList()));
+        Assert.assertEquals(0, captor.getAllValues().get(0).get(1).getFlightsAhead());
+        final FlightTrackingEvent departure = captor.getAllValues().get(1).get(0);
+        Assert.assertEquals(FlightTrackingEventType.DEPARTURE, departure.getType());
+        Assert.assertEquals(5, departure.getSequence());
+
+        servant.subscribeFrom(trackedFlight, AIRLINE_NAME, 0, lateHandler);
+        final ArgumentCaptor<List<FlightTrackingEvent>> lateCaptor = ArgumentCaptor.forClass((Class) List.class);
+        verify(lateHandler, times(1)).onEvents(lateCaptor.capture());
+        Assert.assertEquals(Arrays.asList(FlightTrackingEventType.RUNWAY_ASSIGNMENT,
+                FlightTrackingEventType.QUEUE_POSITION_UPDATE, FlightTrackingEventType.QUEUE_POSITION_UPDATE,
+                FlightTrackingEventType.QUEUE_POSITION_UPDATE, FlightTrackingEventType.DEPARTURE),
+                lateCaptor.getValue().stream().map(FlightTrackingEvent::getType).collect(Collectors.toList()));
+        Assert.assertEquals(0, servant.getMetrics().getSubscribers());
+    }
+
+    /*
+     * El test verifica que las consultas desde un cursor devuelvan solo los despegues nuevos y que las consultas
+     * por rango de fechas coincidan con filtrar el historial completo
+     */
+    @Test
+    public void testDeparturesSinceAndBetween() throws RemoteException {
+        final int TOTAL_TEST_FLIGHTS = 200;
+        final int NEW_TEST_FLIGHTS = 30;
+
+        servant.addRunway(runwayNames.get(0), RunwayCategory.A);
+        servant.addRunway(runwayNames.get(1), RunwayCategory.A);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, airlinesNames.get(i % 2), RunwayCategory.A);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.issueDeparture();
+
+        final DeparturePage firstPage = servant.getDeparturesSince(0);
+        Assert.assertEquals(servant.getAllDepartures(), firstPage.getDepartures());
+        Assert.assertEquals(TOTAL_TEST_FLIGHTS, firstPage.getCursor());
+
+        for (int i = 0; i < NEW_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + "NEW" + i, DESTINATION_AIRPORT_ID, airlinesNames.get(i % 2), RunwayCategory.A);
+        for (int i = 0; i < NEW_TEST_FLIGHTS; ++i)
+            servant.issueDeparture();
+
+        final List<DepartureData> all = servant.getAllDepartures();
+        final DeparturePage secondPage = servant.getDeparturesSince(firstPage.getCursor());
+        Assert.assertEquals(all.subList(TOTAL_TEST_FLIGHTS, all.size()), secondPage.getDepartures());
+        Assert.assertEquals(TOTAL_TEST_FLIGHTS + NEW_TEST_FLIGHTS, secondPage.getCursor());
+        Assert.assertTrue(servant.getDeparturesSince(secondPage.getCursor()).getDepartures().isEmpty());
+
+        final DeparturePage airlinePage = servant.getAirlineDeparturesSince(airlinesNames.get(1), firstPage.getCursor());
+        Assert.assertEquals(secondPage.getDepartures().stream()
+                        .filter(departure -> departure.getAirline().equals(airlinesNames.get(1)))
+                        .collect(Collectors.toList()),
+                airlinePage.getDepartures());
+        Assert.assertEquals(secondPage.getCursor(), airlinePage.getCursor());
+
+        final LocalDateTime from = all.get(50).getDepartedOn();
+        final LocalDateTime to = all.get(150).getDepartedOn();
+        Assert.assertEquals(all.stream()
+                        .filter(departure -> !departure.getDepartedOn().isBefore(from) && departure.getDepartedOn().isBefore(to))
+                        .collect(Collectors.toList()),
+                servant.getDeparturesBetween(from, to));
+        Assert.assertEquals(all.stream()
+                        .filter(departure -> departure.getRunwayName().equals(runwayNames.get(0)))
+                        .filter(departure -> !departure.getDepartedOn().isBefore(from) && departure.getDepartedOn().isBefore(to))
+                        .collect(Collectors.toList()),
+                servant.getRunwayDeparturesBetween(runwayNames.get(0), from, to));
+        Assert.assertThrows(NoSuchRunwayException.class, () -> servant.getRunwayDeparturesSince(RUNWAY_NAME, 0));
+        Assert.assertThrows(IllegalArgumentException.class, () -> servant.getDeparturesBetween(to, from));
+    }
+
+    /*
+     * El test verifica que las estadisticas coincidan con las calculadas a partir del historial completo
+     */
+    @Test
+    public void testStatistics() throws RemoteException {
+        final int TOTAL_TEST_FLIGHTS = 300;
+
+        Assert.assertEquals(0, servant.getStatistics().getDepartures());
+
+        servant.addRunway(runwayNames.get(0), RunwayCategory.A);
+        servant.addRunway(runwayNames.get(1), RunwayCategory.F);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, airlinesNames.get(i % 3),
+                    i % 2 == 0 ? RunwayCategory.A : RunwayCategory.F);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS / 2; ++i)
+            servant.issueDeparture();
+
+        final List<DepartureData> all = servant.getAllDepartures();
+        final DepartureStatistics statistics = servant.getStatistics();
+
+        Assert.assertEquals(all.size(), statistics.getDepartures());
+        Assert.assertEquals(all.stream().mapToLong(DepartureData::getFlightsBeforeDeparture).sum(),
+                statistics.getFlightsBeforeDepartureSum());
+        Assert.assertEquals(DepartureStatistics.WINDOW_HOURS, statistics.getHourlyDepartures().length);
+        Assert.assertEquals(all.size(), Arrays.stream(statistics.getHourlyDepartures()).sum());
+        Assert.assertTrue(statistics.getHourlyDepartures()[DepartureStatistics.WINDOW_HOURS - 1] > 0);
+
+        for (String runwayName : runwayNames.subList(0, 2)) {
+            final List<DepartureData> runwayDepartures = servant.getRunwayDepartures(runwayName);
+            final RunwayStatistics runway = statistics.getRunways().get(runwayName);
+            Assert.assertEquals(runwayDepartures.size(), runway.getDepartures());
+            Assert.assertEquals(runwayDepartures.stream().mapToDouble(DepartureData::getFlightsBeforeDeparture)
+                    .average().orElse(0), runway.getAverageFlightsBeforeDeparture(), 1e-9);
+            Assert.assertEquals(runwayDepartures.size(), Arrays.stream(runway.getHourlyDepartures()).sum());
+        }
+
+        Assert.assertEquals(all.stream().collect(Collectors.groupingBy(DepartureData::getAirline, Collectors.counting())),
+                statistics.getAirlineDepartures());
+    }
+
+    /*
+     * El test verifica que la espera se mida desde la primera vez que el vuelo fue encolado,
+     * aun si un reordenamiento lo cambia de cola
+     */
+    @Test
+    public void testWaitTimes() throws RemoteException, InterruptedException {
+        final long WAIT_MILLIS = 100;
+
+        servant.addRunway(runwayNames.get(0), RunwayCategory.A);
+        servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        Thread.sleep(WAIT_MILLIS);
+        servant.addRunway(runwayNames.get(1), RunwayCategory.A);
+        servant.rearrangeDepartures();
+        servant.requestRunway(FLIGHT_ID + "2", DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        servant.issueDeparture();
+
+        final Map<String, Histogram> waitTimes = servant.getWaitTimes();
+        Assert.assertEquals(2, waitTimes.size());
+        final Histogram total = new Histogram();
+        waitTimes.values().forEach(total::merge);
+        Assert.assertEquals(2, total.getCount());
+        Assert.assertTrue(total.getMax() >= WAIT_MILLIS);
+        Assert.assertTrue(total.getMin() < WAIT_MILLIS);
+        Assert.assertEquals(waitTimes.get(runwayNames.get(0)).getCount(),
+                servant.getRunwayWaitTimes(runwayNames.get(0)).getCount());
+        Assert.assertThrows(NoSuchRunwayException.class, () -> servant.getRunwayWaitTimes(RUNWAY_NAME));
+    }
+
+    /*
+     * El test verifica que se rechacen las solicitudes que exceden el limite total, indicando la espera configurada,
+     * y que una aerolinea no pueda superar su parte del limite mientras otra tiene solicitudes en curso
+     */
+    @Test
+    public void testAdmissionControl() throws RemoteException {
+        final long RETRY_AFTER = 50;
+        final AdmissionController admission = new AdmissionController(4, RETRY_AFTER);
+        final Servant limitedServant = new Servant(Executors.newCachedThreadPool(), new DepartureHistory(), admission);
+        final String otherAirline = airlinesNames.get(0);
+        limitedServant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+
+        for (int i = 0; i < 4; i++)
+            admission.acquire(AIRLINE_NAME);
+        final ServerOverloadedException exception = Assert.assertThrows(ServerOverloadedException.class, () ->
+                limitedServant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, otherAirline, RunwayCategory.A));
+        Assert.assertEquals(RETRY_AFTER, exception.getRetryAfterMillis());
+
+        admission.release(AIRLINE_NAME);
+        admission.acquire(otherAirline);
+        admission.release(AIRLINE_NAME);
+        Assert.assertThrows(ServerOverloadedException.class, () ->
+                limitedServant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A));
+        limitedServant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, otherAirline, RunwayCategory.A);
+
+        Assert.assertEquals(3, admission.getInFlight());
+        Assert.assertEquals(2, admission.getRejected());
+        Assert.assertEquals(2, limitedServant.getMetrics().getRejectedRunwayRequests());
+        Assert.assertEquals(Long.valueOf(1), limitedServant.getMetrics().getRunwayQueueLengths().get(RUNWAY_NAME));
+    }
+
+    /*
+     * El test verifica que los reintentos de una solicitud de un vuelo encolado no lo vuelvan a encolar, tampoco
+     * luego de reordenar, que se rechace otra solicitud distinta con el mismo ID y que el vuelo se pueda volver
+     * a solicitar luego de despegar
+     */
+    @Test
+    public void testDuplicateRunwayRequests() throws RemoteException {
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        servant.addRunway(runwayNames.get(0), RunwayCategory.F);
+
+        servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        Assert.assertThrows(FlightAlreadyQueuedException.class, () ->
+                servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.F));
+        Assert.assertEquals(1, queuedFlights());
+
+        Assert.assertEquals(1, servant.rearrangeDepartures().getAssignedCount());
+        servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        Assert.assertEquals(1, queuedFlights());
+        Assert.assertEquals(2, servant.getMetrics().getDuplicateRunwayRequests());
+
+        servant.issueDeparture();
+        Assert.assertEquals(0, queuedFlights());
+        servant.requestRunway(FLIGHT_ID, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.F);
+        Assert.assertEquals(1, queuedFlights());
+        Assert.assertEquals(2, servant.getMetrics().getDuplicateRunwayRequests());
+    }
+
+    /*
+     * El test adelanta y cancela vuelos encolados y verifica el orden de despegue, los eventos que recibe el
+     * suscriptor de la aerolinea y que un vuelo cancelado se pueda volver a solicitar
+     */
+    @Test
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void testPrioritizeAndCancel() throws RemoteException, NoSuchFieldException, IllegalAccessException, InterruptedException {
+        final int TOTAL_TEST_FLIGHTS = 4;
+        final BatchedTrackingCallbackHandler handler = mock(BatchedTrackingCallbackHandler.class);
+
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        servant.subscribeAirline(AIRLINE_NAME, handler);
+
+        servant.prioritizeFlight(FLIGHT_ID + 3);
+        Assert.assertThrows(NoSuchFlightException.class, () -> servant.cancelRunwayRequest(FLIGHT_ID + 0, AIRLINE_NAME + "2"));
+        servant.cancelRunwayRequest(FLIGHT_ID + 0, AIRLINE_NAME);
+        Assert.assertThrows(NoSuchFlightException.class, () -> servant.cancelRunwayRequest(FLIGHT_ID + 0, AIRLINE_NAME));
+        Assert.assertThrows(NoSuchFlightException.class, () -> servant.prioritizeFlight(FLIGHT_ID + 0));
+        Assert.assertEquals(TOTAL_TEST_FLIGHTS - 1, queuedFlights());
+
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS - 1; ++i)
+            servant.issueDeparture();
+        Assert.assertEquals(Arrays.asList(FLIGHT_ID + 3, FLIGHT_ID + 1, FLIGHT_ID + 2), servant.getAllDepartures()
+                .stream().map(DepartureData::getFlightId).collect(Collectors.toList()));
+
+        servant.requestRunway(FLIGHT_ID + 0, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+        Assert.assertEquals(1, queuedFlights());
+
+        final Field executorField = Servant.class.getDeclaredField("executor");
+        executorField.setAccessible(true);
+        final ExecutorService executor = (ExecutorService) executorField.get(servant);
+
+        executor.shutdown();
+        executor.awaitTermination(AWAIT_TERMINATION_TIMEOUT, TIME_UNIT);
+
+        final ArgumentCaptor<List<FlightTrackingEvent>> captor = ArgumentCaptor.forClass((Class) List.class);
+        verify(handler, atLeast(2)).onEvents(captor.capture());
+
+        final List<FlightTrackingEvent> prioritizeEvents = captor.getAllValues().stream()
+                .filter(events -> events.size() == TOTAL_TEST_FLIGHTS)
+                .findFirst().orElseThrow(AssertionError::new);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i) {
+            Assert.assertEquals(FlightTrackingEventType.QUEUE_POSITION_UPDATE, prioritizeEvents.get(i).getType());
+            Assert.assertEquals(FLIGHT_ID + (i + 3) % TOTAL_TEST_FLIGHTS, prioritizeEvents.get(i).getFlightId());
+            Assert.assertEquals(i, prioritizeEvents.get(i).getFlightsAhead());
+        }
+
+        final List<FlightTrackingEvent> cancelEvents = captor.getAllValues().stream()
+                .filter(events -> events.get(0).getType() == FlightTrackingEventType.CANCELLATION)
+                .findFirst().orElseThrow(AssertionError::new);
+        Assert.assertEquals(3, cancelEvents.size());
+        Assert.assertEquals(FlightTrackingEventType.CANCELLATION, cancelEvents.get(0).getType());
+        Assert.assertEquals(FLIGHT_ID + 0, cancelEvents.get(0).getFlightId());
+        Assert.assertEquals(1, cancelEvents.get(0).getFlightsAhead());
+        for (int i = 1; i < cancelEvents.size(); ++i) {
+            Assert.assertEquals(FlightTrackingEventType.QUEUE_POSITION_UPDATE, cancelEvents.get(i).getType());
+            Assert.assertEquals(FLIGHT_ID + i, cancelEvents.get(i).getFlightId());
+            Assert.assertEquals(i, cancelEvents.get(i).getFlightsAhead());
+        }
+    }
+
+    /*
+     * El test verifica que cancelar y priorizar vuelos mientras se reordenan, cuando todavia no volvieron a ninguna
+     * cola, no falle y que los vuelos cancelados no se vuelvan a encolar
+     */
+    @Test
+    public void testPrioritizeAndCancelDuringRearrange() throws RemoteException, InterruptedException, ExecutionException, TimeoutException {
+        final int TOTAL_TEST_FLIGHTS = 1000;
+
+        servant.addRunway(RUNWAY_NAME, RunwayCategory.A);
+        servant.addRunway(RUNWAY_NAME + "2", RunwayCategory.A);
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.requestRunway(FLIGHT_ID + i, DESTINATION_AIRPORT_ID, AIRLINE_NAME, RunwayCategory.A);
+
+        final Future<ReassignmentLog> rearrange = executorService.submit(() -> servant.rearrangeDepartures());
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i) {
+            if (i % 2 == 0)
+                servant.cancelRunwayRequest(FLIGHT_ID + i, AIRLINE_NAME);
+            else
+                servant.prioritizeFlight(FLIGHT_ID + i);
+        }
+        final ReassignmentLog log = rearrange.get(TIMEOUT, TIME_UNIT);
+
+        Assert.assertTrue(log.getFailed().isEmpty());
+        Assert.assertEquals(TOTAL_TEST_FLIGHTS / 2, queuedFlights());
+        for (int i = 0; i < TOTAL_TEST_FLIGHTS; ++i)
+            servant.issueDeparture();
+        final List<String> departed = servant.getAllDepartures().stream()
+                .map(DepartureData::getFlightId).sorted().collect(Collectors.toList());
+        Assert.assertEquals(IntStream.range(0, TOTAL_TEST_FLIGHTS).filter(i -> i % 2 == 1)
+                .mapToObj(i -> FLIGHT_ID + i).sorted().collect(Collectors.toList()), departed);
+    }
+
+    private long queuedFlights() {
+        return servant.getMetrics().getRunwayQueueLengths().values().stream().mapToLong(Long::longValue).sum();
+    }
 }
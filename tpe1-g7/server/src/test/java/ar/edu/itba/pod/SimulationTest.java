@@ -0,0 +1,108 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.models.Histogram;
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.assignment.CategoryPreservingStrategy;
+import ar.edu.itba.pod.server.assignment.ShortestQueueStrategy;
+import ar.edu.itba.pod.server.simulation.Distribution;
+import ar.edu.itba.pod.server.simulation.Simulation;
+import ar.edu.itba.pod.server.simulation.SimulationReport;
+import ar.edu.itba.pod.server.simulation.SimulationSettings;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class SimulationTest {
+
+    static final private long TOTAL_FLIGHTS = 100_000;
+    static final private long SEED = 42L;
+
+    private static Map<String, RunwayCategory> runways() {
+        final Map<String, RunwayCategory> runways = new LinkedHashMap<>();
+        runways.put("SMALL", RunwayCategory.A);
+        runways.put("LARGE", RunwayCategory.F);
+        return runways;
+    }
+
+    private static Map<RunwayCategory, Double> categories() {
+        final Map<RunwayCategory, Double> categories = new EnumMap<>(RunwayCategory.class);
+        categories.put(RunwayCategory.A, 3.0);
+        categories.put(RunwayCategory.F, 1.0);
+        return categories;
+    }
+
+    /*
+     * Con la misma semilla dos simulaciones dan el mismo resultado, y todo vuelo que llega despega o queda en cola
+     */
+    @Test
+    public void testDeterministic() {
+        final SimulationSettings settings = new SimulationSettings(runways(), TOTAL_FLIGHTS, Distribution.EXPONENTIAL,
+                40, categories(), Distribution.UNIFORM, 60, SEED);
+        final SimulationReport first = new Simulation(settings, new ShortestQueueStrategy()).run();
+        final SimulationReport second = new Simulation(settings, new ShortestQueueStrategy()).run();
+
+        Assert.assertEquals(TOTAL_FLIGHTS, first.getArrived());
+        Assert.assertEquals(0, first.getRejected());
+        Assert.assertEquals(TOTAL_FLIGHTS, first.getDeparted() + first.getPending());
+        Assert.assertEquals(first.getDeparted(), first.getTotalWaitTime().getCount());
+        Assert.assertEquals(first.getSimulatedSeconds(), second.getSimulatedSeconds(), 0);
+        Assert.assertEquals(first.getDeparted(), second.getDeparted());
+        Assert.assertEquals(first.getMaxQueueLength(), second.getMaxQueueLength());
+        Assert.assertEquals(first.getTotalWaitTime().getMean(), second.getTotalWaitTime().getMean(), 0);
+
+        /* Con otra estrategia llegan los mismos vuelos en los mismos instantes */
+        final SimulationReport other = new Simulation(settings, new CategoryPreservingStrategy()).run();
+        Assert.assertEquals(first.getSimulatedSeconds(), other.getSimulatedSeconds(), 0);
+    }
+
+    /*
+     * Un vuelo llega cada 10 segundos y en el mismo instante se emite una orden de despegue, que se procesa despues
+     * de la llegada: cada vuelo despega sin esperar, salvo el ultimo que queda en cola
+     */
+    @Test
+    public void testConstantSchedule() {
+        final SimulationSettings settings = new SimulationSettings(Collections.singletonMap("RUNWAY", RunwayCategory.A),
+                TOTAL_FLIGHTS, Distribution.CONSTANT, 10, Collections.singletonMap(RunwayCategory.A, 1.0),
+                Distribution.CONSTANT, 10, SEED);
+        final SimulationReport report = new Simulation(settings, new ShortestQueueStrategy()).run();
+
+        final Histogram waitTimes = report.getTotalWaitTime();
+        Assert.assertEquals(TOTAL_FLIGHTS - 1, report.getDeparted());
+        Assert.assertEquals(1, report.getPending());
+        Assert.assertEquals(1, report.getMaxQueueLength());
+        Assert.assertEquals(0, report.getQueueLengths().getMax());
+        Assert.assertEquals(0, report.getAverageQueueLength(), 0);
+        Assert.assertEquals(360, report.getDeparturesPerHour(), 0.1);
+        Assert.assertEquals(0, waitTimes.getMax());
+    }
+
+    @Test
+    public void testRejectedFlights() {
+        final SimulationSettings settings = new SimulationSettings(Collections.singletonMap("RUNWAY", RunwayCategory.A),
+                TOTAL_FLIGHTS, Distribution.EXPONENTIAL, 60, categories(), Distribution.CONSTANT, 30, SEED);
+        final SimulationReport report = new Simulation(settings, new ShortestQueueStrategy()).run();
+
+        Assert.assertEquals(TOTAL_FLIGHTS / 4.0, report.getRejected(), TOTAL_FLIGHTS * 0.01);
+        Assert.assertEquals(TOTAL_FLIGHTS, report.getRejected() + report.getDeparted() + report.getPending());
+    }
+
+    @Test
+    public void testDistributions() {
+        final Random random = new Random(SEED);
+        for (Distribution distribution : Distribution.values()) {
+            double sum = 0;
+            for (int i = 0; i < TOTAL_FLIGHTS; i++)
+                sum += distribution.sample(random, 30);
+            Assert.assertEquals(30, sum / TOTAL_FLIGHTS, 0.5);
+        }
+        Assert.assertThrows(IllegalArgumentException.class, () -> new SimulationSettings(runways(), TOTAL_FLIGHTS,
+                Distribution.CONSTANT, 0, categories(), Distribution.CONSTANT, 30, SEED));
+        Assert.assertThrows(IllegalArgumentException.class, () -> new SimulationSettings(runways(), TOTAL_FLIGHTS,
+                Distribution.CONSTANT, 30, Collections.singletonMap(RunwayCategory.A, 0.0), Distribution.CONSTANT, 30, SEED));
+    }
+}
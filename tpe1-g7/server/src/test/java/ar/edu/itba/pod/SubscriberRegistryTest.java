@@ -0,0 +1,65 @@
+package ar.edu.itba.pod;
+
+import ar.edu.itba.pod.server.tracking.Subscriber;
+import ar.edu.itba.pod.server.tracking.SubscriberRegistry;
+import ar.edu.itba.pod.server.tracking.TrackingScope;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+
+public class SubscriberRegistryTest {
+
+    static final private String AIRLINE_NAME = "POD AIRLINE";
+    static final private String OTHER_AIRLINE_NAME = "OTHER POD AIRLINE";
+    static final private int MAX_CONSECUTIVE_FAILURES = 3;
+
+    /*
+     * El test verifica que un suscriptor desalojado mientras se registra en otra clave no quede en ninguna lista:
+     * o el registro lo ve desalojado y crea uno nuevo, o el desalojo lo quita tambien de la nueva clave
+     */
+    @Test
+    public void testConcurrentRegisterAndEvict() throws Exception {
+        final int ROUNDS = 2000;
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final CyclicBarrier barrier = new CyclicBarrier(2);
+        try {
+            for (int i = 0; i < ROUNDS; ++i) {
+                final SubscriberRegistry registry = new SubscriberRegistry();
+                final BatchedTrackingCallbackHandler handler = mock(BatchedTrackingCallbackHandler.class);
+                final Subscriber<BatchedTrackingCallbackHandler> failing =
+                        registry.register(TrackingScope.AIRLINE, AIRLINE_NAME, handler);
+
+                final Future<Subscriber<BatchedTrackingCallbackHandler>> registered = executor.submit(() -> {
+                    barrier.await();
+                    return registry.register(TrackingScope.AIRLINE, OTHER_AIRLINE_NAME, handler);
+                });
+                final Future<Boolean> evicted = executor.submit(() -> {
+                    barrier.await();
+                    boolean result = false;
+                    for (int n = 0; n < MAX_CONSECUTIVE_FAILURES; ++n)
+                        result |= registry.recordFailure(failing);
+                    return result;
+                });
+
+                final Subscriber<BatchedTrackingCallbackHandler> subscriber = registered.get(10, TimeUnit.SECONDS);
+                Assert.assertTrue(evicted.get(10, TimeUnit.SECONDS));
+                Assert.assertFalse(registry.hasSubscribers(TrackingScope.AIRLINE, AIRLINE_NAME));
+                for (Subscriber<BatchedTrackingCallbackHandler> s :
+                        registry.getSubscribers(TrackingScope.AIRLINE, OTHER_AIRLINE_NAME))
+                    Assert.assertFalse(s.isEvicted());
+                Assert.assertEquals(subscriber.isEvicted(),
+                        !registry.hasSubscribers(TrackingScope.AIRLINE, OTHER_AIRLINE_NAME));
+                Assert.assertEquals(subscriber.isEvicted() ? 0 : 1, registry.getSubscriberCount());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
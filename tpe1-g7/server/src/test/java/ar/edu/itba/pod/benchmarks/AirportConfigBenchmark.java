@@ -0,0 +1,107 @@
+package ar.edu.itba.pod.benchmarks;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.Servant;
+import ar.edu.itba.pod.server.config.AirportConfig;
+import ar.edu.itba.pod.server.config.AirportConfigReader;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/*
+ * Mide cuanto tarda en arrancar un aeropuerto grande: leer el archivo de configuracion, cargarlo con preload y,
+ * para comparar, agregar las mismas pistas y vuelos con una llamada a addRunway y a requestRunway por cada uno
+ * (sin RMI, por lo que la diferencia real es mayor).
+ * Se ejecuta a mano (no es un test): java -cp ... ar.edu.itba.pod.benchmarks.AirportConfigBenchmark [pistas] [vuelos] [iteraciones]
+ */
+public class AirportConfigBenchmark {
+
+    private static final int DEFAULT_RUNWAYS = 200;
+    private static final int DEFAULT_FLIGHTS = 1_000_000;
+    private static final int DEFAULT_ITERATIONS = 5;
+    private static final int WARMUP_ITERATIONS = 2;
+
+    public static void main(String[] args) throws Exception {
+        final int runways = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RUNWAYS;
+        final int flights = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_FLIGHTS;
+        final int iterations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ITERATIONS;
+
+        final Path file = Files.createTempFile("airport-", ".cfg");
+        try {
+            write(file, runways, flights);
+            System.out.printf("config runways=%d flights=%d bytes=%d%n", runways, flights, Files.size(file));
+
+            long readNanos = 0;
+            long preloadNanos = 0;
+            long serialNanos = 0;
+            for (int i = 0; i < WARMUP_ITERATIONS + iterations; i++) {
+                final long startNanos = System.nanoTime();
+                final AirportConfig config = AirportConfigReader.read(file);
+                final long readEndNanos = System.nanoTime();
+                final long preload = preload(config);
+                final long serial = serial(config);
+                if (i >= WARMUP_ITERATIONS) {
+                    readNanos += readEndNanos - startNanos;
+                    preloadNanos += preload;
+                    serialNanos += serial;
+                }
+            }
+
+            print("read", readNanos / iterations, flights);
+            print("preload", preloadNanos / iterations, flights);
+            print("serial", serialNanos / iterations, flights);
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    private static void write(final Path file, final int runways, final int flights) throws IOException {
+        final RunwayCategory[] categories = RunwayCategory.values();
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("# runway;nombre;categoria;estado\n");
+            for (int i = 0; i < runways; i++)
+                out.write("runway;RUNWAY " + i + ";" + categories[i % categories.length] + ";open\n");
+            out.write("# flight;codigo;destino;aerolinea;categoria\n");
+            for (int i = 0; i < flights; i++)
+                out.write("flight;FL" + i + ";AIRPORT " + (i % 200) + ";AIRLINE " + (i % 30) + ";"
+                        + categories[i % categories.length] + "\n");
+        }
+    }
+
+    private static long preload(final AirportConfig config) throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final Servant servant = new Servant(executor);
+            final long startNanos = System.nanoTime();
+            servant.preload(config);
+            return System.nanoTime() - startNanos;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static long serial(final AirportConfig config) throws Exception {
+        final ExecutorService executor = Executors.newCachedThreadPool();
+        try {
+            final Servant servant = new Servant(executor);
+            final long startNanos = System.nanoTime();
+            for (AirportConfig.RunwaySpec runway : config.getRunways())
+                servant.addRunway(runway.getName(), runway.getCategory());
+            for (AirportConfig.FlightSpec flight : config.getFlights())
+                servant.requestRunway(flight.getId(), flight.getDestinationAirportId(), flight.getAirline(),
+                        flight.getCategory());
+            return System.nanoTime() - startNanos;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void print(final String name, final long nanos, final int flights) {
+        System.out.printf("%-8s time=%.1f ms flights/s=%.0f%n", name, nanos / 1e6, flights / (nanos / 1e9));
+    }
+}
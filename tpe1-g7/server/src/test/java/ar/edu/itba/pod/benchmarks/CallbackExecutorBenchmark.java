@@ -0,0 +1,72 @@
+package ar.edu.itba.pod.benchmarks;
+
+import ar.edu.itba.pod.server.executor.CallbackExecutorMode;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara los modos de CallbackExecutorMode enviando callbacks que bloquean como una llamada RMI a un
+ * cliente lento. Para cada modo informa el pico de threads, la memoria usada y los callbacks por segundo.
+ * El modo virtual solo se mide si la JVM lo soporta (Java 21 o superior).
+ * Se ejecuta a mano (no es un test): java -cp ... ar.edu.itba.pod.benchmarks.CallbackExecutorBenchmark [callbacks] [latencia ms] [threads fixed]
+ */
+public class CallbackExecutorBenchmark {
+
+    private static final int DEFAULT_CALLBACKS = 20_000;
+    private static final long DEFAULT_LATENCY_MILLIS = 50;
+    private static final int DEFAULT_FIXED_THREADS = 64;
+
+    public static void main(String[] args) throws InterruptedException {
+        final int callbacks = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_CALLBACKS;
+        final long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_LATENCY_MILLIS;
+        final int fixedThreads = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_FIXED_THREADS;
+
+        for (CallbackExecutorMode mode : CallbackExecutorMode.values()) {
+            if (mode == CallbackExecutorMode.VIRTUAL && !CallbackExecutorMode.isVirtualAvailable()) {
+                System.out.printf("%-8s skipped: virtual threads are not available in this JVM%n", mode);
+                continue;
+            }
+            run(mode, callbacks, latencyMillis, fixedThreads);
+        }
+    }
+
+    private static void run(final CallbackExecutorMode mode, final int callbacks, final long latencyMillis,
+                            final int fixedThreads) throws InterruptedException {
+        final ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        final Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        final long usedBefore = runtime.totalMemory() - runtime.freeMemory();
+        threads.resetPeakThreadCount();
+
+        final ExecutorService executor = mode.create(fixedThreads);
+        final CountDownLatch done = new CountDownLatch(callbacks);
+        final long startNanos = System.nanoTime();
+        long peakUsed = 0;
+        for (int i = 0; i < callbacks; i++) {
+            executor.submit(() -> {
+                try {
+                    Thread.sleep(latencyMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+            if (i % 1000 == 0)
+                peakUsed = Math.max(peakUsed, runtime.totalMemory() - runtime.freeMemory());
+        }
+        while (!done.await(10, TimeUnit.MILLISECONDS))
+            peakUsed = Math.max(peakUsed, runtime.totalMemory() - runtime.freeMemory());
+        final long elapsedNanos = System.nanoTime() - startNanos;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+
+        System.out.printf("%-8s callbacks=%d latency=%d ms peakThreads=%d heapDelta=%.1f MiB throughput=%.0f callbacks/s%n",
+                mode, callbacks, latencyMillis, threads.getPeakThreadCount(),
+                Math.max(0, peakUsed - usedBefore) / (1024.0 * 1024.0), callbacks / (elapsedNanos / 1e9));
+    }
+}
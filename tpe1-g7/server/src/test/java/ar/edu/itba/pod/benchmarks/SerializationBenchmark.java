@@ -0,0 +1,90 @@
+package ar.edu.itba.pod.benchmarks;
+
+import ar.edu.itba.pod.models.DepartureData;
+import ar.edu.itba.pod.models.DepartureDataList;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Compara el tamaño en bytes y el tiempo de codificacion de una respuesta de historial
+ * con la serializacion por defecto de Java contra DepartureDataList.
+ * Se ejecuta a mano (no es un test): java -cp ... ar.edu.itba.pod.benchmarks.SerializationBenchmark [registros] [iteraciones]
+ */
+public class SerializationBenchmark {
+
+    private static final int DEFAULT_RECORDS = 100_000;
+    private static final int DEFAULT_ITERATIONS = 20;
+    private static final int WARMUP_ITERATIONS = 5;
+
+    public static void main(String[] args) throws IOException {
+        final int records = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_RECORDS;
+        final int iterations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ITERATIONS;
+
+        final LocalDateTime start = LocalDateTime.now();
+        final ArrayList<LegacyDepartureData> legacy = new ArrayList<>(records);
+        final DepartureDataList compact = new DepartureDataList(records);
+        for (int i = 0; i < records; i++) {
+            // strings distintos en memoria aunque iguales, como llegan por RMI en cada requestRunway
+            final String runway = new String("RUNWAY " + (i % 8));
+            final String flightId = "FL" + i;
+            final String destination = new String("AIRPORT " + (i % 200));
+            final String airline = new String("AIRLINE " + (i % 30));
+            final LocalDateTime departedOn = start.plusNanos(i * 1_000_000L);
+            legacy.add(new LegacyDepartureData(i, runway, flightId, destination, airline, departedOn));
+            compact.add(new DepartureData(i, runway, flightId, destination, airline, departedOn));
+        }
+
+        run("default", legacy, iterations);
+        run("compact", compact, iterations);
+    }
+
+    private static void run(final String name, final List<?> payload, final int iterations) throws IOException {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++)
+            encode(payload);
+
+        long size = 0;
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < iterations; i++)
+            size = encode(payload);
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        System.out.printf("%-8s records=%d bytes=%d bytes/record=%.1f encode=%.2f ms%n",
+                name, payload.size(), size, (double) size / payload.size(), elapsedNanos / 1e6 / iterations);
+    }
+
+    private static long encode(final Object payload) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(payload);
+        }
+        return bytes.size();
+    }
+
+    /*
+     * Copia del formato anterior de DepartureData, con la serializacion por defecto
+     */
+    private static class LegacyDepartureData implements Serializable {
+        final private long flightsBeforeDeparture;
+        final private String runwayName;
+        final private String flightId;
+        final private String destinationAirportId;
+        final private String airline;
+        final private LocalDateTime departedOn;
+
+        LegacyDepartureData(long flightsBeforeDeparture, String runwayName, String flightId, String destinationAirportId,
+                            String airline, LocalDateTime departedOn) {
+            this.flightsBeforeDeparture = flightsBeforeDeparture;
+            this.runwayName = runwayName;
+            this.flightId = flightId;
+            this.destinationAirportId = destinationAirportId;
+            this.airline = airline;
+            this.departedOn = departedOn;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package ar.edu.itba.pod.benchmarks;
+
+import ar.edu.itba.pod.models.RunwayCategory;
+import ar.edu.itba.pod.server.Servant;
+import ar.edu.itba.pod.server.admission.AdmissionController;
+import ar.edu.itba.pod.server.engine.ServantEngineMode;
+import ar.edu.itba.pod.server.history.DepartureHistory;
+
+import java.rmi.RemoteException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Compara los modos de ServantEngineMode llamando directamente al Servant (sin RMI) desde varios threads.
+ * Cada thread solicita pista para sus vuelos y cada DEPARTURE_EVERY solicitudes emite un despegue, de forma que
+ * todas las operaciones modifican las pistas. Informa las operaciones por segundo de cada modo.
+ * Se ejecuta a mano (no es un test): java -cp ... ar.edu.itba.pod.benchmarks.ServantEngineBenchmark [threads] [operaciones por thread]
+ */
+public class ServantEngineBenchmark {
+
+    private static final int DEFAULT_THREADS = 32;
+    private static final int DEFAULT_OPERATIONS = 20_000;
+    private static final int DEPARTURE_EVERY = 4;
+    private static final int RUNWAYS = 4;
+    private static final int WARMUP_ROUNDS = 2;
+
+    public static void main(String[] args) throws Exception {
+        final int threads = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_THREADS;
+        final int operations = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_OPERATIONS;
+
+        for (int round = 0; round <= WARMUP_ROUNDS; round++) {
+            for (ServantEngineMode mode : ServantEngineMode.values()) {
+                final double throughput = run(mode, threads, operations);
+                if (round == WARMUP_ROUNDS)
+                    System.out.printf("%-10s threads=%d operations=%d throughput=%.0f operations/s%n",
+                            mode, threads, threads * operations, throughput);
+            }
+        }
+    }
+
+    private static double run(final ServantEngineMode mode, final int threads, final int operations) throws Exception {
+        final ExecutorService callbacks = Executors.newCachedThreadPool();
+        final Servant servant = new Servant(callbacks, new DepartureHistory(),
+                new AdmissionController(Integer.MAX_VALUE, 0), mode.create());
+        for (int i = 0; i < RUNWAYS; i++)
+            servant.addRunway("RUNWAY " + i, RunwayCategory.F);
+
+        final ExecutorService clients = Executors.newFixedThreadPool(threads);
+        final List<Future<Void>> futures = new ArrayList<>();
+        final long startNanos = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            futures.add(clients.submit(() -> {
+                for (int i = 0; i < operations; i++)
+                    operate(servant, thread, i);
+                return null;
+            }));
+        }
+        for (Future<Void> future : futures)
+            future.get();
+        final long elapsedNanos = System.nanoTime() - startNanos;
+
+        clients.shutdown();
+        callbacks.shutdown();
+        callbacks.awaitTermination(1, TimeUnit.MINUTES);
+        return (double) threads * operations / (elapsedNanos / 1e9);
+    }
+
+    private static void operate(final Servant servant, final int thread, final int i) throws RemoteException {
+        if (i % DEPARTURE_EVERY == DEPARTURE_EVERY - 1)
+            servant.issueDeparture();
+        else
+            servant.requestRunway(thread + "-" + i, "AIRPORT", "AIRLINE " + thread, RunwayCategory.A);
+    }
+}